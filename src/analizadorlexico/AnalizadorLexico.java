@@ -2,10 +2,6 @@ package analizadorlexico;
 
 // Files handle
 import java.io.IOException;
-import java.nio.file.Paths;
-import java.util.Scanner;
-// Table
-import java.util.ArrayList;
 // Exceptions
 import java.util.NoSuchElementException;
 
@@ -15,18 +11,17 @@ import java.util.NoSuchElementException;
  * @author D. Emiliano F.
  * @see ejecutador.Ejecutador
  */
-public class AnalizadorLexico {
+public class AnalizadorLexico implements TokenSource {
     
-    // Current line in file
-    private int row;
-    // Current column in String line
-    private int column;
-    // Current read line
-    private String line;
-    // File (already opende)
-    private ArrayList<String> file = new ArrayList();
-    // Tokens Table 
-    private ArrayList<Token> table;
+    // File (already opened) with current row and column
+    private SourceReader source;
+    // Offsets of last lexeme in file (end is exclusive)
+    private int lexemeStart;
+    private int lexemeEnd;
+    // Tokens of file ("tokenize all" mode), updated by edit()
+    private TokenStream tokens;
+    // Tokens of file are saved in nameFile.tokens
+    private boolean tokenCache = false;
     // Name of file
     private String nameFile;
     
@@ -46,22 +41,25 @@ public class AnalizadorLexico {
         
         if (validArgs(args)){
             
-            try(Scanner input = new Scanner(Paths.get(args[0]))){
-                while (input.hasNextLine()){
-                    file.add(input.nextLine());
-                }
-                row = 0;
-                column = 0;
-                line = "";
-                table = loadTable();
+            try{
+                source = SourceReader.open(args[0]);
             }
-            catch (IOException | NoSuchElementException | IllegalStateException e) {
+            catch (IOException e) {
                 e.printStackTrace();
                 throw e;
             }
         }
     }
     
+    /**
+     * Lexer over a part of file (parallel "tokenize all" mode)
+     * 
+     * @param source the reader over the part
+     */
+    AnalizadorLexico(SourceReader source){
+        this.source = source;
+    }
+    
     /**
      * @param args the command line arguments
      * @return source file name validity
@@ -87,136 +85,343 @@ public class AnalizadorLexico {
         return nameFile;
     }
     
+    /**
+     * Enables the binary cache of tokens (see TokenCache) for tokenizeAll().
+     * An unchanged file is not lexed again.
+     * 
+     * @param value true to read and save the cache
+     */
+    public void setTokenCache(boolean value){
+        tokenCache = value;
+    }
+    
     /**
      * Returns next token from file
      * 
      * @return Token object that contains token, lexeme and line number
      * @throws IllegalTokenException 
      */
+    @Override
     public Token nextToken() 
         throws IllegalTokenException{
         
-        Lexeme temp;
+        TokenKind token = scan();
         
-        //Loops if there are comments
-        do{
-            if (!hasNextValidSymbol()){
-                return null;
-            }
-            temp = getLexeme();
-        } while(!temp.hasLexeme());
-        
-        String lexeme = temp.getLexeme();
-        String token = getToken(lexeme);
-        
-        // Delete first symbol '"' from stringlit
-        if (token.equals("stringlit") || token.equals("charlit")){
-            // check regex
-            if (!validLit(lexeme)){
-                throw new IllegalTokenException(getRow(),
-                                                getColumn(),
-                                                "Invalid string literal: symbol"
-                                                + " not supported");
-            }    
-            lexeme = lexeme.substring(1, lexeme.length());
-        }
-        
-        if (token.equals("id") || token.equals("idclass")){
-            if (!validId(lexeme)){
-                throw new IllegalTokenException(getRow(),
-                                                getColumn(),
-                                                "Invalid string literal: symbol"
-                                                + " not supported");
-            }
+        if (token == null){
+            return null;
         }
         
         return new Token(token,
-                         lexeme, 
+                         source.getBuffer(),
+                         lexemeStart,
+                         lexemeEnd - lexemeStart,
                          getRow(),
                          getColumn());
     }
     
-    private boolean validLit(String lexeme){
-        for (int i=0; i<lexeme.length(); ++i){
-            if ((int)lexeme.charAt(i) < 32 || (int)lexeme.charAt(i) > 127){
-                return false;
+    /**
+     * Starts the pipelined mode: the tokens are read in other thread
+     * while the parser uses them (see TokenPipeline).
+     * The lexer must not be used after this call.
+     * 
+     * @return the source of tokens for parser
+     */
+    public TokenSource pipeline(){
+        return TokenPipeline.start(this);
+    }
+    
+    /**
+     * Reads all the remaining tokens of file ("tokenize all" mode).
+     * A lexical error stops reading and is saved in the stream, so the
+     * parser gets it after the last valid token.
+     * Big files are lexed in parallel (see ParallelTokenizer). 
+     * The lexer must not be used after this call.
+     * 
+     * @return the stream of tokens
+     */
+    public TokenStream tokenizeAll(){
+        
+        // Cache: only for the whole file
+        if (tokenCache && source.getOffset() == 0){
+            String path = nameFile + TokenCache.EXTENSION;
+            long[] hash = TokenCache.hash(source.getBuffer(), 
+                                          source.getLength());
+            tokens = TokenCache.load(path, source, hash);
+            if (tokens == null){
+                tokens = tokenizeWithoutCache();
+                TokenCache.store(path, source, hash, tokens);
             }
+            return tokens;
         }
-        return true;
+        
+        tokens = tokenizeWithoutCache();
+        return tokens;
     }
     
-    private boolean validId(String lexeme){
-        for (int i=0; i<lexeme.length(); ++i){
-            if (!Character.isDigit(lexeme.charAt(i)) &&
-                !((int)lexeme.charAt(i) > 64 && (int)lexeme.charAt(i) < 91) &&
-                !((int)lexeme.charAt(i) > 96 && (int)lexeme.charAt(i) < 123) &&
-                lexeme.charAt(i) != '_' ){
-                return false;
+    /**
+     * Reads all the remaining tokens (in parallel if it is useful)
+     * 
+     * @return the stream of tokens
+     */
+    private TokenStream tokenizeWithoutCache(){
+        
+        if (source.getColumn() == 0 && ParallelTokenizer.isUseful(source)){
+            return ParallelTokenizer.tokenize(source,
+                                              ParallelTokenizer.CHUNK_SIZE);
+        }
+        return tokenizeRange();
+    }
+    
+    /**
+     * Applies an edit to the file and updates the stream of tokenizeAll().
+     * Only the edited part is lexed again: from the last token before the
+     * edit until a new token starts where an old token started (moved by
+     * the edit). The tokens from there are the same, only moved in file.
+     * Tokens created before the edit must not be used.
+     * 
+     * @param offset the offset of edit in file
+     * @param removed the number of chars removed from offset
+     * @param inserted the text inserted at offset
+     * @return the stream of tokens (the same object, updated)
+     */
+    public TokenStream edit(int offset, int removed, String inserted){
+        
+        if (tokens == null){
+            throw new IllegalStateException("Edit without tokenizeAll()");
+        }
+        if (offset < 0 || removed < 0 || 
+            offset + removed > source.getLength()){
+            throw new IllegalArgumentException("Invalid edit");
+        }
+        
+        int delta = inserted.length() - removed;
+        // First token lexed again: the last before the edit (if any)
+        int from = tokens.indexAt(offset);
+        boolean fromStart = from == 0;
+        if (!fromStart){
+            from--;
+        }
+        // First old token after the edit
+        int next = tokens.indexAt(offset + removed);
+        
+        source = source.replace(offset, removed, inserted);
+        char[] buffer = source.getBuffer();
+        
+        SourceReader part;
+        if (!fromStart){
+            // Literals are saved without quotes
+            int start = tokens.getStart(from);
+            if (tokens.getKind(from) == TokenKind.STRINGLIT ||
+                tokens.getKind(from) == TokenKind.CHARLIT){
+                start--;
             }
+            part = new SourceReader(buffer,
+                                    start,
+                                    source.getLength(),
+                                    tokens.getLine(from),
+                                    source.lineStartOf(start));
         }
-        return true;
+        else{
+            part = new SourceReader(buffer, 0, source.getLength(), 1);
+        }
+        AnalizadorLexico lexer = new AnalizadorLexico(part);
+        
+        TokenStream added = new TokenStream(buffer, 16);
+        IllegalTokenException error = null;
+        int resync = -1;
+        try{
+            TokenKind token;
+            while ((token = lexer.scan()) != null){
+                int start = lexer.lexemeStart;
+                int length = lexer.lexemeEnd - start;
+                
+                // Resynchronization after the inserted text
+                if (start >= offset + inserted.length()){
+                    while (next < tokens.size() && 
+                           tokens.getStart(next) + delta < start){
+                        next++;
+                    }
+                    if (next < tokens.size() &&
+                        tokens.getStart(next) + delta == start &&
+                        tokens.getKind(next) == token &&
+                        tokens.getLength(next) == length){
+                        resync = next;
+                        break;
+                    }
+                }
+                added.add(token, start, length, lexer.getRow(), 
+                          lexer.getColumn());
+            }
+        }
+        catch (IllegalTokenException e){
+            error = e;
+        }
+        
+        if (resync == -1){
+            tokens.replace(from, tokens.size(), added, 0, 0, 0, buffer);
+            tokens.setError(error);
+            return tokens;
+        }
+        
+        int line = tokens.getLine(resync);
+        int lineDelta = lexer.getRow() - line;
+        int columnDelta = lexer.getColumn() - tokens.getColumn(resync);
+        
+        // Old error after the last token: moved like the tokens
+        error = tokens.getError();
+        if (error != null){
+            int column = error.getColumn();
+            if (error.getLine() == line){
+                column += columnDelta;
+            }
+            error = new IllegalTokenException(error.getLine() + lineDelta,
+                                              column,
+                                              error.getMessage());
+        }
+        tokens.replace(from, resync, added, delta, lineDelta, columnDelta,
+                       buffer);
+        tokens.setError(error);
+        return tokens;
+    }
+    
+    /**
+     * Reads all the remaining tokens of file in this thread
+     * 
+     * @return the stream of tokens
+     */
+    TokenStream tokenizeRange(){
+        
+        // Estimation: one token every 4 chars
+        TokenStream stream = new TokenStream(source.getBuffer(),
+                                             (source.getLength() - 
+                                              source.getOffset()) / 4);
+        try{
+            TokenKind token;
+            while ((token = scan()) != null){
+                stream.add(token,
+                           lexemeStart,
+                           lexemeEnd - lexemeStart,
+                           getRow(),
+                           getColumn());
+            }
+        }
+        catch (IllegalTokenException e){
+            stream.setError(e);
+        }
+        
+        return stream;
+    }
+    
+    /**
+     * Searches next token.
+     * The offsets of lexeme are in lexemeStart and lexemeEnd
+     * 
+     * @return the kind of token, or null at the end of file
+     * @throws IllegalTokenException 
+     */
+    private TokenKind scan()
+        throws IllegalTokenException{
+        
+        TokenKind token;
+        
+        //Loops if there are comments
+        do{
+            if (!hasNextValidSymbol()){
+                return null;
+            }
+            token = getLexeme();
+        } while(token == null);
+        
+        return token;
+    }
+    
+    /**
+     * Error of a lexeme with symbols not supported (reported after lexeme)
+     */
+    private IllegalTokenException symbolNotSupported(){
+        return new IllegalTokenException(getRow(),
+                                         getColumn(),
+                                         "Invalid string literal: symbol"
+                                         + " not supported");
     }
     
     /**
      * Obtains a lexeme from file (implements AFD)
      * Precondition: search in first symbol (column value)
      * That implies no whitespaces.
+     * The lexeme is not copied: its offsets are saved in lexemeStart
+     * and lexemeEnd (literals without quotes).
+     * Every char is classified once (see CharClassTable): symbols not
+     * supported in identifiers and literals are found while scanning
      * @see hasNextValidSymbol()
      * 
-     * @return Lexeme object that contains an availability indicator and lexeme 
+     * @return the kind of token, or null if it was a comment
      * @throws IllegalTokenException
      */
-    private Lexeme getLexeme()
+    private TokenKind getLexeme()
             throws IllegalTokenException{
         
         /**
          * 1. Deleted whitespaces (by hasNextValidSymbol())
-         * 2. At the first symbol, construct lexeme
+         * 2. At the first symbol, search the end of lexeme
          */
         
-        Location temp;
-        // Save first symbol in current column
-        char first = line.charAt(getColumn());
-        // Save symbol in lexeme
-        String lexeme = String.valueOf(first);
-        // We have a lexeme. False when gets a comment
-        boolean hasLexeme = true;
+        // Save first symbol in current offset
+        char first = source.current();
+        // Classes of first symbol
+        int firstClass = CharClassTable.classOf(first);
+        // Offset of first symbol
+        int start = source.getOffset();
+        // Token of lexeme (reserved words and symbols are searched later)
+        TokenKind token = null;
         // Column to report in error case
         int firstColumn = getColumnFile();
         // Next column
-        addColumn(1);
+        source.advance(1);
+        
+        lexemeStart = start;
         
         // Checks if it's a digit
-        if (Character.isDigit(first)){
+        if ((firstClass & CharClassTable.DIGIT) != 0){
             // It's an int literal
-            while (isInLine() && Character.isDigit(line.charAt(getColumn()))){
-                
-                lexeme += line.charAt(getColumn());
-                addColumn(1);
+            while (source.isInLine() && 
+                   (CharClassTable.classOf(source.current()) 
+                    & CharClassTable.DIGIT) != 0){
+                source.advance(1);
             }
             
             // Aseguramos que el numero tenga a continuacion caracteres
             // propios de un identificador
-            if (isInLine() && 
-                (Character.isLetter(line.charAt(getColumn())) || 
-                line.charAt(getColumn()) == '_')){
+            if (source.isInLine() && 
+                (CharClassTable.classOf(source.current()) 
+                 & CharClassTable.ID_START) != 0){
                     throw new IllegalTokenException(getRow(),
                                                     firstColumn,
                                                     "Invalid number");
                 }
+            token = TokenKind.INTLIT;
         }
         else{
             
             // It's a id
-            if (Character.isLetter(first) || first == '_'){
-                while (isInLine() &&
-                       (Character.isLetter(line.charAt(getColumn())) ||
-                       Character.isDigit(line.charAt(getColumn())) ||
-                       line.charAt(getColumn()) == '_')){
-                    
-                    lexeme += line.charAt(getColumn());
-                    addColumn(1);
+            if ((firstClass & CharClassTable.ID_START) != 0){
+                // Classes of all the symbols of id
+                int classes = firstClass;
+                while (source.isInLine()){
+                    int next = CharClassTable.classOf(source.current());
+                    if ((next & CharClassTable.ID_PART) == 0){
+                        break;
+                    }
+                    classes |= next;
+                    source.advance(1);
+                }
+                
+                // Only ASCII letters and digits
+                if ((classes & CharClassTable.UNICODE) != 0){
+                    throw symbolNotSupported();
                 }
+                lexemeEnd = source.getOffset();
+                return getToken(firstClass, start, lexemeEnd - start);
             }
             else{
                 
@@ -228,23 +433,15 @@ public class AnalizadorLexico {
                     
                     // possibly double symbols:
                     case '|':
-                        if (!isInLine() || (line.charAt(getColumn()) != '|')){
-                            throw new IllegalTokenException(getRow(),
-                                                            firstColumn,
-                                                            "Token not valid");
-                        }
-                        lexeme += "|";
-                        break;
-
                     case '&':
-                        if (!isInLine() || (line.charAt(getColumn()) != '&')){
+                        if (!source.isInLine() || (source.current() != first)){
                             throw new IllegalTokenException(getRow(),
                                                             firstColumn,
                                                             "Token not valid");
                         }
-                        lexeme += "&";
+                        source.advance(1);
                         break;
-
+                    
                     case '+':
                     case '-':
                     case '*':
@@ -252,16 +449,11 @@ public class AnalizadorLexico {
                     case '>':
                     case '!':
                     case '=':
-                        if (isInLine()){
-                            if (line.charAt(getColumn()) == '='){
-                                lexeme += "=";
-                            }
-                            else{
-                                addColumn(-1);
-                            }
+                        if (source.isInLine() && source.current() == '='){
+                            source.advance(1);
                         }
                         break;
-
+                    
                     //One symbol
                     case ',':
                     case '.':
@@ -275,63 +467,42 @@ public class AnalizadorLexico {
                     case ';':
                     case ':':
                         // have already been added symbol
-                        //Later, by default, we add a column.
-                        addColumn(-1);
                         break;
                     
                     // Char literal
                     case '\'':
-                        temp = LiteralsManager.charConsumption(file,
-                                                               line,
-                                                               getRow(),
-                                                               getColumn());
-                        update(temp);
-                        addColumn(-1);
-                        lexeme = temp.getLiteral();
+                        if (!LiteralsManager.charConsumption(source)){
+                            throw symbolNotSupported();
+                        }
+                        token = TokenKind.CHARLIT;
                         break;
                         
                     // String literal
                     case '"':
-                        // Get string literal
-                        temp = LiteralsManager.stringConsumption(file,
-                                                                 line,
-                                                                 getRow(),
-                                                                 getColumn());
-                        // Update last line, row and column from LiteralManager
-                        update(temp);
-                        addColumn(-1);
-                        // innecesary? 
-                        //if (temp.hasLiteral()){
-                        lexeme = temp.getLiteral();
-                        //}
+                        if (!LiteralsManager.stringConsumption(source)){
+                            throw symbolNotSupported();
+                        }
+                        token = TokenKind.STRINGLIT;
                         break;
+                        
                     // Comment or division
                     case '/': 
-
+                        
                         // If true, it's a comment or assigment
                         // If false, it's a division
-                        if (isInLine()){
-                            char second = line.charAt(getColumn());
-
+                        if (source.isInLine()){
+                            char second = source.current();
+                            
                             // Is assignment?
                             if (second == '='){
-                                lexeme += "=";
+                                source.advance(1);
                             }
                             else{
-
+                                
                                 // Is comment?
                                 if (second == '/' || second == '*'){
-                                    temp = CommentsManager.extract(file, line, row, column);
-                                    update(temp);
-                                    /**
-                                     * temp.getColumn() contains the immediate column
-                                     * to continue reading. Later, by default, 
-                                     * we add a column.
-                                     */
-                                    addColumn(-1);
-                                    // Remove first /
-                                    lexeme = "";
-                                    hasLexeme = false;
+                                    CommentsManager.extract(source);
+                                    return null;
                                 }
                             }
                         }
@@ -341,271 +512,74 @@ public class AnalizadorLexico {
                                                         firstColumn,
                                                         "Invalid character");
                 }
-                // Update column when leaving switch block
-                addColumn(1);
-            }
-        }
-        return new Lexeme(lexeme, hasLexeme);
-    }
-    
-    /**
-     * Searches next valid character: deletes whitespaces and empty lines
-     * 
-     * @return true if there is valid symbol
-     */
-    private boolean hasNextValidSymbol(){
-        
-        /**
-         * Calling hasNextValidSymbol() method, we could have:
-         * 1. First symbol in line (col = 0) [VALID]
-         * 2. Any symbol in line (col in (0:line.length()-1] ) [VALID]
-         * 3. Out of line (col = line.length()) [INVALID]
-         * 
-         * Additionally, this method moves row and column to first symbol != " "
-         */
-        
-        // whitespacesConsumption method works checking (1) and (2) items
-        Location upd = WhitespacesManager.consumption(line, getRow(), getColumn());
-        update(upd);
-        
-        // in case of (3) item
-        while (!isInLine()){
-                
-            // Is there more lines?
-            if (getRow() < file.size()){
-                line = file.get(getRow());
-                // Set row++ and column=0
-                addRow(1);
-                resetColumn();
-            }
-            else{
-                return false;
             }
-            
-            // Skip whitespaces
-            upd = WhitespacesManager.consumption(line, getRow(), getColumn());
-            update(upd);
         }
-        // At this point, (1) and (2) conditions are true and there is symbol
-        return true;
-    }
-    
-
-    /**
-     * Updates received line, row and column attributes
-     * 
-     * @param data the object with the new values
-     */
-    private void update(Location data){
-        row = data.getRow();
-        column = data.getColumn();
-        
-        // hasLine() method indicates us if we should update line
-        // (false if we continue on the same line)
-        if (data.hasLine()){
-            line = data.getLine();
-        }
-    }
-    
-    /**
-     * Gets token.
-     * 
-     * @param lexeme the lexeme to search for its corresponding token
-     * @return the string token
-     */
-    private String getToken(String lexeme){
         
+        lexemeEnd = source.getOffset();
         
-        if (lexeme.charAt(0) == '\''){
-            return "charlit";
+        // Literals: offsets without quotes
+        if (token == TokenKind.STRINGLIT || token == TokenKind.CHARLIT){
+            lexemeStart++;
+            lexemeEnd--;
         }
         
-        // String literal begins with '"'
-        // This case occurs with empty literals
-        // Second condition differentiates empty string from "\"" string
-        if (lexeme.charAt(0) == '"'){
-            return "stringlit";
-        }
-        
-        if (Character.isDigit(lexeme.charAt(0))){
-            // This is necessary?
-            if (LiteralsManager.isIntLiteral(lexeme)){
-                return "intlit";
-            }
-        }
-        
-        // Index not found in table
-        int idx = binarySearch(lexeme);
-        idx = actualIndex(idx, lexeme);
-        
-        if (idx == -1){
-            //asumo que cualquier simbolo posterior constituye un id
-            if (Character.isUpperCase(lexeme.charAt(0))){
-                return "idclass";
+        if (token == null){
+            // Symbols: only reserved lexemes
+            token = KeywordTable.lookup(source.getBuffer(), start, 
+                                        lexemeEnd - start);
+            if (token == null){
+                throw symbolNotSupported();
             }
-            return "id";
         }
-        
-        return table.get(idx).getToken();
+        return token;
     }
     
     /**
-     * Search same length of the lexeme in table
-     * @param lexeme the lexeme string
-     * @return the value indicating that the length of the lexeme
-     *         matches the length of the reserved words
+     * Searches next valid character: deletes whitespaces and empty lines
+     * 
+     * @return true if there is valid symbol
      */
-    private int binarySearch(String lexeme){
+    private boolean hasNextValidSymbol(){
         
-        int l = 0, r = table.size()-1;
-        int mid = l + (r-l)/2;
-        Token temp = table.get(mid); // error if table.size() == 0
+        // Moves offset (row and column) to first symbol != " "
+        WhitespacesManager.consumption(source);
         
-        while (lexeme.length() != temp.getLexemeLength()){
-            
-            if (lexeme.length() < temp.getLexemeLength()){
-                r = mid - 1;
-            }
-            else{
-                l = mid + 1;
-            }
-            
-            if (l<=r){
-                mid = l + (r-l)/2;
-                temp = table.get(mid);
-            }
-            else{
-                break;
-            }
-        }
-        
-        if (lexeme.length() == temp.getLexemeLength()){
-            return mid;
-        }
-        return -1;
+        // At this point, there is symbol if it is not the end of file
+        return !source.atEnd();
     }
     
     /**
-     * Search actual lexeme's index using regionMatches
-     * @param idx The length of the reserved word (Also Index)
-     * @return the true index where the searched token is found
+     * Gets token of a reserved word or identifier.
+     * 
+     * @param firstClass the classes of first char of lexeme
+     * @param start the offset of lexeme in file
+     * @param length the length of lexeme
+     * @return the kind of token
      */
-    private int actualIndex(int idx, String lexeme) {
+    private TokenKind getToken(int firstClass, int start, int length){
         
-        if (idx < 0){
-            return -1;
-        }
+        TokenKind token = KeywordTable.lookup(source.getBuffer(), start, length);
         
-        int l = idx, r = idx+1;
-        
-        while (l > -1 &&
-               table.get(l).getLexemeLength() == lexeme.length() &&
-               !lexeme.equals(table.get(l).getLexeme())){
-            l--;
-        }
-        if (l < 0 || table.get(l).getLexemeLength() != lexeme.length()){
-            while (r < table.size() &&
-                   table.get(r).getLexemeLength() == lexeme.length() &&
-                   !lexeme.equals(table.get(r).getLexeme())){
-                r++;
-            }
-            if (r >= table.size() || table.get(r).getLexemeLength() != lexeme.length()){
-                return -1;
+        if (token == null){
+            //asumo que cualquier simbolo posterior constituye un id
+            if ((firstClass & CharClassTable.UPPER) != 0){
+                return TokenKind.IDCLASS;
             }
-            return r;
-        }
-        return l;
-    }
-        
-    /**
-     * Loads table with tokens, lexemes and lengths of the lexemes.
-     * The table should be sorted in increasing order
-     * 
-     * @return the table with Token(token, lexeme, length_lexeme) objects
-     */
-    private ArrayList loadTable(){
-        ArrayList<Token> table = new ArrayList<Token>();
-        String[] tokens = {"lbrace", "rbrace",
-                           "lparent", "rparent", "semicolon", "colon",
-                           "comma", "dot", "mod",
-                           "assign", "lbracket", "rbracket",
-                           "plus", "minus", "ast",
-                           "div", "not", "less",
-                           "greater", "leq", "geq",
-                           "or", "and", "noteq", 
-                           "equal", "if", "nil",
-                           "var", "new", "int", 
-                           "init",
-                           "self", "void", "func", 
-                           "else", "char", "true",
-                           "bool", "false", "array",
-                           "while", "class", "static",
-                           "string", "return", "private"};
-       
-        String[] lexemes = {"{", "}",
-                            "(", ")", ";", ":",
-                            ",", ".", "%", 
-                            "=", "[", "]",
-                            "+", "-", "*",
-                            "/", "!", "<",
-                            ">", "<=", ">=",
-                            "||", "&&", "!=",
-                            "==", "if", "nil",
-                            "var", "new", "Int", 
-                            "init",
-                            "self", "void", "func", 
-                            "else", "Char", "true",
-                            "Bool", "false", "Array",
-                            "while", "class", "static",
-                            "String", "return", "private"};
-                           
-        for (int i=0; i<lexemes.length; i++){
-            table.add(new Token(tokens[i], lexemes[i], lexemes[i].length(),0));
+            return TokenKind.ID;
         }
         
-        return table;        
-    }
-    
-    private boolean isInLine(){
-        return (getColumn() < line.length());
-    }
-    
-    private boolean isInLine(int forward){
-        return (getColumn() + forward < line.length());
+        return token;
     }
     
     private int getRow(){
-        return row;
+        return source.getRow();
     }
     
     private int getColumn(){
-        return column;
+        return source.getColumn();
     }
     
     private int getColumnFile(){
-        return column + 1;
-    }
-    
-    private int addRow(int value){ //considerar lanzar error si es un valor 
-                                    //negativo que sea menor a 1
-        row += value;
-        return row;
-    }
-    
-    /**
-     * Moves current column
-     * @param value the number of columns to move
-     * @return the new current column
-     */
-    private int addColumn(int value){
-        column += value;
-        return column;
-    }
-    
-    /**
-     * Sets column at the beginning of the line
-     */
-    private void resetColumn(){
-        column = 0;
+        return source.getColumn() + 1;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package analizadorlexico;
+
+/**
+ * Classes of characters for AnalizadorLexico class.
+ * Every ASCII char has its classes (bits) in a table of 128 entries, so
+ * the lexer classifies each char once while it recognizes the token.
+ * Other chars are classified with Character (letters of Unicode are
+ * marked as UNICODE: they are never valid in a token, but digits of
+ * Unicode are valid as digits).
+ * 
+ * @author D. Emiliano F.
+ * @see analizadorlexico.AnalizadorLexico
+ */
+
+final class CharClassTable {
+    
+    // Classes (bits)
+    static final int DIGIT = 1;
+    static final int LETTER = 2;
+    static final int UNDERSCORE = 4;
+    static final int UPPER = 8;
+    // Valid in string and char literals (32..127)
+    static final int PRINTABLE = 16;
+    // Letter out of ASCII
+    static final int UNICODE = 32;
+    
+    // First and next chars of identifiers
+    static final int ID_START = LETTER | UNDERSCORE;
+    static final int ID_PART = LETTER | UNDERSCORE | DIGIT;
+    
+    // Classes indexed by char
+    private static final byte[] CLASSES = new byte[128];
+    
+    static {
+        for (int c = 32; c < 128; c++){
+            CLASSES[c] = PRINTABLE;
+        }
+        for (int c = '0'; c <= '9'; c++){
+            CLASSES[c] |= DIGIT;
+        }
+        for (int c = 'a'; c <= 'z'; c++){
+            CLASSES[c] |= LETTER;
+        }
+        for (int c = 'A'; c <= 'Z'; c++){
+            CLASSES[c] |= LETTER | UPPER;
+        }
+        CLASSES['_'] |= UNDERSCORE;
+    }
+    
+    private CharClassTable(){}
+    
+    /**
+     * @param c the char to classify
+     * @return the classes of char (bits)
+     */
+    static int classOf(char c){
+        
+        if (c < 128){
+            return CLASSES[c];
+        }
+        if (Character.isLetter(c)){
+            return LETTER | UNICODE;
+        }
+        if (Character.isDigit(c)){
+            return DIGIT;
+        }
+        return 0;
+    }
+    
+    /**
+     * @param c the char of a literal
+     * @return true if char is valid in literals
+     */
+    static boolean isPrintable(char c){
+        return c < 128 && (CLASSES[c] & PRINTABLE) != 0;
+    }
+}
@@ -1,7 +1,5 @@
 package analizadorlexico;
 
-import java.util.ArrayList;
-
 /**
  * Ignores comments in file for AnalizadorLexico class
  * 
@@ -15,102 +13,52 @@ class CommentsManager extends Manager {
     
     /**
      * This method deletes comment if it finds it in the first two symbols
-     * Precondition: only checks first and second symbol of current line
+     * Precondition: reader is on the second symbol of comment
      * 
-     * @param file the ArrayList that contains all lines of file
-     * @param line the current line in file
-     * @param row the current row (line number)
-     * @param column the current column in line
-     * @return Line, row and column updated
+     * @param in the reader over the file
      * @throws IllegalTokenException if the comment is incomplete (comment block)
      */
-    static Location extract(ArrayList file,
-                            String line,
-                            int row,
-                            int column)
+    static void extract(SourceReader in)
     
         throws IllegalTokenException {
         
-        Location toReturn = new Location(column, row, line);
-        int errCol = column;
+        int errRow = in.getRow();
+        int errCol = in.getColumn();
         
         // Check comment type
-        try{
-            if (line.charAt(column) == '/'){
-                toReturn = skipLine(file, line, row, column);
-            }
-            else{
-                if (line.charAt(column) == '*'){
-                    toReturn = deleteCommentBlock(file, line, row, column+1);
+        if (in.current() == '/'){
+            in.skipToLineEnd();
+        }
+        else{
+            if (in.current() == '*'){
+                in.advance(1);
+                if (!deleteCommentBlock(in)){
+                    throw new IllegalTokenException(errRow, errCol, "Incomplete comment");
                 }
             }
         }
-        catch (NoSuchTokenException e){
-            throw new IllegalTokenException(row, errCol, "Incomplete comment");
-        }
-        return toReturn;
     }
     
     /**
-     * This method deletes comment if it finds it in the first two symbols
-     * Precondition: only checks first and second symbol of current line
+     * This method deletes a comment block until its closing symbols.
+     * The closing symbols are searched in the whole buffer, then the lines
+     * of comment are counted
+     * Precondition: reader is after the "/*" symbols
      * 
-     * @param file the ArrayList that contains all lines of file
-     * @param line the current line in file
-     * @param row the current row (line number)
-     * @param column the current column in line
-     * @return Line, row and column updated
-     * @throws NoSuchTokenException if the comment is incomplete (comment block)
+     * @param in the reader over the file
+     * @return false if the comment is incomplete (EOF, the reader is not
+     *         moved)
      */
-    static Location deleteCommentBlock(ArrayList file,
-                                       String line,
-                                       int row,
-                                       int column)
-        throws NoSuchTokenException{
+    static boolean deleteCommentBlock(SourceReader in){
         
-        Location temp = new Location(column,row,line);
-        // index of '*'
-        int astIndex = -1;
+        // index of "*/"
+        int astIndex = in.indexOf('*', '/');
         
-        while (astIndex == -1){
-            
-            // Current index (column) in line
-            if (isInLine(line, column)){
-                
-                // Search '*'
-                astIndex = line.indexOf('*', column);
-                // Not Found
-                if (astIndex == -1){
-                    
-                    // Next line
-                    temp = skipLine(file, line, row, column);
-                    row = temp.getRow();
-                    column = temp.getColumn();
-                    line = temp.getLine();
-                }
-                
-                // Found!
-                else{
-                    
-                    // Search '/'
-                    if (!isInLine(line, astIndex+1) ||
-                        line.charAt(astIndex+1) != '/'){
-                        
-                        column++;
-                        astIndex = -1;
-                    }
-                }
-            }
-            
-            // Next line
-            else{
-                temp = skipLine(file, line, row, column);
-                row = temp.getRow();
-                column = temp.getColumn();
-                line = temp.getLine();
-            }
+        if (astIndex == -1){
+            return false;
         }
         
-        return new Location(astIndex+2,row,line);
+        in.skipTo(astIndex + 2);
+        return true;
     }
 }
@@ -0,0 +1,47 @@
+package analizadorlexico;
+
+/**
+ * Diagnostics mode of the compiler: only the messages of errors (row,
+ * column and description) are used, so the exceptions of the compiler
+ * are created without stack trace:
+ *      IllegalTokenException, SyntacticErrorException,
+ *      SemanticDeclarationException, SemanticSentenceException
+ * The stack trace is the most expensive part of an exception and the
+ * parser also throws them for control flow (recovery mode, parallel and
+ * incremental parser). Off by default: the stack trace is kept for
+ * debugging.
+ * 
+ * @author D. Emiliano F.
+ */
+public final class Diagnostics {
+    
+    // Exceptions without stack trace
+    private static volatile boolean enabled = false;
+    
+    private Diagnostics(){}
+    
+    /**
+     * Sets the diagnostics mode (before the analysis, for all the threads)
+     * 
+     * @param value true if the exceptions are created without stack trace
+     */
+    public static void setEnabled(boolean value){
+        enabled = value;
+    }
+    
+    /**
+     * @return true if the exceptions are created without stack trace
+     */
+    public static boolean isEnabled(){
+        return enabled;
+    }
+    
+    /**
+     * For the constructors of exceptions (writableStackTrace)
+     * 
+     * @return true if the stack trace must be saved
+     */
+    public static boolean stackTrace(){
+        return !enabled;
+    }
+}
@@ -5,6 +5,7 @@ package analizadorlexico;
  * 
  * @author D. Emiliano F.
  * @see analizadorlexico.AnalizadorLexico
+ * @see analizadorlexico.Diagnostics
  */
 
 public class IllegalTokenException extends Exception {
@@ -21,7 +22,7 @@ public class IllegalTokenException extends Exception {
     public IllegalTokenException(int row,
                                  int column,
                                  String description) {
-        super(description);
+        super(description, null, true, Diagnostics.stackTrace());
         this.row = row;
         this.column = column;
     }
@@ -0,0 +1,77 @@
+package analizadorlexico;
+
+/**
+ * Perfect hash table of reserved words and symbols for AnalizadorLexico class.
+ * A lexeme is classified from its chars in the source buffer,
+ * without creating a String: one hash and one comparison of its chars.
+ *
+ * @author D. Emiliano F.
+ * @see analizadorlexico.AnalizadorLexico
+ */
+
+final class KeywordTable {
+
+    // Number of slots (power of two)
+    private static final int SIZE = 128;
+    // Multipliers of the hash function (no collisions for the fixed lexemes
+    // of TokenKind)
+    private static final int K_LAST = 30;
+    private static final int K_LENGTH = 5;
+
+    // Lexemes and tokens indexed by hash
+    private static final char[][] LEXEMES = new char[SIZE][];
+    private static final TokenKind[] TOKENS = new TokenKind[SIZE];
+
+    static {
+        for (TokenKind kind : TokenKind.values()){
+            if (kind.getLexeme() == null){
+                continue;
+            }
+            char[] lexeme = kind.getLexeme().toCharArray();
+            int h = hash(lexeme[0], lexeme[lexeme.length-1], lexeme.length);
+
+            if (LEXEMES[h] != null){
+                throw new IllegalStateException("Collision in keyword table: "
+                                                + kind.getLexeme());
+            }
+            LEXEMES[h] = lexeme;
+            TOKENS[h] = kind;
+        }
+    }
+
+    private KeywordTable(){}
+
+    /**
+     * @param first the first char of lexeme
+     * @param last the last char of lexeme
+     * @param length the length of lexeme
+     * @return the slot of lexeme
+     */
+    private static int hash(char first, char last, int length){
+        return (first + K_LAST*last + K_LENGTH*length) & (SIZE-1);
+    }
+
+    /**
+     * Searches the token of a lexeme
+     *
+     * @param buffer the chars of file
+     * @param start the offset of first char of lexeme
+     * @param length the length of lexeme (> 0)
+     * @return the kind of token, or null if lexeme is not reserved
+     */
+    static TokenKind lookup(char[] buffer, int start, int length){
+
+        int h = hash(buffer[start], buffer[start+length-1], length);
+        char[] candidate = LEXEMES[h];
+
+        if (candidate == null || candidate.length != length){
+            return null;
+        }
+        for (int i = 0; i < length; i++){
+            if (candidate[i] != buffer[start+i]){
+                return null;
+            }
+        }
+        return TOKENS[h];
+    }
+}
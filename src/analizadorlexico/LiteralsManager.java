@@ -1,7 +1,5 @@
 package analizadorlexico;
 
-import java.util.ArrayList;
-
 /**
  * Methods for literals in AnalizadorLexico class
  * 
@@ -13,137 +11,136 @@ class LiteralsManager extends Manager {
     private LiteralsManager(){}
     
     /**
-     * This method captures string literals adding a '"' symbol 
-     * Precondition: capture all the characters until finding the '"' character
+     * This method consumes string literals
+     * Precondition: reader is after the first '"' symbol.
+     * Consumes all the characters until finding the '"' character
+     * (the value is built later by stringValue())
      * 
-     * @param file the ArrayList that contains all lines of file
-     * @param line the current line in file
-     * @param row the current row (line number)
-     * @param column the current column in line
-     * @return Line, row and column updated
+     * @param in the reader over the file
+     * @return true if all the characters are supported (ASCII 32..127)
      * @throws IllegalTokenException if the string is incomplete ('"' not found)
      */
-    static Location stringConsumption(ArrayList file,
-                                      String line,
-                                      int row,
-                                      int column)
+    static boolean stringConsumption(SourceReader in)
         throws IllegalTokenException {
-            
-        /*
-         * Adding a symbol will allow us to disting
-         * an id from a stringlit
-         */
-        String literal = "\""; 
-        
-        try{
-            // Search end of string literal
-            while (line.charAt(column) != '"') {
-                // Search of '/' or '"'
-                if (line.charAt(column) == '\\'){
-                    column += 1;
-                    switch(line.charAt(column)){
-                        case 'r':
-                        case 't':
-                        case 'n':
-                            literal += '\\';
-                        case '\\':
-                        case '"':
-                            literal += line.charAt(column);
-                            break;
-                        default:
-                            throw new IllegalTokenException(row,
-                                                            column-1,
-                                                            "Invalid escape sequence in literal");
-                    }
-                }
-                else{
-                    literal += line.charAt(column);
-                }
-                column += 1;                
-            } 
-        }
-        catch (IndexOutOfBoundsException e){
-            throw new IllegalTokenException(row,
-                                            column-1,
-                                            "Unterminated string literal");
-        }
-        
-        column += 1;
-        return new Location(column, row, line, literal);
         
-    }
-    
-    
-    static Location charConsumption(ArrayList file,
-                                    String line,
-                                    int row,
-                                    int column)
-        throws IllegalTokenException {
-            
-        String literal = "'";
+        boolean printable = true;
         
-        try{
-            if (line.charAt(column) == '\\'){
-                literal += "\\";
-                column += 1;
-                
-                switch(line.charAt(column)){
+        // Search end of string literal
+        while (in.isInLine() && in.current() != '"') {
+            // Search of '/' or '"'
+            if (in.current() == '\\'){
+                in.advance(1);
+                if (!in.isInLine()){
+                    break;
+                }
+                switch(in.current()){
                     case 'r':
                     case 't':
                     case 'n':
-                    case '\'':
                     case '\\':
-                        literal += line.charAt(column);
+                    case '"':
                         break;
                     default:
-                        throw new IllegalTokenException(row, column,
-                                                        "Invalid escape sequence \\"+
-                                                        String.valueOf(line.charAt(column))+
-                                                        " in character literal" );
+                        throw new IllegalTokenException(in.getRow(),
+                                                        in.getColumn()-1,
+                                                        "Invalid escape sequence in literal");
                 }
             }
             else{
-                if (line.charAt(column) == '\''){
-                    throw new IllegalTokenException(row, column,
-                                                    "Empty char literals is not permited");
-                }
-                literal += String.valueOf(line.charAt(column));
-            }
-            column += 1;
-            
-            if (line.charAt(column) != '\''){
-                throw new IllegalTokenException(row, column,
-                                                "Illegal char literal");
+                printable &= CharClassTable.isPrintable(in.current());
             }
-        }
-        catch (IndexOutOfBoundsException e){
-            throw new IllegalTokenException(row, column,
-                                            "Illegal char literal");
+            in.advance(1);
         }
         
-        column += 1; 
-        return new Location(column, row, line, literal); 
+        if (!in.isInLine()){
+            throw new IllegalTokenException(in.getRow(),
+                                            in.getColumn()-1,
+                                            "Unterminated string literal");
+        }
         
+        in.advance(1);
+        return printable;
     }
     
+    /**
+     * Builds the value of a string literal already consumed:
+     * \\ and \" are replaced, \r \t \n are kept
+     * 
+     * @param buffer the chars of file
+     * @param start the offset after the first '"' symbol
+     * @param length the number of chars until the last '"' symbol
+     * @return the literal
+     */
+    static String stringValue(char[] buffer, int start, int length){
+        
+        StringBuilder literal = new StringBuilder(length);
+        int end = start + length;
+        
+        for (int i = start; i < end; i++){
+            if (buffer[i] == '\\' &&
+                (buffer[i+1] == '\\' || buffer[i+1] == '"')){
+                i++;
+            }
+            literal.append(buffer[i]);
+        }
+        return literal.toString();
+    }
     
     /**
-     * Determines if an lexeme is Int literal
+     * This method consumes char literals
+     * Precondition: reader is after the first ''' symbol.
      * 
-     * @param lexeme the lexeme
-     * @return true if is int literal
+     * @param in the reader over the file
+     * @return true if the character is supported (ASCII 32..127)
+     * @throws IllegalTokenException if the char literal is not valid
      */
-    static boolean isIntLiteral(String lexeme) {
+    static boolean charConsumption(SourceReader in)
+        throws IllegalTokenException {
+        
+        boolean printable = true;
         
-        int i = 0;
-        while (i<lexeme.length() &&
-               Character.isDigit(lexeme.charAt(i))){
-            i++;
+        if (!in.isInLine()){
+            throw new IllegalTokenException(in.getRow(), in.getColumn(),
+                                            "Illegal char literal");
         }
-        if (i < lexeme.length()){
-            return false;
+        
+        if (in.current() == '\\'){
+            in.advance(1);
+            
+            if (!in.isInLine()){
+                throw new IllegalTokenException(in.getRow(), in.getColumn(),
+                                                "Illegal char literal");
+            }
+            
+            switch(in.current()){
+                case 'r':
+                case 't':
+                case 'n':
+                case '\'':
+                case '\\':
+                    break;
+                default:
+                    throw new IllegalTokenException(in.getRow(), in.getColumn(),
+                                                    "Invalid escape sequence \\"+
+                                                    String.valueOf(in.current())+
+                                                    " in character literal" );
+            }
+        }
+        else{
+            if (in.current() == '\''){
+                throw new IllegalTokenException(in.getRow(), in.getColumn(),
+                                                "Empty char literals is not permited");
+            }
+            printable = CharClassTable.isPrintable(in.current());
         }
-        return true;
+        in.advance(1);
+        
+        if (!in.isInLine() || in.current() != '\''){
+            throw new IllegalTokenException(in.getRow(), in.getColumn(),
+                                            "Illegal char literal");
+        }
+        
+        in.advance(1);
+        return printable;
     }
-    
 }
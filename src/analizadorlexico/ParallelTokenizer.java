@@ -0,0 +1,220 @@
+package analizadorlexico;
+
+// Tasks
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parallel "tokenize all" mode for AnalizadorLexico class.
+ * A first pass over the buffer searches beginnings of line that are not
+ * inside a block comment, then every part of file is lexed on the
+ * ForkJoin pool and the streams are joined in order.
+ * Strings and char literals never continue in the next line, so only
+ * block comments are followed by the first pass.
+ *
+ * @author D. Emiliano F.
+ * @see analizadorlexico.AnalizadorLexico#tokenizeAll()
+ */
+final class ParallelTokenizer {
+
+    // Minimum number of chars of every part
+    static final int CHUNK_SIZE = 1 << 18;
+
+    private final char[] buffer;
+    private final int length;
+    // Current offset and line of the first pass
+    private int offset;
+    private int row;
+
+    // Beginning and line of every part
+    private final List<int[]> splits = new ArrayList<>();
+
+    private ParallelTokenizer(SourceReader source){
+        buffer = source.getBuffer();
+        length = source.getLength();
+        offset = source.getOffset();
+        row = source.getRow();
+    }
+
+    /**
+     * Reads all the tokens from the current offset of source
+     * Precondition: source is at the beginning of a line
+     *
+     * @param source the reader over the file
+     * @param chunkSize the minimum number of chars of every part
+     * @return the stream of tokens (with the first lexical error, if any)
+     */
+    static TokenStream tokenize(SourceReader source, int chunkSize){
+
+        ParallelTokenizer splitter = new ParallelTokenizer(source);
+        splitter.split(chunkSize);
+
+        List<int[]> splits = splitter.splits;
+        List<ForkJoinTask<TokenStream>> tasks = new ArrayList<>(splits.size());
+
+        for (int i = 0; i < splits.size(); i++){
+            int start = splits.get(i)[0];
+            int end = i + 1 < splits.size() ? splits.get(i+1)[0]
+                                             : source.getLength();
+            SourceReader part = new SourceReader(source.getBuffer(),
+                                                 start,
+                                                 end,
+                                                 splits.get(i)[1]);
+            tasks.add(ForkJoinTask.adapt(
+                        () -> new AnalizadorLexico(part).tokenizeRange()));
+        }
+        // Inside the pool, so this thread also lexes parts
+        ForkJoinPool.commonPool().invoke(
+            ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        // Parts until the first lexical error
+        int last = 0;
+        int total = tasks.get(0).join().size();
+        while (tasks.get(last).join().getError() == null 
+               && last + 1 < tasks.size()){
+            last++;
+            total += tasks.get(last).join().size();
+        }
+
+        // Join in order
+        TokenStream stream = new TokenStream(source.getBuffer(), total);
+        for (int i = 0; i <= last; i++){
+            TokenStream part = tasks.get(i).join();
+            stream.append(part);
+            stream.setError(part.getError());
+        }
+
+        return stream;
+    }
+
+    /**
+     * @return true if it is worth to lex in parallel
+     */
+    static boolean isUseful(SourceReader source){
+        return ForkJoinPool.getCommonPoolParallelism() > 1 &&
+               source.getLength() - source.getOffset() >= 2 * CHUNK_SIZE;
+    }
+
+    /**
+     * First pass: saves a beginning of line (out of block comments)
+     * every chunkSize chars
+     *
+     * @param chunkSize the minimum number of chars of every part
+     */
+    private void split(int chunkSize){
+
+        splits.add(new int[]{offset, row});
+        int target = offset + chunkSize;
+
+        while (offset < length){
+            char c = buffer[offset];
+
+            if (SourceReader.isLineBreak(c)){
+                newLine();
+                if (offset >= target && offset < length){
+                    splits.add(new int[]{offset, row});
+                    target = offset + chunkSize;
+                }
+            }
+            else if (c == '"'){
+                skipString();
+            }
+            else if (c == '\''){
+                skipChar();
+            }
+            else if (c == '/' && offset + 1 < length && buffer[offset+1] == '/'){
+                skipLine();
+            }
+            else if (c == '/' && offset + 1 < length && buffer[offset+1] == '*'){
+                skipCommentBlock();
+            }
+            else{
+                offset++;
+            }
+        }
+    }
+
+    /**
+     * Consumes "\n", "\r" or "\r\n"
+     */
+    private void newLine(){
+        if (buffer[offset] == '\r' && offset + 1 < length
+            && buffer[offset+1] == '\n'){
+            offset++;
+        }
+        offset++;
+        row++;
+    }
+
+    private boolean isInLine(){
+        return offset < length && !SourceReader.isLineBreak(buffer[offset]);
+    }
+
+    private void skipLine(){
+        while (isInLine()){
+            offset++;
+        }
+    }
+
+    /**
+     * Same limits as LiteralsManager.stringConsumption()
+     * (an invalid literal is reported by the lexer of its part)
+     */
+    private void skipString(){
+        offset++;
+        while (isInLine() && buffer[offset] != '"'){
+            if (buffer[offset] == '\\'){
+                offset++;
+                if (!isInLine()){
+                    return;
+                }
+            }
+            offset++;
+        }
+        if (isInLine()){
+            offset++;
+        }
+    }
+
+    /**
+     * Same limits as LiteralsManager.charConsumption()
+     */
+    private void skipChar(){
+        offset++;
+        if (!isInLine() || buffer[offset] == '\''){
+            return;
+        }
+        if (buffer[offset] == '\\'){
+            offset++;
+            if (!isInLine()){
+                return;
+            }
+        }
+        offset++;
+        if (isInLine() && buffer[offset] == '\''){
+            offset++;
+        }
+    }
+
+    /**
+     * Same limits as CommentsManager.deleteCommentBlock()
+     */
+    private void skipCommentBlock(){
+        offset += 2;
+        while (offset < length){
+            if (SourceReader.isLineBreak(buffer[offset])){
+                newLine();
+            }
+            else if (buffer[offset] == '*' && offset + 1 < length
+                     && buffer[offset+1] == '/'){
+                offset += 2;
+                return;
+            }
+            else{
+                offset++;
+            }
+        }
+    }
+}
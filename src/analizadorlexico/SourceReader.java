@@ -0,0 +1,285 @@
+package analizadorlexico;
+
+// Files handle
+import java.io.IOException;
+import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Source file loaded in one char buffer for AnalizadorLexico class.
+ * Keeps the current offset, row and beginning of line, updated incrementally
+ * while the buffer is consumed.
+ * 
+ * @author D. Emiliano F.
+ * @see analizadorlexico.AnalizadorLexico
+ */
+class SourceReader {
+    
+    // Files from this size (bytes) are memory-mapped instead of read
+    private static final long MAP_THRESHOLD = 1 << 20;
+    
+    // Decoded file
+    private final char[] buffer;
+    // Number of valid chars in buffer
+    private final int length;
+    // Current offset in buffer
+    private int offset;
+    // Current line in file
+    private int row;
+    // Offset of the first char of current line
+    private int lineStart;
+    
+    /**
+     * @param buffer the decoded file
+     * @param length the number of valid chars in buffer
+     */
+    SourceReader(char[] buffer, int length){
+        this(buffer, 0, length, 1);
+    }
+    
+    /**
+     * Reader over a part of buffer that begins at the start of a line
+     * 
+     * @param buffer the decoded file
+     * @param offset the offset of first char (beginning of line)
+     * @param length the offset where the part ends (exclusive)
+     * @param row the line of first char
+     */
+    SourceReader(char[] buffer, int offset, int length, int row){
+        this(buffer, offset, length, row, offset);
+    }
+    
+    /**
+     * Reader over a part of buffer from any offset
+     * 
+     * @param buffer the decoded file
+     * @param offset the offset of first char
+     * @param length the offset where the part ends (exclusive)
+     * @param row the line of first char
+     * @param lineStart the offset of the beginning of that line
+     */
+    SourceReader(char[] buffer, int offset, int length, int row, int lineStart){
+        this.buffer = buffer;
+        this.length = length;
+        this.offset = offset;
+        this.row = row;
+        this.lineStart = lineStart;
+    }
+    
+    /**
+     * Reads the whole file through a FileChannel.
+     * Big files are memory-mapped. Uses the same charset as Scanner
+     * 
+     * @param path the path of file
+     * @return the reader positioned at the beginning of file
+     * @throws IOException
+     */
+    static SourceReader open(String path)
+        throws IOException {
+        
+        try (FileChannel channel = FileChannel.open(Paths.get(path),
+                                                    StandardOpenOption.READ)){
+            long size = channel.size();
+            ByteBuffer bytes;
+            
+            if (size >= MAP_THRESHOLD){
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            else{
+                bytes = ByteBuffer.allocate((int) size);
+                while (bytes.hasRemaining() && channel.read(bytes) != -1){
+                    ;
+                }
+                bytes.flip();
+            }
+            
+            CharBuffer chars = Charset.defaultCharset().decode(bytes);
+            if (chars.hasArray() && chars.arrayOffset() == 0){
+                return new SourceReader(chars.array(), chars.limit());
+            }
+            char[] copy = new char[chars.remaining()];
+            chars.get(copy);
+            return new SourceReader(copy, copy.length);
+        }
+    }
+    
+    /**
+     * Applies an edit to the file. The buffer is reused when the new text
+     * fits in it (this reader must not be used after the call)
+     * 
+     * @param offset the offset of edit
+     * @param removed the number of chars removed from offset
+     * @param inserted the text inserted at offset
+     * @return the reader over the new text, at the beginning of file
+     */
+    SourceReader replace(int offset, int removed, String inserted){
+        
+        int newLength = length - removed + inserted.length();
+        char[] target = buffer;
+        
+        if (newLength > buffer.length){
+            target = Arrays.copyOf(buffer, newLength + newLength / 2);
+        }
+        System.arraycopy(buffer, offset + removed,
+                         target, offset + inserted.length(),
+                         length - offset - removed);
+        inserted.getChars(0, inserted.length(), target, offset);
+        
+        return new SourceReader(target, newLength);
+    }
+    
+    /**
+     * @param index the offset in buffer
+     * @return the offset of the beginning of its line
+     */
+    int lineStartOf(int index){
+        while (index > 0 && !isLineBreak(buffer[index - 1])){
+            index--;
+        }
+        return index;
+    }
+    
+    /**
+     * @return true if there are not more chars in buffer
+     */
+    boolean atEnd(){
+        return offset >= length;
+    }
+    
+    /**
+     * @return true if offset is on a char of current line (not line break)
+     */
+    boolean isInLine(){
+        return offset < length && !isLineBreak(buffer[offset]);
+    }
+    
+    /**
+     * @param c the char to check
+     * @return true if c ends a line
+     */
+    static boolean isLineBreak(char c){
+        return c == '\n' || c == '\r';
+    }
+    
+    /**
+     * Precondition: !atEnd()
+     * 
+     * @return the char at current offset
+     */
+    char current(){
+        return buffer[offset];
+    }
+    
+    /**
+     * @param index the offset in buffer
+     * @return the char at index
+     */
+    char charAt(int index){
+        return buffer[index];
+    }
+    
+    /**
+     * Moves current offset in the same line
+     * 
+     * @param value the number of chars to move
+     */
+    void advance(int value){
+        offset += value;
+    }
+    
+    /**
+     * Consumes the line break at current offset ("\n", "\r" or "\r\n")
+     * and sets the beginning of the next line
+     */
+    void newLine(){
+        if (buffer[offset] == '\r' && offset + 1 < length
+            && buffer[offset + 1] == '\n'){
+            offset++;
+        }
+        offset++;
+        row++;
+        lineStart = offset;
+    }
+    
+    /**
+     * @return the offset where current line ends (line break or end of buffer)
+     */
+    int lineEnd(){
+        int i = offset;
+        while (i < length && !isLineBreak(buffer[i])){
+            i++;
+        }
+        return i;
+    }
+    
+    /**
+     * Searches two consecutive chars from current offset, in any line
+     * (one pass over the buffer)
+     * 
+     * @param first the first char to search
+     * @param second the char after first
+     * @return the offset of first char, or -1 if it is not found
+     */
+    int indexOf(char first, char second){
+        int last = length - 1;
+        for (int i = offset; i < last; i++){
+            if (buffer[i] == first && buffer[i + 1] == second){
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Moves current offset forward, in any line: the line breaks of the
+     * skipped chars are counted ("\r\n" is one line break)
+     * 
+     * @param index the new offset (not between '\r' and '\n')
+     */
+    void skipTo(int index){
+        for (int i = offset; i < index; i++){
+            char c = buffer[i];
+            if (c == '\n' || 
+                (c == '\r' && (i + 1 >= length || buffer[i + 1] != '\n'))){
+                row++;
+                lineStart = i + 1;
+            }
+        }
+        offset = index;
+    }
+    
+    /**
+     * Moves the offset to the end of current line (line break is not consumed)
+     */
+    void skipToLineEnd(){
+        offset = lineEnd();
+    }
+    
+    char[] getBuffer(){
+        return buffer;
+    }
+    
+    int getOffset(){
+        return offset;
+    }
+    
+    int getLength(){
+        return length;
+    }
+    
+    int getRow(){
+        return row;
+    }
+    
+    /**
+     * @return the current column in line (0-based)
+     */
+    int getColumn(){
+        return offset - lineStart;
+    }
+}
@@ -9,17 +9,21 @@ package analizadorlexico;
 
 public class Token {
     
-    private String token;
+    private TokenKind kind;
     private String lexem;
+    // Chars of the file (lexem is built from them when it is requested)
+    private char[] source;
+    private int start;
+    private int length;
     private int row;
     private int column;
     
     /**
-     * @param token the name of value
+     * @param kind the kind of token
      * @param lexem the value of token
      * @param var ubication in file or length ef lexeme
      */
-    public Token(String token,
+    public Token(TokenKind kind,
                  String lexem,
                  int row,
                  int column){
@@ -27,17 +31,56 @@ public class Token {
         if (row < 1){
             throw new IllegalArgumentException("Invalid line number");
         }
-        this.token = token;
+        this.kind = kind;
         this.lexem = lexem;
         this.row = row;
         this.column = column;
     }
     
+    /**
+     * Token whose lexeme is in file. The string is built the first time 
+     * getLexeme() is called (reserved words and symbols use the fixed lexeme)
+     * 
+     * @param kind the kind of token
+     * @param source the chars of file
+     * @param start the offset of lexeme (literals: without quotes)
+     * @param length the length of lexeme
+     * @param row the line in file
+     * @param column the column after lexeme
+     */
+    Token(TokenKind kind,
+          char[] source,
+          int start,
+          int length,
+          int row,
+          int column){
+        
+        this(kind, kind.getLexeme(), row, column);
+        this.source = source;
+        this.start = start;
+        this.length = length;
+    }
+    
+    public TokenKind getKind(){
+        return kind;
+    }
+    
+    /**
+     * @return the name of token (error messages)
+     */
     public String getToken(){
-        return token;
+        return kind.getName();
     }
     
     public String getLexeme(){
+        if (lexem == null){
+            if (kind == TokenKind.STRINGLIT){
+                lexem = LiteralsManager.stringValue(source, start, length);
+            }
+            else{
+                lexem = new String(source, start, length);
+            }
+        }
         return lexem;
     }
     
@@ -48,8 +91,4 @@ public class Token {
     public int getColumn(){
         return column;
     }
-    
-    public int getLexemeLength(){
-        return row;
-    }
 }
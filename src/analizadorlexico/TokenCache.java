@@ -0,0 +1,310 @@
+package analizadorlexico;
+
+// Files handle
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary cache of a TokenStream, saved next to the source file.
+ * The cache is valid only for the same text: its header keeps a hash and
+ * the length of the decoded file, and a hash of the lexer rules (kinds of
+ * TokenKind, classes of CharClassTable and LEXER), so a cache written by
+ * another lexer is never read. The scanning code is not in the hash: LEXER
+ * must be incremented by hand when it changes the tokens or the lexical
+ * errors of a file. A valid cache is memory-mapped and its tokens are
+ * checked against the file before they are used, without lexing.
+ * 
+ * Format (little endian):
+ *   int magic, int version, long rules, int number of kinds,
+ *   int length of file, long hash1, long hash2, int number of tokens,
+ *   int[] kinds, int[] starts, int[] lengths, long[] positions,
+ *   int error flag [, int row, int column, int length, char[] message]
+ * 
+ * @author D. Emiliano F.
+ * @see analizadorlexico.AnalizadorLexico#setTokenCache(boolean)
+ */
+final class TokenCache {
+    
+    // Extension of cache files
+    static final String EXTENSION = ".tokens";
+    
+    private static final int MAGIC = 0x544B5331;
+    // Changes when the format changes
+    private static final int VERSION = 2;
+    // Version of the scanning code (AnalizadorLexico.scan(), getLexeme(),
+    // LiteralsManager, CommentsManager, ...). Increment it with every change
+    // of the tokens or the errors produced: the cache also keeps the lexical
+    // error of file, and the hash of rules does not see these changes
+    private static final int LEXER = 1;
+    // Hash of the lexer rules (changes with TokenKind, CharClassTable or
+    // LEXER)
+    private static final long RULES = rulesHash();
+    private static final int HEADER = 4 * 4 + 3 * 8 + 4;
+    
+    private TokenCache(){}
+    
+    /**
+     * Reads the tokens of file from cache
+     * 
+     * @param path the path of cache file
+     * @param source the reader over the file (at the beginning)
+     * @param hash the hash of file
+     * @return the stream of tokens, or null if there is not a valid cache
+     */
+    static TokenStream load(String path, SourceReader source, long[] hash){
+        
+        Path file = Paths.get(path);
+        if (!Files.isRegularFile(file)){
+            return null;
+        }
+        
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.READ)){
+            long fileSize = channel.size();
+            if (fileSize < HEADER){
+                return null;
+            }
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY,
+                                                 0, fileSize);
+            bytes.order(ByteOrder.LITTLE_ENDIAN);
+            
+            if (bytes.getInt() != MAGIC ||
+                bytes.getInt() != VERSION ||
+                bytes.getLong() != RULES ||
+                bytes.getInt() != TokenKind.values().length ||
+                bytes.getInt() != source.getLength() ||
+                bytes.getLong() != hash[0] ||
+                bytes.getLong() != hash[1]){
+                return null;
+            }
+            
+            int size = bytes.getInt();
+            if (size < 0 || fileSize < HEADER + 20L * size + 4){
+                return null;
+            }
+            
+            int[] kinds = new int[size];
+            int[] starts = new int[size];
+            int[] lengths = new int[size];
+            long[] positions = new long[size];
+            bytes.asIntBuffer().get(kinds);
+            bytes.position(bytes.position() + 4 * size);
+            bytes.asIntBuffer().get(starts);
+            bytes.position(bytes.position() + 4 * size);
+            bytes.asIntBuffer().get(lengths);
+            bytes.position(bytes.position() + 4 * size);
+            bytes.asLongBuffer().get(positions);
+            bytes.position(bytes.position() + 8 * size);
+            
+            if (!isValid(size, kinds, starts, lengths, source.getLength())){
+                return null;
+            }
+            
+            TokenStream stream = new TokenStream(source.getBuffer(), size,
+                                                 kinds, starts,
+                                                 lengths, positions);
+            if (bytes.getInt() != 0){
+                int row = bytes.getInt();
+                int column = bytes.getInt();
+                char[] message = new char[bytes.getInt()];
+                bytes.asCharBuffer().get(message);
+                stream.setError(new IllegalTokenException(row, column,
+                                                          new String(message)));
+            }
+            return stream;
+        }
+        catch (IOException | RuntimeException e){
+            // Invalid cache: the file is lexed again
+            return null;
+        }
+    }
+    
+    /**
+     * Checks the tokens read from cache: a corrupt cache can not be used by
+     * TokenStream (its kinds index TokenKind and its lexemes the file)
+     * 
+     * @param size the number of tokens
+     * @param kinds the ordinals of kinds
+     * @param starts the offsets of lexemes
+     * @param lengths the lengths of lexemes
+     * @param length the length of file
+     * @return true if every token is in the file and has a kind
+     */
+    private static boolean isValid(int size, int[] kinds, int[] starts,
+                                   int[] lengths, int length){
+        
+        int count = TokenKind.values().length;
+        for (int i = 0; i < size; i++){
+            if (kinds[i] < 0 || kinds[i] >= count ||
+                starts[i] < 0 || lengths[i] < 0 ||
+                starts[i] > length - lengths[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Saves the tokens of file. It is written in a temporary file and moved,
+     * so other processes never read an incomplete cache
+     * 
+     * @param path the path of cache file
+     * @param source the reader over the file
+     * @param hash the hash of file
+     * @param stream the tokens of the whole file
+     */
+    static void store(String path, SourceReader source, long[] hash,
+                      TokenStream stream){
+        
+        int size = stream.size();
+        IllegalTokenException error = stream.getError();
+        String message = error == null ? "" : String.valueOf(error.getMessage());
+        
+        ByteBuffer bytes = ByteBuffer.allocate(HEADER + 20 * size + 4
+                                               + (error == null ? 0 :
+                                                  12 + 2 * message.length()));
+        bytes.order(ByteOrder.LITTLE_ENDIAN);
+        
+        bytes.putInt(MAGIC);
+        bytes.putInt(VERSION);
+        bytes.putLong(RULES);
+        bytes.putInt(TokenKind.values().length);
+        bytes.putInt(source.getLength());
+        bytes.putLong(hash[0]);
+        bytes.putLong(hash[1]);
+        bytes.putInt(size);
+        for (int i = 0; i < size; i++){
+            bytes.putInt(stream.getKind(i).ordinal());
+        }
+        for (int i = 0; i < size; i++){
+            bytes.putInt(stream.getStart(i));
+        }
+        for (int i = 0; i < size; i++){
+            bytes.putInt(stream.getLength(i));
+        }
+        for (int i = 0; i < size; i++){
+            bytes.putLong(((long) stream.getLine(i) << 32)
+                          | (stream.getColumn(i) & 0xFFFFFFFFL));
+        }
+        if (error == null){
+            bytes.putInt(0);
+        }
+        else{
+            bytes.putInt(1);
+            bytes.putInt(error.getLine());
+            bytes.putInt(error.getColumn());
+            bytes.putInt(message.length());
+            for (int i = 0; i < message.length(); i++){
+                bytes.putChar(message.charAt(i));
+            }
+        }
+        bytes.flip();
+        
+        Path file = Paths.get(path);
+        Path temp = null;
+        try{
+            temp = Files.createTempFile(file.toAbsolutePath().getParent(),
+                                        file.getFileName().toString(),
+                                        ".tmp");
+            try (FileChannel channel = FileChannel.open(temp,
+                                            StandardOpenOption.WRITE)){
+                while (bytes.hasRemaining()){
+                    channel.write(bytes);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                                   StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        }
+        catch (IOException e){
+            // Cache is optional: next time the file is lexed again
+        }
+        finally{
+            // The move did not happen
+            if (temp != null){
+                try{
+                    Files.deleteIfExists(temp);
+                }
+                catch (IOException e){
+                    // Nothing else to do
+                }
+            }
+        }
+    }
+    
+    /**
+     * Hash of 128 bits of the decoded file (four chars per step)
+     * 
+     * @param buffer the chars of file
+     * @param length the number of chars
+     * @return two longs of hash
+     */
+    static long[] hash(char[] buffer, int length){
+        
+        long h1 = 0x9E3779B97F4A7C15L ^ length;
+        long h2 = 0xC2B2AE3D27D4EB4FL;
+        int i = 0;
+        
+        for (; i + 4 <= length; i += 4){
+            long k = buffer[i]
+                     | (long) buffer[i+1] << 16
+                     | (long) buffer[i+2] << 32
+                     | (long) buffer[i+3] << 48;
+            h1 = Long.rotateLeft(h1 ^ k * 0x87C37B91114253D5L, 31)
+                 * 0x4CF5AD432745937FL;
+            h2 = Long.rotateLeft(h2 + k, 27) * 0x52DCE729L + h1;
+        }
+        for (; i < length; i++){
+            h1 = (h1 ^ buffer[i]) * 0x100000001B3L;
+            h2 = (h2 + buffer[i]) * 0x9E3779B97F4A7C15L;
+        }
+        
+        return new long[]{mix(h1 ^ h2), mix(h2 + h1)};
+    }
+    
+    /**
+     * Hash of the lexer rules: names and lexemes of TokenKind (in order of
+     * ordinal), the classes of every ASCII char and the version of the
+     * scanning code
+     * 
+     * @return the hash of rules
+     */
+    private static long rulesHash(){
+        
+        StringBuilder rules = new StringBuilder();
+        for (TokenKind kind: TokenKind.values()){
+            rules.append(kind.name()).append('\0');
+            if (kind.getLexeme() != null){
+                rules.append(kind.getLexeme());
+            }
+            rules.append('\n');
+        }
+        for (char c = 0; c < 128; c++){
+            rules.append((char) CharClassTable.classOf(c));
+        }
+        rules.append('\n').append(LEXER);
+        
+        char[] chars = rules.toString().toCharArray();
+        return hash(chars, chars.length)[0];
+    }
+    
+    /**
+     * Final mix of hash bits (murmur3 fmix64)
+     */
+    private static long mix(long h){
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
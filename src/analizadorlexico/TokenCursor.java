@@ -0,0 +1,101 @@
+package analizadorlexico;
+
+/**
+ * Cursor over a TokenStream for the Syntactic Analyzer.
+ * Returns the tokens in order; the lexical error of the stream (if any)
+ * is thrown when the cursor reaches it, as AnalizadorLexico does.
+ * A cursor over a part of stream ends at the end of the part.
+ *
+ * @author D. Emiliano F.
+ * @see analizadorlexico.TokenStream
+ */
+public class TokenCursor implements TokenSource {
+
+    private final TokenStream stream;
+    // Index of next token
+    private int position;
+    // Index after the last token of part (-1: whole stream)
+    private final int end;
+    // nextToken() returned the end of part
+    private boolean exhausted = false;
+
+    TokenCursor(TokenStream stream){
+        this(stream, 0, -1);
+    }
+
+    /**
+     * @param stream the tokens of file
+     * @param from the first token
+     * @param end the index after the last token (-1 for the whole stream)
+     */
+    TokenCursor(TokenStream stream, int from, int end){
+        this.stream = stream;
+        this.end = end;
+        position = from;
+    }
+
+    public boolean hasNext(){
+        return position < limit();
+    }
+
+    /**
+     * @return true if nextToken() has reached the end (of part or file)
+     */
+    public boolean isExhausted(){
+        return exhausted;
+    }
+
+    /**
+     * @return the index of next token in stream
+     */
+    public int getPosition(){
+        return position;
+    }
+
+    /**
+     * @param k the distance from next token (0 is next token)
+     * @return the kind of token, or null if it is after the last token
+     */
+    public TokenKind peekKind(int k){
+        int index = position + k;
+        return index < limit() ? stream.getKind(index) : null;
+    }
+
+    /**
+     * @return the stream of cursor
+     */
+    public TokenStream getStream(){
+        return stream;
+    }
+
+    @Override
+    public Token nextToken()
+        throws IllegalTokenException {
+
+        int index = nextIndex();
+        return index != -1 ? stream.getToken(index) : null;
+    }
+
+    /**
+     * Moves to next token without creating its Token object
+     *
+     * @return the index of token in stream, or -1 at the end
+     * @throws IllegalTokenException the lexical error of stream at its end
+     */
+    public int nextIndex()
+        throws IllegalTokenException {
+
+        if (position < limit()){
+            return position++;
+        }
+        exhausted = true;
+        if (end < 0 && stream.getError() != null){
+            throw stream.getError();
+        }
+        return -1;
+    }
+
+    private int limit(){
+        return end < 0 ? stream.size() : end;
+    }
+}
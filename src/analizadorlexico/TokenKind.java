@@ -0,0 +1,96 @@
+package analizadorlexico;
+
+/**
+ * Kinds of token returned by AnalizadorLexico.
+ * The parser compares kinds; the names are only used in error messages.
+ * Constants keep the order in which the parser reports expected tokens.
+ *
+ * @author D. Emiliano F.
+ * @see analizadorlexico.Token
+ */
+public enum TokenKind {
+
+    // Symbols
+    LBRACE("lbrace", "{"),
+    RBRACE("rbrace", "}"),
+    LPARENT("lparent", "("),
+    RPARENT("rparent", ")"),
+    SEMICOLON("semicolon", ";"),
+    COLON("colon", ":"),
+    COMMA("comma", ","),
+    DOT("dot", "."),
+    ASSIGN("assign", "="),
+    LBRACKET("lbracket", "["),
+    RBRACKET("rbracket", "]"),
+
+    // Operators
+    PLUS("plus", "+"),
+    MINUS("minus", "-"),
+    NOT("not", "!"),
+    AST("ast", "*"),
+    DIV("div", "/"),
+    MOD("mod", "%"),
+    LESS("less", "<"),
+    GREATER("greater", ">"),
+    LEQ("leq", "<="),
+    GEQ("geq", ">="),
+    OR("or", "||"),
+    AND("and", "&&"),
+    EQUAL("equal", "=="),
+    NOTEQ("noteq", "!="),
+
+    // Reserved words
+    CLASS("class", "class"),
+    PRIVATE("private", "private"),
+    VAR("var", "var"),
+    INIT("init", "init"),
+    STATIC("static", "static"),
+    FUNC("func", "func"),
+    VOID("void", "void"),
+    SELF("self", "self"),
+    NEW("new", "new"),
+    IF("if", "if"),
+    ELSE("else", "else"),
+    WHILE("while", "while"),
+    RETURN("return", "return"),
+    ARRAY("array", "Array"),
+    BOOL("bool", "Bool"),
+    INT("int", "Int"),
+    STRING("string", "String"),
+    CHAR("char", "Char"),
+
+    // Literals
+    NIL("nil", "nil"),
+    TRUE("true", "true"),
+    FALSE("false", "false"),
+    INTLIT("intlit", null),
+    STRINGLIT("stringlit", null),
+    CHARLIT("charlit", null),
+
+    // Identifiers
+    ID("id", null),
+    IDCLASS("idclass", null);
+
+    // Name of token (error messages)
+    private final String name;
+    // Fixed lexeme of reserved words and symbols (null if it depends on file)
+    private final String lexeme;
+
+    TokenKind(String name, String lexeme){
+        this.name = name;
+        this.lexeme = lexeme;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public String getLexeme(){
+        return lexeme;
+    }
+
+    @Override
+    public String toString(){
+        return name;
+    }
+}
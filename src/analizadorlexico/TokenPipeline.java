@@ -0,0 +1,186 @@
+package analizadorlexico;
+
+// Ring buffer between threads
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pipelined mode of AnalizadorLexico class: the lexer runs in its own thread
+ * and the parser takes the tokens while the rest of file is lexed.
+ * Tokens are passed in a ring buffer with one producer (lexer thread) and
+ * one consumer (parser thread), without locks: every side publishes its
+ * counter after a batch of tokens (or before waiting).
+ * The lexical error (if any) is thrown after the last valid token, as
+ * AnalizadorLexico does. The parser calls close() when it stops, so the
+ * lexer thread does not wait for free slots forever.
+ * 
+ * @author D. Emiliano F.
+ * @see analizadorlexico.AnalizadorLexico#pipeline()
+ */
+final class TokenPipeline implements TokenSource {
+    
+    // Size of ring (power of two)
+    private static final int CAPACITY = 1 << 12;
+    private static final int MASK = CAPACITY - 1;
+    // Tokens between publications of counters (power of two)
+    private static final int BATCH = 64;
+    // Busy waits before yielding and parking
+    private static final int SPINS = 128;
+    private static final int YIELDS = 256;
+    private static final long PARK_NANOS = 50_000;
+    
+    private final Token[] ring = new Token[CAPACITY];
+    // Tokens published by lexer and tokens taken by parser
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    // Lexer has finished (written after the last tail)
+    private volatile boolean finished = false;
+    // Parser does not take more tokens (see close())
+    private volatile boolean cancelled = false;
+    // Lexical error after the last token, or unexpected failure of lexer
+    // (a RuntimeException or an Error, as StackOverflowError)
+    private IllegalTokenException error;
+    private Throwable failure;
+    
+    // Lexer thread: next tail and last head read
+    private long producerTail = 0;
+    private long cachedHead = 0;
+    // Parser thread: next head and last tail read
+    private long consumerHead = 0;
+    private long cachedTail = 0;
+    
+    private TokenPipeline(){}
+    
+    /**
+     * Starts the lexer thread
+     * 
+     * @param lexer the lexical analyzer of file (not used by other thread)
+     * @return the source of tokens for parser
+     */
+    static TokenPipeline start(AnalizadorLexico lexer){
+        
+        TokenPipeline pipeline = new TokenPipeline();
+        Thread thread = new Thread(() -> pipeline.produce(lexer),
+                                   "lexer-" + lexer.getNameOfFile());
+        // Parser can stop before the end of file (syntactic error)
+        thread.setDaemon(true);
+        thread.start();
+        return pipeline;
+    }
+    
+    /**
+     * Lexer thread: publishes all the tokens of file
+     */
+    private void produce(AnalizadorLexico lexer){
+        
+        try{
+            Token token;
+            while (!cancelled && (token = lexer.nextToken()) != null){
+                publish(token);
+            }
+        }
+        catch (IllegalTokenException e){
+            error = e;
+        }
+        catch (Throwable e){
+            failure = e;
+        }
+        finally{
+            // Parser never waits for a lexer that has stopped
+            tail.lazySet(producerTail);
+            finished = true;
+        }
+    }
+    
+    private void publish(Token token){
+        
+        if (producerTail - cachedHead == CAPACITY){
+            // Full: parser must see the batch before it is waited
+            tail.lazySet(producerTail);
+            int tries = 0;
+            while (producerTail - (cachedHead = head.get()) == CAPACITY){
+                if (cancelled){
+                    return;
+                }
+                backoff(tries++);
+            }
+        }
+        ring[(int) producerTail & MASK] = token;
+        producerTail++;
+        if ((producerTail & (BATCH - 1)) == 0){
+            tail.lazySet(producerTail);
+        }
+    }
+    
+    @Override
+    public Token nextToken()
+        throws IllegalTokenException {
+        
+        if (consumerHead == cachedTail){
+            cachedTail = waitTokens();
+            if (consumerHead == cachedTail){
+                // End of file
+                if (failure instanceof RuntimeException){
+                    throw (RuntimeException) failure;
+                }
+                if (failure instanceof Error){
+                    throw (Error) failure;
+                }
+                if (error != null){
+                    throw error;
+                }
+                return null;
+            }
+        }
+        
+        int index = (int) consumerHead & MASK;
+        Token token = ring[index];
+        ring[index] = null;
+        consumerHead++;
+        if ((consumerHead & (BATCH - 1)) == 0){
+            head.lazySet(consumerHead);
+        }
+        return token;
+    }
+    
+    /**
+     * Stops the lexer thread: the tokens not taken are discarded
+     */
+    @Override
+    public void close(){
+        cancelled = true;
+    }
+    
+    /**
+     * Parser thread: waits for new tokens or for the end of lexer
+     * 
+     * @return the last tail published
+     */
+    private long waitTokens(){
+        
+        // Lexer may be waiting for free slots
+        head.lazySet(consumerHead);
+        int tries = 0;
+        while (true){
+            // finished before tail: the last tail is seen
+            boolean end = finished;
+            long last = tail.get();
+            if (last != consumerHead || end){
+                return last;
+            }
+            backoff(tries++);
+        }
+    }
+    
+    private static void backoff(int tries){
+        if (tries < SPINS){
+            Thread.onSpinWait();
+        }
+        else if (tries < SPINS + YIELDS){
+            Thread.yield();
+        }
+        else{
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
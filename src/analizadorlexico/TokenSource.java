@@ -0,0 +1,28 @@
+package analizadorlexico;
+
+/**
+ * Sequence of tokens consumed by the Syntactic Analyzer.
+ * Implemented by the lexical analyzer (tokens on demand) and by cursors
+ * over a token stream already built.
+ *
+ * @author D. Emiliano F.
+ * @see analizadorsintactico.AnalizadorSintactico
+ */
+public interface TokenSource {
+
+    /**
+     * Returns next token
+     *
+     * @return the next token, or null at the end of file
+     * @throws IllegalTokenException if there is a lexical error before
+     *         the next token
+     */
+    Token nextToken()
+        throws IllegalTokenException;
+    
+    /**
+     * Called when no more tokens are needed (end of parsing or error), so
+     * a source that reads the file in other thread can stop it
+     */
+    default void close(){}
+}
@@ -0,0 +1,334 @@
+package analizadorlexico;
+
+// Growth of arrays
+import java.util.Arrays;
+
+/**
+ * Tokens of a whole file stored by columns (one array per field).
+ * Built by AnalizadorLexico.tokenizeAll(); Token objects are only created
+ * when they are requested.
+ * 
+ * @author D. Emiliano F.
+ * @see analizadorlexico.AnalizadorLexico
+ * @see analizadorlexico.TokenCursor
+ */
+public class TokenStream {
+    
+    // Kinds of token by ordinal
+    private static final TokenKind[] KINDS = TokenKind.values();
+    
+    // Chars of the file (lexemes are built from them)
+    private char[] source;
+    // Number of tokens
+    private int size;
+    // Ordinal of TokenKind
+    private int[] kinds;
+    // Offset and length of lexeme (literals without quotes)
+    private int[] starts;
+    private int[] lengths;
+    // Line (high 32 bits) and column after lexeme (low 32 bits)
+    private long[] positions;
+    // Lexical error found after the last token (null if file is valid)
+    private IllegalTokenException error;
+    // Move of tokens from shiftFrom not applied yet to starts and positions
+    // (left by replace(), so an edit does not visit the rest of file)
+    private int shiftFrom = Integer.MAX_VALUE;
+    private int shiftOffset;
+    private int shiftLine;
+    // Tokens of the last replace(): editRemoved tokens from editStart were
+    // replaced by editAdded tokens
+    private int editStart = -1;
+    private int editRemoved;
+    private int editAdded;
+    
+    /**
+     * @param source the chars of file
+     * @param capacity the initial number of tokens
+     */
+    TokenStream(char[] source, int capacity){
+        this.source = source;
+        capacity = Math.max(capacity, 16);
+        kinds = new int[capacity];
+        starts = new int[capacity];
+        lengths = new int[capacity];
+        positions = new long[capacity];
+    }
+    
+    /**
+     * Stream over arrays already filled (token cache)
+     * 
+     * @param source the chars of file
+     * @param size the number of tokens
+     * @param kinds the ordinals of TokenKind
+     * @param starts the offsets of lexemes
+     * @param lengths the lengths of lexemes
+     * @param positions the packed lines and columns
+     */
+    TokenStream(char[] source, int size, int[] kinds, int[] starts,
+                int[] lengths, long[] positions){
+        this.source = source;
+        this.size = size;
+        this.kinds = kinds;
+        this.starts = starts;
+        this.lengths = lengths;
+        this.positions = positions;
+    }
+    
+    /**
+     * Adds a token at the end of stream
+     * 
+     * @param kind the kind of token
+     * @param start the offset of lexeme
+     * @param length the length of lexeme
+     * @param row the line in file
+     * @param column the column after lexeme
+     */
+    void add(TokenKind kind, int start, int length, int row, int column){
+        
+        if (size == kinds.length){
+            int capacity = size * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        kinds[size] = kind.ordinal();
+        starts[size] = start;
+        lengths[size] = length;
+        positions[size] = ((long) row << 32) | (column & 0xFFFFFFFFL);
+        size++;
+    }
+    
+    /**
+     * Adds the tokens of another stream of the same file at the end
+     * 
+     * @param other the stream to add
+     */
+    void append(TokenStream other){
+        
+        int total = size + other.size;
+        if (total > kinds.length){
+            int capacity = Math.max(total, kinds.length * 2);
+            kinds = Arrays.copyOf(kinds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        System.arraycopy(other.kinds, 0, kinds, size, other.size);
+        System.arraycopy(other.starts, 0, starts, size, other.size);
+        System.arraycopy(other.lengths, 0, lengths, size, other.size);
+        System.arraycopy(other.positions, 0, positions, size, other.size);
+        size = total;
+    }
+    
+    /**
+     * Replaces the tokens of an edited part of file. The tokens after the
+     * part keep their kind and length; they are moved in file.
+     * 
+     * @param from the first token replaced
+     * @param to the first token kept after the part (size if none)
+     * @param part the new tokens of the part
+     * @param offsetDelta the chars added (or removed) before the kept tokens
+     * @param lineDelta the lines added (or removed) before the kept tokens
+     * @param columnDelta the columns added in the line of token "to"
+     * @param source the chars of file after the edit
+     */
+    void replace(int from, int to, TokenStream part,
+                 int offsetDelta, int lineDelta, int columnDelta,
+                 char[] source){
+        
+        // Tokens before the part: pending move is applied
+        moveTokens(Math.min(shiftFrom, from), from, shiftOffset, shiftLine);
+        
+        // Kept tokens: new move applied until the pending one, then joined
+        if (shiftFrom > to && shiftFrom < size){
+            moveTokens(to, shiftFrom, offsetDelta, lineDelta);
+        }
+        else{
+            shiftFrom = to;
+        }
+        shiftOffset += offsetDelta;
+        shiftLine += lineDelta;
+        
+        // Same line as "to": columns are moved
+        if (to < size){
+            int line = getLine(to);
+            for (int i = to; i < size && getLine(i) == line; i++){
+                positions[i] += columnDelta;
+            }
+        }
+        
+        int kept = size - to;
+        int newTo = from + part.size;
+        int total = newTo + kept;
+        
+        if (total > kinds.length){
+            int capacity = Math.max(total, kinds.length * 2);
+            kinds = Arrays.copyOf(kinds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        if (newTo != to){
+            System.arraycopy(kinds, to, kinds, newTo, kept);
+            System.arraycopy(starts, to, starts, newTo, kept);
+            System.arraycopy(lengths, to, lengths, newTo, kept);
+            System.arraycopy(positions, to, positions, newTo, kept);
+        }
+        
+        System.arraycopy(part.kinds, 0, kinds, from, part.size);
+        System.arraycopy(part.starts, 0, starts, from, part.size);
+        System.arraycopy(part.lengths, 0, lengths, from, part.size);
+        System.arraycopy(part.positions, 0, positions, from, part.size);
+        
+        if (shiftFrom != Integer.MAX_VALUE){
+            shiftFrom += newTo - to;
+        }
+        if (shiftFrom >= total){
+            shiftFrom = Integer.MAX_VALUE;
+            shiftOffset = 0;
+            shiftLine = 0;
+        }
+        size = total;
+        this.source = source;
+        
+        editStart = from;
+        editRemoved = to - from;
+        editAdded = part.size;
+    }
+    
+    /**
+     * Moves the offsets and lines of tokens in [from, to)
+     * (the column is in the low bits of positions)
+     */
+    private void moveTokens(int from, int to, int offsetDelta, int lineDelta){
+        for (int i = from; i < to; i++){
+            starts[i] += offsetDelta;
+            positions[i] += (long) lineDelta << 32;
+        }
+    }
+    
+    /**
+     * @param offset the offset in file
+     * @return the index of first token that starts at offset or later
+     */
+    int indexAt(int offset){
+        int low = 0;
+        int high = size;
+        while (low < high){
+            int middle = (low + high) >>> 1;
+            if (getStart(middle) < offset){
+                low = middle + 1;
+            }
+            else{
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * @return the first token changed by the last edit of file, or -1 if
+     *         the stream was not edited (see AnalizadorLexico.edit())
+     */
+    public int getEditStart(){
+        return editStart;
+    }
+    
+    /**
+     * @return the number of old tokens replaced by the last edit
+     */
+    public int getEditRemoved(){
+        return editRemoved;
+    }
+    
+    /**
+     * @return the number of new tokens of the last edit (from
+     *         getEditStart()); the next tokens were kept, moved
+     */
+    public int getEditAdded(){
+        return editAdded;
+    }
+    
+    void setError(IllegalTokenException error){
+        this.error = error;
+    }
+    
+    /**
+     * @return the lexical error after the last token, or null
+     */
+    public IllegalTokenException getError(){
+        return error;
+    }
+    
+    public int size(){
+        return size;
+    }
+    
+    char[] getSource(){
+        return source;
+    }
+    
+    public TokenKind getKind(int index){
+        return KINDS[kinds[index]];
+    }
+    
+    public int getStart(int index){
+        return index < shiftFrom ? starts[index] : starts[index] + shiftOffset;
+    }
+    
+    public int getLength(int index){
+        return lengths[index];
+    }
+    
+    public int getLine(int index){
+        int line = (int) (positions[index] >>> 32);
+        return index < shiftFrom ? line : line + shiftLine;
+    }
+    
+    public int getColumn(int index){
+        return (int) positions[index];
+    }
+    
+    /**
+     * @param index the position of token in stream
+     * @return the lexeme of token (new String if it is not fixed)
+     */
+    public String getLexeme(int index){
+        return getToken(index).getLexeme();
+    }
+    
+    /**
+     * Creates the Token object of a position
+     * 
+     * @param index the position of token in stream
+     * @return the token
+     */
+    public Token getToken(int index){
+        return new Token(getKind(index),
+                         source,
+                         getStart(index),
+                         lengths[index],
+                         getLine(index),
+                         getColumn(index));
+    }
+    
+    /**
+     * @return a cursor at the first token
+     */
+    public TokenCursor cursor(){
+        return new TokenCursor(this);
+    }
+    
+    /**
+     * Cursor over a part of stream: returns null after the last token of
+     * part (the lexical error of stream is not thrown)
+     * 
+     * @param from the first token of part
+     * @param to the index after the last token of part
+     * @return a cursor at the first token of part
+     */
+    public TokenCursor cursor(int from, int to){
+        return new TokenCursor(this, from, to);
+    }
+}
@@ -1,7 +1,5 @@
 package analizadorlexico;
 
-import java.util.Scanner;
-
 /**
  * Implements methods for whitespaces in AnalizadorLexico class
  * 
@@ -14,22 +12,21 @@ class WhitespacesManager extends Manager {
     private WhitespacesManager(){};
     
     /**
-     * Deletes all whitespaces in a line.
+     * Deletes all whitespaces and line breaks from current offset.
      * 
-     * @param line current line of file
-     * @param row current number line in file
-     * @param column current number column in file
-     * @return Update row and column numbers
+     * @param in the reader over the file
      */
-    static Location consumption(String line,
-                                int row, 
-                                int column){
+    static void consumption(SourceReader in){
         
-        while (isInLine(line, column) && 
-               Character.isWhitespace(line.charAt(column))){
-            column += 1;
+        while (!in.atEnd() && 
+               Character.isWhitespace(in.current())){
+            
+            if (SourceReader.isLineBreak(in.current())){
+                in.newLine();
+            }
+            else{
+                in.advance(1);
+            }
         }
-        
-        return new Location(column, row);
     }
 }
@@ -2,6 +2,9 @@ package analizadorsemantico;
 
 import analizadorlexico.IllegalTokenException;
 import analizadorsemantico.abstractsyntaxtree.AbstractSyntaxTree;
+import analizadorsemantico.abstractsyntaxtree.passes.InferencePass;
+import analizadorsemantico.abstractsyntaxtree.passes.PassContext;
+import analizadorsemantico.abstractsyntaxtree.passes.PassManager;
 
 import analizadorsintactico.AnalizadorSintactico;
 import analizadorsintactico.SyntacticErrorException;
@@ -23,6 +26,8 @@ public class AnalizadorSemantico {
     private AnalizadorSintactico syntactic;
     private SymbolTable symbolTable;
     private AbstractSyntaxTree ast;
+    // Passes after consolidation: type inference, then the added ones
+    private final PassManager passes = new PassManager().add(new InferencePass());
     
     /**
      * Constructor for AnalizadorSemantico
@@ -59,13 +64,23 @@ public class AnalizadorSemantico {
             symbolTable = syntactic.getSymbolTable();
             ast = syntactic.getAST();
             symbolTable.consolidation();
-            ast.inference(symbolTable);
+            passes.run(new PassContext(symbolTable, ast, syntactic.getNameOfFile()));
             persistence();
             return true;
         }
         return false;
     }
     
+    /**
+     * Returns the passes run by init() after consolidation, to add passes
+     * (optimizations, code generation) or timing hooks before init()
+     * 
+     * @return the pass manager
+     */
+    public PassManager getPasses(){
+        return passes;
+    }
+    
     /**
      * Returns AST
      *  
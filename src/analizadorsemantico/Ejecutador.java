@@ -1,6 +1,7 @@
 package analizadorsemantico;
 
 import analizadorlexico.AnalizadorLexico;
+import analizadorlexico.Diagnostics;
 import analizadorlexico.IllegalTokenException;
 
 import analizadorsintactico.AnalizadorSintactico;
@@ -19,6 +20,8 @@ public class Ejecutador {
     public static void main(String[] args) {
         //System.out.println(String.valueOf((int) '¨'));
         //System.out.println(Arrays.toString(args));
+        // Only the messages of errors are printed
+        Diagnostics.setEnabled(true);
         try{
             AnalizadorLexico lexical = new AnalizadorLexico(args);
             AnalizadorSintactico syntactic = new AnalizadorSintactico(lexical);
@@ -1,8 +1,11 @@
 package analizadorsemantico;
 
+import analizadorlexico.Diagnostics;
+
 /**
  *
  * @author emiliano
+ * @see analizadorlexico.Diagnostics
  */
 public class SemanticDeclarationException extends Exception {
     
@@ -20,7 +23,7 @@ public class SemanticDeclarationException extends Exception {
                                         int row,
                                         int column){
         
-        super(description);
+        super(description, null, true, Diagnostics.stackTrace());
         this.row = row;
         this.column = column;
     }
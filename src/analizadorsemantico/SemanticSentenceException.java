@@ -1,8 +1,11 @@
 package analizadorsemantico;
 
+import analizadorlexico.Diagnostics;
+
 /**
  *
  * @author emiliano
+ * @see analizadorlexico.Diagnostics
  */
 public class SemanticSentenceException extends Exception {
     private final int row;
@@ -16,7 +19,7 @@ public class SemanticSentenceException extends Exception {
     public SemanticSentenceException(String description,
                                      int row){
         
-        super(description);
+        super(description, null, true, Diagnostics.stackTrace());
         this.row = row;
     }
     
@@ -31,6 +31,20 @@ public class AbstractSyntaxTree {
         classes.add(currentClass);
     }
     
+    /**
+     * Adds the classes of an AST built apart (one class parsed alone),
+     * after the classes of this AST
+     * 
+     * @param fragment the AST of the class
+     */
+    public void addClasses(AbstractSyntaxTree fragment){
+        classes.addAll(fragment.classes);
+        currentClass = fragment.currentClass;
+        if (fragment.currentMethod != null){
+            currentMethod = fragment.currentMethod;
+        }
+    }
+    
     /**
      * Adds new method to AST
      * 
@@ -41,6 +55,57 @@ public class AbstractSyntaxTree {
         currentClass.addMethod(currentMethod);
     }
     
+    /**
+     * Creates an AST to parse again the body of a method of this AST (one
+     * class parsed alone): the method is new, without sentences
+     * 
+     * @param index the position of method in class
+     * @return the AST of body (see replaceMethod())
+     */
+    public AbstractSyntaxTree methodBody(int index){
+        AbstractSyntaxTree body = new AbstractSyntaxTree();
+        body.currentClass = currentClass;
+        body.currentMethod = new MethodNode(currentClass.getMethods()
+                                                        .get(index)
+                                                        .getName());
+        return body;
+    }
+    
+    /**
+     * Copy of this AST (one class parsed alone) with the method of a body
+     * parsed again. The class node is new, the other methods are the same
+     * 
+     * @param index the position of method in class
+     * @param body the AST of body (see methodBody())
+     * @return the new AST of class
+     */
+    public AbstractSyntaxTree replaceMethod(int index, AbstractSyntaxTree body){
+        AbstractSyntaxTree copy = new AbstractSyntaxTree();
+        copy.newClass(currentClass.getName());
+        
+        ArrayList<MethodNode> methods = currentClass.getMethods();
+        for (int i = 0; i < methods.size(); i++){
+            copy.currentClass.addMethod(i == index ? body.currentMethod
+                                                   : methods.get(i));
+        }
+        copy.currentMethod = currentMethod == methods.get(index) ?
+                             body.currentMethod : currentMethod;
+        return copy;
+    }
+    
+    /**
+     * Moves the lines of methods of this AST (one class parsed alone)
+     * 
+     * @param fromMethod the position of first method to move
+     * @param delta the lines added (negative if removed)
+     */
+    public void moveLines(int fromMethod, int delta){
+        ArrayList<MethodNode> methods = currentClass.getMethods();
+        for (int i = fromMethod; i < methods.size(); i++){
+            methods.get(i).moveLines(delta);
+        }
+    }
+    
     /**
      * Gets list of sentences in method, captured from SentencesNode
      * 
@@ -60,7 +125,8 @@ public class AbstractSyntaxTree {
     }
     
     /**
-     * Check types inference AST
+     * Check types inference AST, in parallel for big programs (see
+     * ParallelInference). The error is the one of first method that fails
      * precondition: symbol table consolidation
      * 
      * @param table the symbol table
@@ -69,14 +135,20 @@ public class AbstractSyntaxTree {
     public void inference(SymbolTable table)
         throws SemanticSentenceException {
         
+        int methods = 0;
+        for (ClassNode clss: classes){
+            methods += clss.getMethods().size();
+        }
+        if (ParallelInference.isUseful(methods)){
+            ParallelInference.check(table, classes);
+            return;
+        }
+        
         // Classes in AST
         for (ClassNode clss: classes){
             // Methods in class
             for (MethodNode method: clss.getMethods()){
-                // List of sentences in method
-                for (Node sentence: method.getSentences().getSentencesList()){
-                    sentence.check(table, clss.getName(), method.getName());
-                }
+                method.check(table, clss.getName());
             }
         }
     }
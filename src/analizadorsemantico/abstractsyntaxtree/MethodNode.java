@@ -1,6 +1,8 @@
 package analizadorsemantico.abstractsyntaxtree;
 
+import analizadorsemantico.SemanticSentenceException;
 import analizadorsemantico.abstractsyntaxtree.sentences.SentencesNode;
+import analizadorsemantico.symboltable.SymbolTable;
 import parser.json.JSONObject;
 
 /**
@@ -42,6 +44,42 @@ public class MethodNode {
         return sentences;
     }
     
+    /**
+     * Checks types of the sentences of method (type inference)
+     * 
+     * @param table the consolidated symbol table (it is only read)
+     * @param className the class that contains this method
+     * @throws SemanticSentenceException the error of first wrong sentence
+     */
+    public void check(SymbolTable table,
+                      String className)
+        throws SemanticSentenceException {
+        
+        for (Node sentence: sentences.getSentencesList()){
+            sentence.check(table, className, methodName);
+        }
+    }
+    
+    /**
+     * Moves the lines of sentences of method (see Node.moveLines())
+     * 
+     * @param delta the lines added (negative if removed)
+     */
+    public void moveLines(int delta){
+        sentences.moveLines(delta);
+    }
+    
+    /**
+     * Visits the sentences of method (see Node.accept())
+     * 
+     * @param <C> the type of context of pass
+     * @param visitor the visitor
+     * @param context the context of pass
+     */
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        sentences.accept(visitor, context);
+    }
+    
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
         
@@ -3,6 +3,7 @@ package analizadorsemantico.abstractsyntaxtree;
 import analizadorsemantico.SemanticSentenceException;
 import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -76,6 +77,45 @@ public abstract class Node {
         this.line = line;
     }
     
+    /**
+     * Moves the line of node and of its children, when an edit of file
+     * added or removed lines before them (nodes without line are kept)
+     * 
+     * @param delta the lines added (negative if removed)
+     */
+    public void moveLines(int delta){
+        accept(MOVE_LINES, delta);
+    }
+    
+    // Visitor of moveLines(): the context is the delta
+    private static final NodeVisitor<Integer> MOVE_LINES = new NodeVisitor<>(){
+        @Override
+        public void visitNode(Node node, Integer delta){
+            if (node.line != 0){
+                node.line += delta;
+            }
+            node.visitChildren(this, delta);
+        }
+    };
+    
+    /**
+     * Calls the visit of this kind of node (see NodeVisitor)
+     * 
+     * @param <C> the type of context of pass
+     * @param visitor the visitor
+     * @param context the context of pass
+     */
+    public abstract <C> void accept(NodeVisitor<C> visitor, C context);
+    
+    /**
+     * Visits the children of node in source order (none by default)
+     * 
+     * @param <C> the type of context of pass
+     * @param visitor the visitor
+     * @param context the context of pass
+     */
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){}
+    
     /**
      * For check nodes
      * 
@@ -126,5 +166,5 @@ public abstract class Node {
      */
     abstract public JSONObject toJSON();
     
-    abstract public void getCode();
+    abstract public void getCode(CodeContext code);
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package analizadorsemantico.abstractsyntaxtree;
+
+import analizadorsemantico.abstractsyntaxtree.expressions.ArrayExpressionNode;
+import analizadorsemantico.abstractsyntaxtree.expressions.BinaryExpressionNode;
+import analizadorsemantico.abstractsyntaxtree.expressions.CallExpressionNode;
+import analizadorsemantico.abstractsyntaxtree.expressions.ChainingExpressionNode;
+import analizadorsemantico.abstractsyntaxtree.expressions.IdExpressionNode;
+import analizadorsemantico.abstractsyntaxtree.expressions.LiteralNode;
+import analizadorsemantico.abstractsyntaxtree.expressions.NewExpressionNode;
+import analizadorsemantico.abstractsyntaxtree.expressions.OperatorNode;
+import analizadorsemantico.abstractsyntaxtree.expressions.SelfExpressionNode;
+import analizadorsemantico.abstractsyntaxtree.expressions.StaticCallExpressionNode;
+import analizadorsemantico.abstractsyntaxtree.expressions.UnaryExpressionNode;
+import analizadorsemantico.abstractsyntaxtree.sentences.ArrayNode;
+import analizadorsemantico.abstractsyntaxtree.sentences.AssignmentNode;
+import analizadorsemantico.abstractsyntaxtree.sentences.ChainingNode;
+import analizadorsemantico.abstractsyntaxtree.sentences.IfNode;
+import analizadorsemantico.abstractsyntaxtree.sentences.ReturnNode;
+import analizadorsemantico.abstractsyntaxtree.sentences.SelfNode;
+import analizadorsemantico.abstractsyntaxtree.sentences.VarNode;
+import analizadorsemantico.abstractsyntaxtree.sentences.WhileNode;
+
+/**
+ * Visitor of the nodes of AST (see Node.accept()), for the passes over
+ * the tree (see passes.PassManager). Every visit has the context of the
+ * pass as parameter, so a visitor does not keep the state of a traversal.
+ * By default a node is visited by visitNode(), that visits its children
+ * in source order: a pass only overrides the nodes that it changes
+ * 
+ * @author emiliano
+ * @param <C> the type of context of pass
+ */
+public interface NodeVisitor<C> {
+    
+    /**
+     * Default visit: the children of node (see Node.visitChildren())
+     * 
+     * @param node the node
+     * @param context the context of pass
+     */
+    default void visitNode(Node node, C context){
+        node.visitChildren(this, context);
+    }
+    
+    // Sentences
+    
+    default void visitArray(ArrayNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitAssignment(AssignmentNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitChaining(ChainingNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitIf(IfNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitReturn(ReturnNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitSelf(SelfNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitVar(VarNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitWhile(WhileNode node, C context){
+        visitNode(node, context);
+    }
+    
+    // Expressions
+    
+    default void visitArrayExpression(ArrayExpressionNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitBinaryExpression(BinaryExpressionNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitCallExpression(CallExpressionNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitChainingExpression(ChainingExpressionNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitIdExpression(IdExpressionNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitLiteral(LiteralNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitNewExpression(NewExpressionNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitOperator(OperatorNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitSelfExpression(SelfExpressionNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitStaticCallExpression(StaticCallExpressionNode node, C context){
+        visitNode(node, context);
+    }
+    
+    default void visitUnaryExpression(UnaryExpressionNode node, C context){
+        visitNode(node, context);
+    }
+}
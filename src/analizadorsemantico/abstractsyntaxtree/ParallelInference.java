@@ -0,0 +1,129 @@
+package analizadorsemantico.abstractsyntaxtree;
+
+import analizadorsemantico.SemanticSentenceException;
+import analizadorsemantico.symboltable.SymbolTable;
+// Tasks
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel mode of AbstractSyntaxTree.inference(): the methods of program
+ * are checked on the ForkJoin pool (a task splits its methods in halves,
+ * so the free threads steal the work of the busy ones).
+ * After consolidation the symbol table is only read by check() (the class
+ * and the method of every sentence are parameters) and the check of a
+ * method only changes its own nodes.
+ * The error is the one of the first method that fails in source order,
+ * as in the sequential inference: every method keeps its first error and
+ * the methods after a failed one are not checked.
+ * 
+ * @author emiliano
+ * @see analizadorsemantico.abstractsyntaxtree.AbstractSyntaxTree#inference(SymbolTable)
+ */
+final class ParallelInference {
+    
+    // Minimum number of methods of program
+    static final int MIN_METHODS = 64;
+    // Methods checked by a task without splitting them
+    private static final int METHODS_BY_TASK = 4;
+    
+    private final SymbolTable table;
+    // Methods in source order and the names of their classes
+    private final List<MethodNode> methods = new ArrayList<>();
+    private final List<String> classNames = new ArrayList<>();
+    // Error of every method: SemanticSentenceException or unchecked
+    private final Throwable[] errors;
+    // First method with error
+    private final AtomicInteger failed = new AtomicInteger(Integer.MAX_VALUE);
+    
+    private ParallelInference(SymbolTable table, List<ClassNode> classes){
+        this.table = table;
+        for (ClassNode clss: classes){
+            for (MethodNode method: clss.getMethods()){
+                methods.add(method);
+                classNames.add(clss.getName());
+            }
+        }
+        errors = new Throwable[methods.size()];
+    }
+    
+    /**
+     * @param methods the number of methods of program
+     * @return true if it is worth to check in parallel
+     */
+    static boolean isUseful(int methods){
+        return ForkJoinPool.getCommonPoolParallelism() > 1 &&
+               methods >= MIN_METHODS;
+    }
+    
+    /**
+     * Checks the methods of every class in parallel
+     * 
+     * @param table the consolidated symbol table
+     * @param classes the classes of AST
+     * @throws SemanticSentenceException the error of first method that
+     *         fails (in source order)
+     */
+    static void check(SymbolTable table, List<ClassNode> classes)
+        throws SemanticSentenceException {
+        
+        ParallelInference inference = new ParallelInference(table, classes);
+        ForkJoinPool.commonPool().invoke(inference.new Task(0, inference.methods.size()));
+        
+        for (Throwable e: inference.errors){
+            if (e instanceof SemanticSentenceException){
+                throw (SemanticSentenceException) e;
+            }
+            else if (e instanceof RuntimeException){
+                throw (RuntimeException) e;
+            }
+            else if (e != null){
+                throw (Error) e;
+            }
+        }
+    }
+    
+    /**
+     * Checks the methods from an index to other
+     */
+    private final class Task extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final int from;
+        private final int to;
+        
+        private Task(int from, int to){
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute(){
+            
+            if (to - from > METHODS_BY_TASK){
+                int middle = (from + to) >>> 1;
+                invokeAll(new Task(from, middle), new Task(middle, to));
+                return;
+            }
+            
+            for (int i = from; i < to; i++){
+                // Its error would not be reported
+                if (i > failed.get()){
+                    return;
+                }
+                try{
+                    methods.get(i).check(table, classNames.get(i));
+                }
+                catch (SemanticSentenceException | RuntimeException | Error e){
+                    errors[i] = e;
+                    failed.accumulateAndGet(i, Math::min);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package analizadorsemantico.abstractsyntaxtree.expressions;
 
 import analizadorsemantico.SemanticSentenceException;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
+import analizadorsemantico.symboltable.MethodStruct;
 import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -14,6 +17,8 @@ public class ArrayExpressionNode extends ExpressionNode {
     
     // Identifier
     private String id;
+    // Identifier interned by the parser (see Symbols), -1 without identifier
+    private int symbol = -1;
     // Expression index
     private final ExpressionNode index;
     // Type (elements)
@@ -30,7 +35,7 @@ public class ArrayExpressionNode extends ExpressionNode {
                                Type elementsType,
                                int line){
         
-        super(new Type("Array "+elementsType), line);
+        super(Type.arrayOf(elementsType), line);
         this.elementsType = elementsType;
         this.index = index;
     }
@@ -39,15 +44,18 @@ public class ArrayExpressionNode extends ExpressionNode {
      * ArrayExpressionNode constructor
      * 
      * @param id the identifier of array
+     * @param symbol the ID of id (see SymbolTable.getSymbols())
      * @param index the index in array
      * @param line the line number
      */ 
     public ArrayExpressionNode(String id,
+                               int symbol,
                                ExpressionNode index,
                                int line){
         
         super(line);
         this.id = id;
+        this.symbol = symbol;
         this.index = index;
     }
     
@@ -55,23 +63,27 @@ public class ArrayExpressionNode extends ExpressionNode {
      * ArrayExpressionNode constructor
      * 
      * @param id the identifier of array
+     * @param symbol the ID of id (see SymbolTable.getSymbols())
      * @param index the index in array
      * @param elementsType the type of elements
      * @param line the line number
      */    
     public ArrayExpressionNode(String id,
+                               int symbol,
                                ExpressionNode index,
                                Type elementsType,
                                int line){
         
-        super(new Type("Array "+elementsType), line);
+        super(Type.arrayOf(elementsType), line);
         this.id = id;
+        this.symbol = symbol;
         this.elementsType = elementsType;
         this.index = index;
     }
     
-    public void setId(String id){
+    public void setId(String id, int symbol){
         this.id = id;
+        this.symbol = symbol;
     }
     
     /**
@@ -112,10 +124,13 @@ public class ArrayExpressionNode extends ExpressionNode {
         Type type = null;
         
         if (self){
-            type = table.getTypeAtt(className, id);
+            type = table.getTypeAtt(className, symbol);
         }
         else{
-            type = table.getTypeVar(className, methodName, id);
+            MethodStruct method = table.getMethod(className, methodName);
+            int slot = method.getSlot(symbol);
+            type = slot != -1 ? method.getLocal(slot).getType()
+                              : table.getTypeAtt(className, symbol);
         }
         
         if (!type.isArray()){
@@ -123,16 +138,26 @@ public class ArrayExpressionNode extends ExpressionNode {
                            getLine());
         }
         
-        setType(new Type(type.toString()));
+        setType(type.getElementType());
         index.check(table, className, methodName);
         
-        if (!index.getType().strongComparison("Int")){
+        if (!index.getType().strongComparison(Type.INT)){
             throwException("Expression on index array must be Int type but it is "
                            + index.getType().toStringIfArray(), 
                            getLine());
         } 
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitArrayExpression(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        index.accept(visitor, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -146,7 +171,7 @@ public class ArrayExpressionNode extends ExpressionNode {
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         
     }
 }
\ No newline at end of file
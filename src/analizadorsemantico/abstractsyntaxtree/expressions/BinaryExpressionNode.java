@@ -2,9 +2,10 @@ package analizadorsemantico.abstractsyntaxtree.expressions;
 
 import analizadorsemantico.SemanticSentenceException;
 import analizadorsemantico.abstractsyntaxtree.Node;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
-import static codegeneration.CodeGenerator.body;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -84,57 +85,57 @@ public class BinaryExpressionNode extends ExpressionNode {
         rightOp.check(table, className, methodName);
         
         if (Node.equals(operator.getOperator(), "*", "/", "%", "+", "-")){ 
-            if (!leftOp.getType().strongComparison("Int")){
+            if (!leftOp.getType().strongComparison(Type.INT)){
                 throwException(errorMsg + leftOp.getType(), 
                                operator.getLine());
             }
-            if (!rightOp.getType().strongComparison("Int")){
+            if (!rightOp.getType().strongComparison(Type.INT)){
                 throwException(errorMsg + rightOp.getType(), 
                                operator.getLine());
             }
             
             // Set type of expression
-            setType(new Type("Int"));
+            setType(Type.INT);
         }
         
         else if (Node.equals(operator.getOperator(), "<", ">", "<=", ">=")){ 
-            if (!leftOp.getType().strongComparison("Int")){
+            if (!leftOp.getType().strongComparison(Type.INT)){
                 throwException(errorMsg + leftOp.getType(), 
                                operator.getLine());
             }
-            if (!rightOp.getType().strongComparison("Int")){
+            if (!rightOp.getType().strongComparison(Type.INT)){
                 throwException(errorMsg + rightOp.getType(), 
                                operator.getLine());
             }
             
             // Set type of expression
-            setType(new Type("Bool"));
+            setType(Type.BOOL);
         }
         
         else if (Node.equals(operator.getOperator(), "&&", "||")){
             
-            if (!leftOp.getType().strongComparison("Bool")){
+            if (!leftOp.getType().strongComparison(Type.BOOL)){
                 throwException(errorMsg + leftOp.getType(), 
                                operator.getLine());
             }
-            if (!rightOp.getType().strongComparison("Bool")){
+            if (!rightOp.getType().strongComparison(Type.BOOL)){
                 throwException(errorMsg + rightOp.getType(), 
                                operator.getLine());
             }
             
-            setType(new Type("Bool"));
+            setType(Type.BOOL);
         }
         
         else { // ==
             
             Type leftType = leftOp.getType();
-            if (!leftType.strongComparison("Bool", "Char", "String", "Int")){
-                if (!leftType.strongComparison(rightOp.getType().toStringIfArray())){
+            if (!(leftType.isPrimitive() || leftType.strongComparison(Type.STRING))){
+                if (!leftType.strongComparison(rightOp.getType())){
                     throwException("Operands must be equals types", operator.getLine());
                 }
             }
             
-            setType(new Type("Bool"));
+            setType(Type.BOOL);
         }
         setLine(operator.getLine());
     }
@@ -145,6 +146,18 @@ public class BinaryExpressionNode extends ExpressionNode {
                       String methodName,
                       boolean self){}
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitBinaryExpression(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        leftOp.accept(visitor, context);
+        operator.accept(visitor, context);
+        rightOp.accept(visitor, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -159,51 +172,51 @@ public class BinaryExpressionNode extends ExpressionNode {
     }
     
     @Override
-    public void getCode(){
-        leftOp.getCode();
-        body.append("\tmove $t1, $t0");
-        rightOp.getCode();
+    public void getCode(CodeContext code){
+        leftOp.getCode(code);
+        code.body.append("\tmove $t1, $t0");
+        rightOp.getCode(code);
         switch (operator.getOperator()){
             case "+":
-                body.append("\tadd $t0, $t1, $t0");
+                code.body.append("\tadd $t0, $t1, $t0");
                 break;
             case "-":
-                body.append("\tsub $t0, $t1, $t0");
+                code.body.append("\tsub $t0, $t1, $t0");
                 break;
             case "*":
-                body.append("\tmul $t0, $t1, $t0");
+                code.body.append("\tmul $t0, $t1, $t0");
                 break;
             case "/":
-                body.append("\tdiv $t1, $t0");
-                body.append("\tmflo $t0");
+                code.body.append("\tdiv $t1, $t0");
+                code.body.append("\tmflo $t0");
                 break;
             case "%":
-                body.append("\tdiv $t1, $t0");
-                body.append("\tmfhi $t0");
+                code.body.append("\tdiv $t1, $t0");
+                code.body.append("\tmfhi $t0");
                 break;
             case "&&": // "&& or" is correct
-                body.append("\tor $t0, $t1, $t0\n");
+                code.body.append("\tor $t0, $t1, $t0\n");
                 break;
             case "||": // "|| and" is correct
-                body.append("\tand $t0, $t1, $t0\n");
+                code.body.append("\tand $t0, $t1, $t0\n");
                 break;
             case "<":
-                body.append("\tsge $t0, $t1, $t0");
+                code.body.append("\tsge $t0, $t1, $t0");
                 break;
             case ">":
-                body.append("\tsle $t0, $t1, $t0");
+                code.body.append("\tsle $t0, $t1, $t0");
                 break;
             case "<=":
-                body.append("\tsgt $t0, $t1, $t0");
+                code.body.append("\tsgt $t0, $t1, $t0");
                 break;
             case ">=":
-                body.append("\tslt $t0, $t1, $t0");
+                code.body.append("\tslt $t0, $t1, $t0");
                 break;
             case "==":
-                body.append("\tsne $t0, $t1, $t0");
+                code.body.append("\tsne $t0, $t1, $t0");
                 break;
             case "!=":
-                body.append("\tseq $t0, $t1, $t0");
+                code.body.append("\tseq $t0, $t1, $t0");
                 break;
         }
     }
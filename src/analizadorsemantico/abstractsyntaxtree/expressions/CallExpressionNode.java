@@ -1,12 +1,11 @@
 package analizadorsemantico.abstractsyntaxtree.expressions;
 
 import analizadorsemantico.SemanticSentenceException;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.LocalStruct;
 import analizadorsemantico.symboltable.MethodStruct;
 import analizadorsemantico.symboltable.SymbolTable;
-import codegeneration.CodeGenerator;
-import static codegeneration.CodeGenerator.body;
-import static codegeneration.CodeGenerator.table;
+import codegeneration.CodeContext;
 import java.util.ArrayList;
 import java.util.Collection;
 import parser.json.JSONArray;
@@ -20,20 +19,26 @@ import parser.json.JSONObject;
 public class CallExpressionNode extends ExpressionNode {
     
     private final String id;
+    // Identifier interned by the parser (see Symbols)
+    private final int symbol;
     private final String originClass;
     private final ArrayList<ExpressionNode> args;
     
     private boolean instance = true;
     // id is declared in idClass
     private String idClass;
+    // Method found by check()
+    private MethodStruct method;
     
     public CallExpressionNode(String id,
+                              int symbol,
                               ArrayList<ExpressionNode> args,
                               String originClass,
                               int line){
         super(line);
         super.isCallNode = true;
         this.id = id;
+        this.symbol = symbol;
         this.args = args;
         this.originClass = originClass;
     }
@@ -87,14 +92,13 @@ public class CallExpressionNode extends ExpressionNode {
         idClass = className;
         
         // Is method declared?
-        if (!table.existsMethod(className, id)){
+        method = table.getMethod(className, symbol);
+        if (method == null){
             throwException("Method " + id + " not declared in "
                            + className + " class",
                            getLine());
         }
         
-        MethodStruct method = table.getMethod(className, id);
-        
         if (instance && method.isStatic()){
             throwException("Static method " + id + " can only be called by the class",
                            getLine());
@@ -107,10 +111,10 @@ public class CallExpressionNode extends ExpressionNode {
                            getLine());
         }
             
-        setType(table.getTypeMethod(className, id));
+        setType(method.getType());
             
         ExpressionNode arg;
-        Collection<LocalStruct> parameters = table.getParameters(className, id);
+        Collection<LocalStruct> parameters = method.getParameters();
             
         // Check number of arguments and parameters
         if (parameters.size() != args.size()){
@@ -144,6 +148,18 @@ public class CallExpressionNode extends ExpressionNode {
         setInstance(true);
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitCallExpression(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        for (ExpressionNode e: args){
+            e.accept(visitor, context);
+        }
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -162,42 +178,42 @@ public class CallExpressionNode extends ExpressionNode {
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         
         // Saving to stack: nothing to do
         String temp = "";
         // Saving name of static class (if there were)
-        if (!CodeGenerator.temp.isEmpty()){
-            temp = CodeGenerator.temp.append('_').toString();
-            CodeGenerator.temp.setLength(0);
+        if (!code.temp.isEmpty()){
+            temp = code.temp.append('_').toString();
+            code.temp.setLength(0);
         }
         
-        body.append("\t#Call\n");
+        code.body.append("\t#Call\n");
         // Push in next frame (parameters)
         // -4: fp y ra 
         
-        if (!CodeGenerator.idObject.isEmpty()){
-            String object = CodeGenerator.idObject.toString();
-            CodeGenerator.idObject.setLength(0);
+        if (!code.idObject.isEmpty()){
+            String object = code.idObject.toString();
+            code.idObject.setLength(0);
             
-            body.append("\tla $t9, ").append(table.getNameCurrentClass());
-            body.append('_').append(object).append("_CIR\n");
+            code.body.append("\tla $t9, ").append(code.getClassName());
+            code.body.append('_').append(object).append("_CIR\n");
         }
         
-        int offset = -4-4*(table.getMethod(idClass, id).getSizeParameters());
+        int offset = -4-4*(method.getSizeParameters());
         for (ExpressionNode e: args){
-            e.getCode();
-            body.append("\tsw $t0, ").append(offset).append("($sp)\n");
+            e.getCode(code);
+            code.body.append("\tsw $t0, ").append(offset).append("($sp)\n");
             offset += 4;
         }
         
         // For static call
         if (temp.length() != 0){
-            body.append("\tjal ").append(temp).append(id).append('\n');
+            code.body.append("\tjal ").append(temp).append(id).append('\n');
         }
         // Non static
         else{
-            body.append("\tjal ").append(idClass).append('_').append(id).append('\n');
+            code.body.append("\tjal ").append(idClass).append('_').append(id).append('\n');
         }
     }
 }
\ No newline at end of file
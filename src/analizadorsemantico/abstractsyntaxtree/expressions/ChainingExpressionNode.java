@@ -1,7 +1,10 @@
 package analizadorsemantico.abstractsyntaxtree.expressions;
 
 import analizadorsemantico.SemanticSentenceException;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.SymbolTable;
+import analizadorsemantico.symboltable.Type;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -127,7 +130,7 @@ public class ChainingExpressionNode extends ExpressionNode {
         if (chain != null){
             
             // Void 
-            if (getType().comparison("void")){
+            if (getType().comparison(Type.VOID)){
                 throwException("The type void has no methods or attributes associated",
                                getLine());
             }
@@ -164,6 +167,19 @@ public class ChainingExpressionNode extends ExpressionNode {
         }
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitChainingExpression(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        expression.accept(visitor, context);
+        if (chain != null){
+            chain.accept(visitor, context);
+        }
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -182,10 +198,10 @@ public class ChainingExpressionNode extends ExpressionNode {
     }
     
     @Override
-    public void getCode(){
-        expression.getCode();
+    public void getCode(CodeContext code){
+        expression.getCode(code);
         if (chain != null){
-            chain.getCode();
+            chain.getCode(code);
         }
     }
 }
\ No newline at end of file
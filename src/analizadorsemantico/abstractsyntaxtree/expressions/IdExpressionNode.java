@@ -1,12 +1,13 @@
 package analizadorsemantico.abstractsyntaxtree.expressions;
 
 import analizadorsemantico.SemanticSentenceException;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
+import analizadorsemantico.symboltable.LocalStruct;
+import analizadorsemantico.symboltable.MethodStruct;
 import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
-import static codegeneration.CodeGenerator.body;
-import static codegeneration.CodeGenerator.table;
 import parser.json.JSONObject;
-import codegeneration.CodeGenerator;
+import codegeneration.CodeContext;
 /**
  * IdExpressionNode definition for AST in Semantic Analyzer
  * Uses: parameters, attributes and local variables
@@ -17,19 +18,27 @@ public class IdExpressionNode extends ExpressionNode{
     
     // Identifier
     private final String id;
+    // Identifier interned by the parser (see Symbols)
+    private final int symbol;
     // For code generation
     private boolean self;
+    // Parameter or local variable found by check() (null: attribute)
+    private LocalStruct local;
+    private boolean parameter;
     
     /**
      * ArrayExpressionNode constructor
      * 
      * @param id the identifier of array
+     * @param symbol the ID of id (see SymbolTable.getSymbols())
      * @param line the line number
      */
     public IdExpressionNode(String id,
+                            int symbol,
                             int line){
         super(line);
         this.id = id;
+        this.symbol = symbol;
     }
     
     /**
@@ -69,10 +78,12 @@ public class IdExpressionNode extends ExpressionNode{
         throws SemanticSentenceException {
         
         this.self = self;
+        this.local = null;
         
         Type type = null;
         
-        boolean isStatic = table.getMethod(className, methodName).isStatic();
+        MethodStruct method = table.getMethod(className, methodName);
+        boolean isStatic = method.isStatic();
         
         
         // Only attributes
@@ -83,7 +94,7 @@ public class IdExpressionNode extends ExpressionNode{
                            + "call instances variables", getLine());
             }
             
-            type = table.getTypeAtt(className, id);
+            type = table.getTypeAtt(className, symbol);
             if (type == null){
                 throwException(id + ", attribute, not declared",
                                getLine());
@@ -94,7 +105,12 @@ public class IdExpressionNode extends ExpressionNode{
         }
         // Variables, paremeters and attributes
         else{
-            type = table.getTypeLocal(className, methodName, id);
+            int slot = method.getSlot(symbol);
+            if (slot != -1){
+                local = method.getLocal(slot);
+                parameter = method.isParameterSlot(slot);
+                type = local.getType();
+            }
             if (type == null){
                 
                 if (isStatic){
@@ -102,7 +118,7 @@ public class IdExpressionNode extends ExpressionNode{
                            + "call instances variables", getLine());
                 }
                 
-                type = table.getTypeAtt(className, id);
+                type = table.getTypeAtt(className, symbol);
                 if (type == null){
                     throwException(id + ", variable or attribute, not declared",
                                getLine());
@@ -113,6 +129,11 @@ public class IdExpressionNode extends ExpressionNode{
         this.setType(type);
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitIdExpression(this, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -125,63 +146,63 @@ public class IdExpressionNode extends ExpressionNode{
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         int pos;
         int offset;
         // In attribute
         if (self){
-            getCodeCIR("");
+            getCodeCIR(code, "");
         }
         else{
             // In variable
-            if (table.isVariable(id)){
-                pos = table.getVariablePosition(id);
-                offset = 4*(table.getParametersCant()+pos+1);
+            if (local != null && !parameter){
+                pos = local.getPosition();
+                offset = 4*(code.getParametersCant()+pos+1);
                 // si es un entero, bool, char entonces mover, sino ..?
                 // no contemplo arrays aun
-                if (getType().strongComparison("Bool", "Char", "Int")){
-                    body.append("\tlw $t0, ").append(offset).append("($sp)\n");
+                if (getType().isPrimitive()){
+                    code.body.append("\tlw $t0, ").append(offset).append("($sp)\n");
                 }
                 else{
-                    getCodeCIR(table.getNameCurrentMethod() + "_");
+                    getCodeCIR(code, code.getMethodName() + "_");
                 }
             }
             // In parameter
-            else if (table.isParameter(id)){
-                pos = table.getParameterPosition(id);
+            else if (local != null){
+                pos = local.getPosition();
                 offset = 4*(pos+1);
                 
                 // type of data
-                if (getType().strongComparison("Bool", "Char", "Int")){
-                    body.append("\tlw $t0, ").append(offset).append("($sp)\n");
+                if (getType().isPrimitive()){
+                    code.body.append("\tlw $t0, ").append(offset).append("($sp)\n");
                 }
                 else{
-                    getCodeCIR(table.getNameCurrentMethod() + "_");
+                    getCodeCIR(code, code.getMethodName() + "_");
                 }
             }
             // In attribute
             else{
-                getCodeCIR("");
+                getCodeCIR(code, "");
             }
             
         }
     }
     
-    private void getCodeCIR(String method){
+    private void getCodeCIR(CodeContext code, String method){
         
-        CodeGenerator.idObject.append(method).append(id);
+        code.idObject.append(method).append(id);
         
-        body.append("\tlw $t1, ").append(table.getNameCurrentClass());
-        body.append('_').append(table.getNameCurrentMethod()).append('_');
-        body.append(id).append('_').append("CIR").append('\n');
+        code.body.append("\tlw $t1, ").append(code.getClassName());
+        code.body.append('_').append(code.getMethodName()).append('_');
+        code.body.append(id).append('_').append("CIR").append('\n');
         
         // Aqui se puede generalizar salteando la tabla virtual 
         // contando la cantidad de metodos que puede tener
-        /*if (table.getNameCurrentClass().equals("String")){
-            body.append("\tla $t0, ($t1)\n");
-            body.append("\t");
+        /*if (code.getClassName().equals("String")){
+            code.body.append("\tla $t0, ($t1)\n");
+            code.body.append("\t");
         }*/
-        body.append("\tla $t0, ($t1)\n");
-        //body.append("\t");
+        code.body.append("\tla $t0, ($t1)\n");
+        //code.body.append("\t");
     }
 }
\ No newline at end of file
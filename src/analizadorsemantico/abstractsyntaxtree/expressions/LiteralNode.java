@@ -1,12 +1,9 @@
 package analizadorsemantico.abstractsyntaxtree.expressions;
 
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
-import codegeneration.CodeGenerator;
-import static codegeneration.CodeGenerator.body;
-import static codegeneration.CodeGenerator.bodyD;
-import static codegeneration.CodeGenerator.labelD;
-import static codegeneration.CodeGenerator.table;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -60,6 +57,11 @@ public class LiteralNode extends ExpressionNode {
                       String methodName,
                       boolean self){}
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitLiteral(this, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -72,31 +74,31 @@ public class LiteralNode extends ExpressionNode {
     }
     
     @Override
-    public void getCode(){
-        //bodyD.append(labelD).append(":\n");
+    public void getCode(CodeContext code){
+        //code.bodyD.append(code.labelD).append(":\n");
         String type = getType().toString();
         switch (type){
             case "Int":
-                body.append("\tli $t0, ").append(literal).append('\n');
-                CodeGenerator.temp.append("Int");
+                code.body.append("\tli $t0, ").append(literal).append('\n');
+                code.temp.append("Int");
                 break;
             case "Bool":
-                body.append("\tli $t0, ");
-                if (literal.equals("true")) body.append("0\n");
-                else body.append("1\n");
-                CodeGenerator.temp.append("Bool");
+                code.body.append("\tli $t0, ");
+                if (literal.equals("true")) code.body.append("0\n");
+                else code.body.append("1\n");
+                code.temp.append("Bool");
                 break;
             case "Char":
-                body.append("\tli $t0, '").append(literal).append("'\n");
-                CodeGenerator.temp.append("Char");
+                code.body.append("\tli $t0, '").append(literal).append("'\n");
+                code.temp.append("Char");
                 break;
             case "String":
                 // Body for .data
-                bodyD.append(labelD).append(":\n");
-                bodyD.append("\t.asciiz ");
-                bodyD.append('"').append(literal).append("\"\n");
+                code.bodyD.append(code.labelD).append(":\n");
+                code.bodyD.append("\t.asciiz ");
+                code.bodyD.append('"').append(literal).append("\"\n");
                 // See getCodeObject() for String in VarNode
-                CodeGenerator.temp.append("String");
+                code.temp.append("String");
         }
     }
 }
\ No newline at end of file
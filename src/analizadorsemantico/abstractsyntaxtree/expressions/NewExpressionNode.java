@@ -1,14 +1,12 @@
 package analizadorsemantico.abstractsyntaxtree.expressions;
 
 import analizadorsemantico.SemanticSentenceException;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.LocalStruct;
+import analizadorsemantico.symboltable.MethodStruct;
 import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
-import codegeneration.CodeGenerator;
-import static codegeneration.CodeGenerator.body;
-import static codegeneration.CodeGenerator.bodyD;
-import static codegeneration.CodeGenerator.labelD;
-import static codegeneration.CodeGenerator.table;
+import codegeneration.CodeContext;
 import java.util.ArrayList;
 import java.util.Collection;
 import parser.json.JSONArray;
@@ -24,6 +22,8 @@ public class NewExpressionNode extends ExpressionNode {
     private final String idClass;
     private ExpressionNode expression = null;
     private ArrayList<ExpressionNode> args = null;
+    // Constructor found by check()
+    private MethodStruct constructor;
     
     /**
      * NewExpressionNode constructor: method mode
@@ -76,7 +76,7 @@ public class NewExpressionNode extends ExpressionNode {
         
         // Array
         if (args == null){
-            setType(new Type(idClass, true));
+            setType(Type.arrayOf(table.getSymbols().type(idClass)));
             expression.check(table, className, methodName);
             
             // Index must be LiteralNode
@@ -85,7 +85,7 @@ public class NewExpressionNode extends ExpressionNode {
                                expression.getLine());
             }
             
-            if (!expression.getType().strongComparison("Int")){
+            if (!expression.getType().strongComparison(Type.INT)){
                 throwException("Expression on index array must be Int type but it is "
                                + expression.getType().toStringIfArray(),
                                expression.getLine());
@@ -98,9 +98,10 @@ public class NewExpressionNode extends ExpressionNode {
         }
         // New Object
         else{
-            setType(new Type(idClass));
+            setType(table.getSymbols().type(idClass));
             ExpressionNode arg;
-            Collection<LocalStruct> parameters = table.getParameters(idClass, "init");
+            constructor = table.getMethod(idClass, "init");
+            Collection<LocalStruct> parameters = constructor.getParameters();
             
             // Check number of arguments and parameters
             if (parameters.size() != args.size()){
@@ -146,6 +147,23 @@ public class NewExpressionNode extends ExpressionNode {
                       boolean self)
         throws SemanticSentenceException {}
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitNewExpression(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        if (args == null){
+            expression.accept(visitor, context);
+        }
+        else{
+            for (ExpressionNode e: args){
+                e.accept(visitor, context);
+            }
+        }
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -167,31 +185,31 @@ public class NewExpressionNode extends ExpressionNode {
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         
         Type type;
         if (args == null){
-            CodeGenerator.temp.append("Array");
+            code.temp.append("Array");
             // It is LiteralNode
             int index = Integer.valueOf(((LiteralNode) expression).getLiteral());
             // Add to data
-            bodyD.append(":\n\t.word ").append(index);
-            bodyD.append("\n\t.space ").append(4*index).append('\n');
+            code.bodyD.append(":\n\t.word ").append(index);
+            code.bodyD.append("\n\t.space ").append(4*index).append('\n');
         }
         else{
             // See VarNode
-            CodeGenerator.temp.append(idClass);
-            body.append("\t#New Object\n");
+            code.temp.append(idClass);
+            code.body.append("\t#New Object\n");
             
             // Push in next frame (parameters)
             // -4: fp y ra 
-            int offset = -4-4*(table.getMethod(idClass, "init").getSizeParameters());
+            int offset = -4-4*(constructor.getSizeParameters());
             for (ExpressionNode e: args){
-                e.getCode();
-                body.append("\tsw $t0, ").append(offset).append("($sp)\n");
+                e.getCode(code);
+                code.body.append("\tsw $t0, ").append(offset).append("($sp)\n");
                 offset += 4;
             }
-            body.append("\tjal ").append(idClass).append("_init\n");
+            code.body.append("\tjal ").append(idClass).append("_init\n");
         }
     }
 }
\ No newline at end of file
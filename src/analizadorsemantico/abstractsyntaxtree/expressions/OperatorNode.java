@@ -1,7 +1,9 @@
 package analizadorsemantico.abstractsyntaxtree.expressions;
 
 import analizadorsemantico.abstractsyntaxtree.Node;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.SymbolTable;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -39,7 +41,12 @@ public class OperatorNode extends Node {
      */
     @Override
     public void check(SymbolTable table, String className, String methodName){}
-
+    
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitOperator(this, context);
+    }
+    
     @Override
     public JSONObject toJSON() {
         JSONObject json = new JSONObject();
@@ -51,7 +58,7 @@ public class OperatorNode extends Node {
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         
     }
 }
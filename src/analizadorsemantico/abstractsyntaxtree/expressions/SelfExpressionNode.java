@@ -1,8 +1,10 @@
 package analizadorsemantico.abstractsyntaxtree.expressions;
 
 import analizadorsemantico.SemanticSentenceException;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -18,11 +20,13 @@ public class SelfExpressionNode extends ExpressionNode {
      * SelfExpressionNode constructor
      * 
      * @param self the name of class
+     * @param type the type of class (same name)
      * @param line the line number
      */
     public SelfExpressionNode(String self,
+                              Type type,
                               int line){
-        super(new Type(self), line);
+        super(type, line);
         this.self = self;
     }
     
@@ -56,6 +60,11 @@ public class SelfExpressionNode extends ExpressionNode {
         throws SemanticSentenceException {
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitSelfExpression(this, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -68,7 +77,7 @@ public class SelfExpressionNode extends ExpressionNode {
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         
     }
 }
\ No newline at end of file
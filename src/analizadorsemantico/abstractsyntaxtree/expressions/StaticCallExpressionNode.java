@@ -1,9 +1,9 @@
 package analizadorsemantico.abstractsyntaxtree.expressions;
 
 import analizadorsemantico.SemanticSentenceException;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.SymbolTable;
-import analizadorsemantico.symboltable.Type;
-import codegeneration.CodeGenerator;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -67,7 +67,12 @@ public class StaticCallExpressionNode extends ExpressionNode {
                            getLine());
         }
             
-        setType(new Type(idClass));
+        setType(table.getSymbols().type(idClass));
+    }
+    
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitStaticCallExpression(this, context);
     }
     
     @Override
@@ -81,7 +86,7 @@ public class StaticCallExpressionNode extends ExpressionNode {
     }
     
     @Override
-    public void getCode(){
-        CodeGenerator.temp.append(idClass);
+    public void getCode(CodeContext code){
+        code.temp.append(idClass);
     }
 }
\ No newline at end of file
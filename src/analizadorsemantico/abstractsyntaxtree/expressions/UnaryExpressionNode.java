@@ -2,8 +2,10 @@ package analizadorsemantico.abstractsyntaxtree.expressions;
 
 import analizadorsemantico.SemanticSentenceException;
 import analizadorsemantico.abstractsyntaxtree.Node;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.SymbolTable;
-import static codegeneration.CodeGenerator.body;
+import analizadorsemantico.symboltable.Type;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -57,12 +59,12 @@ public class UnaryExpressionNode extends ExpressionNode {
         operand.check(table, className, methodName);
         
         if (Node.equals(opUnario.getOperator(), "+", "-")){
-            if (!operand.getType().strongComparison("Int")){
+            if (!operand.getType().strongComparison(Type.INT)){
                 throwException(errorMsg, opUnario.getLine());
             }
         }
         else {  // ! -> not
-            if (!operand.getType().strongComparison("Bool")){
+            if (!operand.getType().strongComparison(Type.BOOL)){
                 throwException(errorMsg, opUnario.getLine());
             }
         }
@@ -76,6 +78,17 @@ public class UnaryExpressionNode extends ExpressionNode {
                       String methodName,
                       boolean self){}
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitUnaryExpression(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        opUnario.accept(visitor, context);
+        operand.accept(visitor, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -89,16 +102,16 @@ public class UnaryExpressionNode extends ExpressionNode {
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         // Get code for expression in operand
-        operand.getCode();
+        operand.getCode(code);
         // Generates code for expression
         if (opUnario.getOperator().equals("-")){
-            body.append("\tnegu $t0, $t0");
+            code.body.append("\tnegu $t0, $t0");
         }
         else if (opUnario.getOperator().equals("!")){
             // Sub and absolute value
-            body.append("\tsub $t0, $t0, 1\n\tabs $t0, $t0");
+            code.body.append("\tsub $t0, $t0, 1\n\tabs $t0, $t0");
         }
     }
 }
\ No newline at end of file
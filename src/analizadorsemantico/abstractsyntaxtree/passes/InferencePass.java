@@ -0,0 +1,24 @@
+package analizadorsemantico.abstractsyntaxtree.passes;
+
+import analizadorsemantico.SemanticSentenceException;
+
+/**
+ * Type inference of the sentences (see AbstractSyntaxTree.inference()):
+ * the first pass, the others need the types of nodes
+ * 
+ * @author emiliano
+ */
+public final class InferencePass implements Pass {
+    
+    @Override
+    public String getName(){
+        return "inference";
+    }
+    
+    @Override
+    public void run(PassContext context)
+        throws SemanticSentenceException {
+        
+        context.getAST().inference(context.getTable());
+    }
+}
@@ -0,0 +1,28 @@
+package analizadorsemantico.abstractsyntaxtree.passes;
+
+import analizadorsemantico.SemanticSentenceException;
+
+/**
+ * Pass over the program after the consolidation of symbol table (type
+ * inference, optimizations, code generation), run by a PassManager.
+ * The passes over the nodes use a NodeVisitor with their own context
+ * 
+ * @author emiliano
+ * @see analizadorsemantico.abstractsyntaxtree.NodeVisitor
+ */
+public interface Pass {
+    
+    /**
+     * @return the name of pass (for the times of PassManager)
+     */
+    String getName();
+    
+    /**
+     * Runs the pass
+     * 
+     * @param context the program
+     * @throws SemanticSentenceException the error found by the pass
+     */
+    void run(PassContext context)
+        throws SemanticSentenceException;
+}
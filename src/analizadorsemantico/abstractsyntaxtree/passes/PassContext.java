@@ -0,0 +1,58 @@
+package analizadorsemantico.abstractsyntaxtree.passes;
+
+import analizadorsemantico.abstractsyntaxtree.AbstractSyntaxTree;
+import analizadorsemantico.symboltable.SymbolTable;
+
+/**
+ * Program given to the passes of a PassManager: the consolidated symbol
+ * table, the AST and the name of file. A pass keeps its own state in its
+ * own context object (for example codegeneration.CodeContext), never in
+ * static fields
+ * 
+ * @author emiliano
+ */
+public final class PassContext {
+    
+    // Symbol Table (consolidated)
+    private final SymbolTable table;
+    // AbstractSintaxTree
+    private final AbstractSyntaxTree ast;
+    // Name of file (without .swift)
+    private final String fileName;
+    
+    /**
+     * PassContext constructor
+     * 
+     * @param table the consolidated symbol table
+     * @param ast the abstract syntax tree
+     * @param fileName the name of file
+     */
+    public PassContext(SymbolTable table,
+                       AbstractSyntaxTree ast,
+                       String fileName){
+        this.table = table;
+        this.ast = ast;
+        this.fileName = fileName;
+    }
+    
+    /**
+     * @return the symbol table
+     */
+    public SymbolTable getTable(){
+        return table;
+    }
+    
+    /**
+     * @return the abstract syntax tree
+     */
+    public AbstractSyntaxTree getAST(){
+        return ast;
+    }
+    
+    /**
+     * @return the name of file
+     */
+    public String getFileName(){
+        return fileName;
+    }
+}
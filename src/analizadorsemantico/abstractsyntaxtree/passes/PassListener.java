@@ -0,0 +1,25 @@
+package analizadorsemantico.abstractsyntaxtree.passes;
+
+/**
+ * Timing hook of a PassManager: it is called before and after every pass
+ * (for example to print or to compare the time of an optimization)
+ * 
+ * @author emiliano
+ */
+public interface PassListener {
+    
+    /**
+     * Called before running a pass
+     * 
+     * @param pass the pass
+     */
+    default void started(Pass pass){}
+    
+    /**
+     * Called after a pass without errors
+     * 
+     * @param pass the pass
+     * @param nanos the time of pass (nanoseconds)
+     */
+    void finished(Pass pass, long nanos);
+}
@@ -0,0 +1,88 @@
+package analizadorsemantico.abstractsyntaxtree.passes;
+
+import analizadorsemantico.SemanticSentenceException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs passes over a program in order of addition. The time of every pass
+ * is measured: it is saved (see getTimes()) and given to the listeners.
+ * The first error stops the run (the later passes are not run)
+ * 
+ * @author emiliano
+ * @see analizadorsemantico.abstractsyntaxtree.passes.Pass
+ */
+public final class PassManager {
+    
+    private final ArrayList<Pass> passes = new ArrayList<>();
+    private final ArrayList<PassListener> listeners = new ArrayList<>();
+    // Time of every pass in the last run (nanoseconds), in order of run
+    private final LinkedHashMap<String, Long> times = new LinkedHashMap<>();
+    
+    /**
+     * Adds a pass after the others
+     * 
+     * @param pass the pass
+     * @return this manager
+     */
+    public PassManager add(Pass pass){
+        passes.add(pass);
+        return this;
+    }
+    
+    /**
+     * Adds a timing hook
+     * 
+     * @param listener the listener
+     * @return this manager
+     */
+    public PassManager addListener(PassListener listener){
+        listeners.add(listener);
+        return this;
+    }
+    
+    /**
+     * @return the passes in order of run
+     */
+    public List<Pass> getPasses(){
+        return Collections.unmodifiableList(passes);
+    }
+    
+    /**
+     * Returns the times of the last run
+     * 
+     * @return the nanoseconds by name of pass (only the passes run)
+     */
+    public Map<String, Long> getTimes(){
+        return Collections.unmodifiableMap(times);
+    }
+    
+    /**
+     * Runs all the passes
+     * 
+     * @param context the program
+     * @throws SemanticSentenceException the error of a pass
+     */
+    public void run(PassContext context)
+        throws SemanticSentenceException {
+        
+        times.clear();
+        for (Pass pass: passes){
+            for (PassListener e: listeners){
+                e.started(pass);
+            }
+            
+            long start = System.nanoTime();
+            pass.run(context);
+            long nanos = System.nanoTime() - start;
+            
+            times.merge(pass.getName(), nanos, Long::sum);
+            for (PassListener e: listeners){
+                e.finished(pass, nanos);
+            }
+        }
+    }
+}
@@ -2,13 +2,12 @@ package analizadorsemantico.abstractsyntaxtree.sentences;
 
 import analizadorsemantico.abstractsyntaxtree.expressions.ExpressionNode;
 import analizadorsemantico.SemanticSentenceException;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
+import analizadorsemantico.symboltable.LocalStruct;
+import analizadorsemantico.symboltable.MethodStruct;
 import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
-import codegeneration.CodeGenerator;
-import static codegeneration.CodeGenerator.body;
-import static codegeneration.CodeGenerator.bodyD;
-import static codegeneration.CodeGenerator.labelD;
-import static codegeneration.CodeGenerator.table;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -20,20 +19,28 @@ public class ArrayNode extends ChainNode {
     
     private final ExpressionNode index;
     private final String id;
+    // Identifier interned by the parser (see Symbols)
+    private final int symbol;
     private boolean self;
+    // Parameter or local variable found by check() (null: attribute)
+    private LocalStruct local;
+    private boolean parameter;
     
     /**
      * ArrayNode constructor
      * 
      * @param id the identifier of array
+     * @param symbol the ID of id (see SymbolTable.getSymbols())
      * @param index the index expression
      * @param line the line number
      */
     public ArrayNode(String id,
+                     int symbol,
                      ExpressionNode index,
                      int line){
         super(line);
         this.id = id;
+        this.symbol = symbol;
         this.index = index;
     }
     
@@ -75,14 +82,24 @@ public class ArrayNode extends ChainNode {
         
         // For code generation
         this.self = self;
+        this.local = null;
         
         Type type = null;
         
         if (self){
-            type = table.getTypeAtt(className, id);
+            type = table.getTypeAtt(className, symbol);
         }
         else{
-            type = table.getTypeVar(className, methodName, id);
+            MethodStruct method = table.getMethod(className, methodName);
+            int slot = method.getSlot(symbol);
+            if (slot != -1){
+                local = method.getLocal(slot);
+                parameter = method.isParameterSlot(slot);
+                type = local.getType();
+            }
+            else{
+                type = table.getTypeAtt(className, symbol);
+            }
         }
         
         if (!type.isArray()){
@@ -90,18 +107,27 @@ public class ArrayNode extends ChainNode {
                            getLine());
         }
         
-        //setType(type);
-        setType(new Type(type.toString()));
+        setType(type.getElementType());
         
         index.check(table, className, methodName);
         
-        if (!index.getType().strongComparison("Int")){
+        if (!index.getType().strongComparison(Type.INT)){
             throwException("Expression on index array must be Int type but it is "
                            + index.getType().toStringIfArray(),
                            + index.getLine());
         } 
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitArray(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        index.accept(visitor, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -115,91 +141,91 @@ public class ArrayNode extends ChainNode {
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         
         // Move value to save (later this only is used with Int, Char, Bool)
-        body.append("\tmove $s0, $t0\n");
-        index.getCode();
+        code.body.append("\tmove $s0, $t0\n");
+        index.getCode(code);
         
         if (self){
             // Load length
-            body.append("\t#Check index\n\tla $t1, ").append(table.getNameCurrentClass());
-            body.append('_').append(id).append("_CIR\n");
-            getCodeArray("");
+            code.body.append("\t#Check index\n\tla $t1, ").append(code.getClassName());
+            code.body.append('_').append(id).append("_CIR\n");
+            getCodeArray(code, "");
         }
         else{
             int offset;
             
             // It is parameter
-            if (table.isParameter(id)){
+            if (local != null && parameter){
                 // Offset calc
-                offset = 4*(table.getVariablesCant() 
-                         + table.getParametersCant() 
-                         - table.getParameterPosition(id));
+                offset = 4*(code.getVariablesCant() 
+                         + code.getParametersCant() 
+                         - local.getPosition());
                 
                 // Load length
-                body.append("\t#Check index\n\tla $t1, ").append(offset);
-                body.append("($sp)\n");
-                getCodeArray(table.getNameCurrentMethod() + "_");
+                code.body.append("\t#Check index\n\tla $t1, ").append(offset);
+                code.body.append("($sp)\n");
+                getCodeArray(code, code.getMethodName() + "_");
             }
 
             // It is local variable
-            else if (table.isVariable(id)){
-                offset = 4*(table.getVariablesCant()-table.getVariablePosition(id));
+            else if (local != null){
+                offset = 4*(code.getVariablesCant()-local.getPosition());
                 
                 // Load length
-                body.append("\t#Check index\n\tla $t1, ").append(offset);
-                body.append("($sp)\n");
-                getCodeArray(table.getNameCurrentMethod() + "_");
+                code.body.append("\t#Check index\n\tla $t1, ").append(offset);
+                code.body.append("($sp)\n");
+                getCodeArray(code, code.getMethodName() + "_");
             }
 
             // It is attribute
             else{
                 // Load length
-                body.append("\t#Check index\n\tla $t1, ").append(table.getNameCurrentClass());
-                body.append('_').append(id).append("_CIR\n");
-                getCodeArray("");
+                code.body.append("\t#Check index\n\tla $t1, ").append(code.getClassName());
+                code.body.append('_').append(id).append("_CIR\n");
+                getCodeArray(code, "");
             }
         }
     }
     
-    private void getCodeArray(String method){
+    private void getCodeArray(CodeContext code, String method){
         // This works only for Int? 
         
         // add -1 to length
-        body.append("\tlw $t2, ($t1)\n\taddi $t2, $t2, -1\n");
+        code.body.append("\tlw $t2, ($t1)\n\taddi $t2, $t2, -1\n");
         // if index($t0) > $t2 then 1 (true, exit) else 0 (false, continue)
-        body.append("\tslt $t3, $t2, $t0\n");
-        body.append("\tbnez $t3, Error_exit\n");
+        code.body.append("\tslt $t3, $t2, $t0\n");
+        code.body.append("\tbnez $t3, Error_exit\n");
         // Add 1 word (4 bytes) jumping to .space
-        body.append("\taddi $t0, $t0, 1\n");
+        code.body.append("\taddi $t0, $t0, 1\n");
         // Calculates spaces ($t0)
-        body.append("\tli $t4, 4\n\tmul $t0, $t0, $t4\n");
+        code.body.append("\tli $t4, 4\n\tmul $t0, $t0, $t4\n");
         // Access to position 
-        body.append("\tadd $t1, $t1, $t0\n");
+        code.body.append("\tadd $t1, $t1, $t0\n");
         
         // Saving
         // It is String: create label
-        if (!getType().strongComparison("Int", "Char", "Bool")){
+        if (!getType().isPrimitive()){
             // Name of class object to create
-            String classObject = CodeGenerator.temp.toString();
-            CodeGenerator.temp.setLength(0);
-
+            String classObject = code.temp.toString();
+            code.temp.setLength(0);
+            
             // Label for .data
-            labelD.append(table.getNameCurrentClass()).append('_');
-            labelD.append(method).append(CodeGenerator.counter);
-            labelD.append('_').append(id).append("_CIR");
-            CodeGenerator.counter += 1;
-
+            code.labelD.append(code.getClassName()).append('_');
+            code.labelD.append(method).append(code.counter);
+            code.labelD.append('_').append(id).append("_CIR");
+            code.counter += 1;
+            
             
-            bodyD.insert(0, labelD);
-            bodyD.append("\t.word ").append("String").append("_vtable\n");
+            code.bodyD.insert(0, code.labelD);
+            code.bodyD.append("\t.word ").append("String").append("_vtable\n");
             
             // Code for save object in stack
-            body.append("\tlw $s0, ").append(labelD).append('\n');
-            CodeGenerator.putData();
+            code.body.append("\tlw $s0, ").append(code.labelD).append('\n');
+            code.putData();
         }
         // To Array
-        body.append("\tsw $s0, ($t1)\n");
+        code.body.append("\tsw $s0, ($t1)\n");
     }
 }
\ No newline at end of file
@@ -2,9 +2,11 @@ package analizadorsemantico.abstractsyntaxtree.sentences;
 
 import analizadorsemantico.SemanticSentenceException;
 import analizadorsemantico.abstractsyntaxtree.Node;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.abstractsyntaxtree.expressions.ExpressionNode;
 import analizadorsemantico.symboltable.SymbolTable;
-import codegeneration.CodeGenerator;
+import analizadorsemantico.symboltable.Type;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -52,8 +54,8 @@ public class AssignmentNode extends Node {
         
         /*// Polymorphism
         boolean polym = table.polymorphism(leftAsg.getType(), rightAsg.getType());*/
-        if (rightAsg.getType().strongComparison("void")
-            || (!rightAsg.getType().strongComparison("nil")
+        if (rightAsg.getType().strongComparison(Type.VOID)
+            || (!rightAsg.getType().strongComparison(Type.NIL)
             && !leftAsg.getType().strongComparison(rightAsg.getType())
             && !table.polymorphism(leftAsg.getType(), rightAsg.getType()))){
             throwException("Incompatible types on assignment: was expected " 
@@ -73,6 +75,17 @@ public class AssignmentNode extends Node {
         setType(leftAsg.getType());
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitAssignment(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        leftAsg.accept(visitor, context);
+        rightAsg.accept(visitor, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -86,10 +99,10 @@ public class AssignmentNode extends Node {
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         
-        CodeGenerator.body.append("\t#Assignment\n");
-        rightAsg.getCode();
-        leftAsg.getCode();
+        code.body.append("\t#Assignment\n");
+        rightAsg.getCode(code);
+        leftAsg.getCode(code);
     }
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package analizadorsemantico.abstractsyntaxtree.sentences;
 
 import analizadorsemantico.SemanticSentenceException;
 import analizadorsemantico.abstractsyntaxtree.Node;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.SymbolTable;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -140,6 +142,19 @@ public class ChainingNode extends ChainNode {
     
     
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitChaining(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        node.accept(visitor, context);
+        if (chain != null){
+            chain.accept(visitor, context);
+        }
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -156,10 +171,10 @@ public class ChainingNode extends ChainNode {
         return json;
     }
     
-    public void getCode(){
-        node.getCode();
+    public void getCode(CodeContext code){
+        node.getCode(code);
         if (chain != null){
-            chain.getCode();
+            chain.getCode(code);
         }
     }
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package analizadorsemantico.abstractsyntaxtree.sentences;
 
 import analizadorsemantico.SemanticSentenceException;
 import analizadorsemantico.abstractsyntaxtree.Node;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.abstractsyntaxtree.expressions.ExpressionNode;
 import analizadorsemantico.symboltable.SymbolTable;
+import analizadorsemantico.symboltable.Type;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -53,7 +56,7 @@ public class IfNode extends Node {
         // Check expression type
         expNode.check(table, className, methodName);
         
-        if (!expNode.getType().strongComparison("Bool")){
+        if (!expNode.getType().strongComparison(Type.BOOL)){
             throwException("Expression on if sentence must be Bool but it is"
                            + expNode.getType().toStringIfArray(), 
                            expNode.getLine()); 
@@ -70,6 +73,18 @@ public class IfNode extends Node {
         }
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitIf(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        expNode.accept(visitor, context);
+        sentNode.accept(visitor, context);
+        elseSentNode.accept(visitor, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -83,7 +98,7 @@ public class IfNode extends Node {
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         
     }
 }
\ No newline at end of file
@@ -2,9 +2,11 @@ package analizadorsemantico.abstractsyntaxtree.sentences;
 
 import analizadorsemantico.SemanticSentenceException;
 import analizadorsemantico.abstractsyntaxtree.Node;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.abstractsyntaxtree.expressions.ExpressionNode;
 import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -35,7 +37,7 @@ public class ReturnNode extends Node{
      * @param line the number of line in file
      */
     public ReturnNode(int line){
-        super(new Type("void"), line);
+        super(Type.VOID, line);
     }
     
     /**
@@ -60,7 +62,7 @@ public class ReturnNode extends Node{
         }
         else{
             // When: return;
-            setType(new Type("void"));
+            setType(Type.VOID);
         }
         
         // Get type of method
@@ -76,6 +78,18 @@ public class ReturnNode extends Node{
         }
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitReturn(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        if (expNode != null){
+            expNode.accept(visitor, context);
+        }
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -90,7 +104,7 @@ public class ReturnNode extends Node{
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package analizadorsemantico.abstractsyntaxtree.sentences;
 
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -55,6 +57,11 @@ public class SelfNode extends ChainNode {
                       boolean self){
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitSelf(this, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -67,7 +74,7 @@ public class SelfNode extends ChainNode {
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         
     }
 }
\ No newline at end of file
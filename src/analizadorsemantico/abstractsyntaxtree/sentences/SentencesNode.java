@@ -1,6 +1,7 @@
 package analizadorsemantico.abstractsyntaxtree.sentences;
 
 import analizadorsemantico.abstractsyntaxtree.Node;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import java.util.ArrayList;
 import parser.json.JSONArray;
 import parser.json.JSONObject;
@@ -36,6 +37,30 @@ public class SentencesNode {
         return sentences;
     }
     
+    /**
+     * Moves the lines of sentences (see Node.moveLines())
+     * 
+     * @param delta the lines added (negative if removed)
+     */
+    public void moveLines(int delta){
+        for (Node sent: sentences){
+            sent.moveLines(delta);
+        }
+    }
+    
+    /**
+     * Visits the sentences in source order (see Node.accept())
+     * 
+     * @param <C> the type of context of pass
+     * @param visitor the visitor
+     * @param context the context of pass
+     */
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        for (Node sent: sentences){
+            sent.accept(visitor, context);
+        }
+    }
+    
     public JSONObject toJSON(){
         
         JSONObject json = new JSONObject();
@@ -1,14 +1,13 @@
 package analizadorsemantico.abstractsyntaxtree.sentences;
 
 import analizadorsemantico.SemanticSentenceException;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.symboltable.AttributeStruct;
+import analizadorsemantico.symboltable.LocalStruct;
+import analizadorsemantico.symboltable.MethodStruct;
 import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
-import codegeneration.CodeGenerator;
-import static codegeneration.CodeGenerator.body;
-import static codegeneration.CodeGenerator.bodyD;
-import static codegeneration.CodeGenerator.labelD;
-import static codegeneration.CodeGenerator.table;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -20,17 +19,26 @@ import parser.json.JSONObject;
 public class VarNode extends ChainNode {
     
     private final String id;
+    // Identifier interned by the parser (see Symbols)
+    private final int symbol;
     private boolean self;
+    // Parameter or local variable found by check() (null: attribute)
+    private LocalStruct local;
+    private boolean parameter;
+    
     /**
      * VarNode constructor
      * 
      * @param id the name of var
+     * @param symbol the ID of id (see SymbolTable.getSymbols())
      * @param line the line number
      */
     public VarNode(String id,
+                   int symbol,
                    int line){
         super(line);
         this.id = id;
+        this.symbol = symbol;
     }
     
     /**
@@ -67,11 +75,12 @@ public class VarNode extends ChainNode {
         throws SemanticSentenceException {
         
         this.self = self;
+        this.local = null;
         Type type = null;
         
         // Only attributes
         if (self){
-            type = table.getTypeAtt(className, id);
+            type = table.getTypeAtt(className, symbol);
             if (type == null){
                 throwException(id + ", attribute, not declared",
                                getLine());
@@ -79,7 +88,16 @@ public class VarNode extends ChainNode {
         }
         // Variables, paremeters and attributes
         else{
-            type = table.getTypeVar(className, methodName, id);
+            MethodStruct method = table.getMethod(className, methodName);
+            int slot = method.getSlot(symbol);
+            if (slot != -1){
+                local = method.getLocal(slot);
+                parameter = method.isParameterSlot(slot);
+                type = local.getType();
+            }
+            else{
+                type = table.getTypeAtt(className, symbol);
+            }
             if (type == null){
                 throwException(id + ", variable or attribute, not declared",
                                getLine());
@@ -89,6 +107,11 @@ public class VarNode extends ChainNode {
         this.setType(type);
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitVar(this, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -104,44 +127,44 @@ public class VarNode extends ChainNode {
      * Precondition: get code from right side on assignment first
      */
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         // Type of id (currentMethod, currentClass)
-        Type type = table.getTypeVar(id);
+        Type type = local == null ? null : local.getType();
         
         if (self){
-            getCodeObject("");
-            CodeGenerator.putData();
+            getCodeObject(code, "");
+            code.putData();
         }
         else{
             // Name and position of variable
             int offset;
             
             // It is parameter
-            if (table.isParameter(id)){
+            if (local != null && parameter){
                 // Offset calc
-                offset = 4*(table.getVariablesCant() 
-                         + table.getParametersCant() 
-                         - table.getParameterPosition(id));
+                offset = 4*(code.getVariablesCant() 
+                         + code.getParametersCant() 
+                         - local.getPosition());
                 
-                if (type.strongComparison("Int", "Bool", "Char")){
-                    body.append("\tmove $s0, $t0\n");
-                    body.append("\tsw $s0, ").append(offset).append("($sp)\n");
+                if (type.isPrimitive()){
+                    code.body.append("\tmove $s0, $t0\n");
+                    code.body.append("\tsw $s0, ").append(offset).append("($sp)\n");
                 }
                 else{
-                    getCodeObject(offset, table.getNameCurrentMethod() + "_");
+                    getCodeObject(code, offset, code.getMethodName() + "_");
                 }
             }
 
             // It is local variable
-            else if (table.isVariable(id)){
-                offset = 4*(table.getVariablesCant()-table.getVariablePosition(id));
+            else if (local != null){
+                offset = 4*(code.getVariablesCant()-local.getPosition());
                 
-                if (type.strongComparison("Int", "Bool", "Char")){
-                    body.append("\tmove $s0, $t0\n");
-                    body.append("\tsw $s0, ").append(offset).append("($sp)\n");
+                if (type.isPrimitive()){
+                    code.body.append("\tmove $s0, $t0\n");
+                    code.body.append("\tsw $s0, ").append(offset).append("($sp)\n");
                 }
                 else{
-                    getCodeObject(offset, table.getNameCurrentMethod() + "_");
+                    getCodeObject(code, offset, code.getMethodName() + "_");
                 }
             }
 
@@ -151,69 +174,69 @@ public class VarNode extends ChainNode {
                 // la parte derecha de la asignacion
                 // Los comentarios de arriba no estan contemplados en el codigo 
                 // puesto aqui abajo
-                getCodeObject("");
-                CodeGenerator.putData();
+                getCodeObject(code, "");
+                code.putData();
             }
         }
         
     }
     
     @Deprecated
-    private void getCodeStringVarNode(int offset, String at){
+    private void getCodeStringVarNode(CodeContext code, int offset, String at){
         // Label for .data
-        labelD.append(table.getNameCurrentClass()).append('_');
-        labelD.append(table.getNameCurrentMethod()).append('_').append(id);
-        labelD.append("_CIR").append(at);
+        code.labelD.append(code.getClassName()).append('_');
+        code.labelD.append(code.getMethodName()).append('_').append(id);
+        code.labelD.append("_CIR").append(at);
         
         // bodyD contains the literal string and ":\n"
-        bodyD.insert(0, labelD);
-        bodyD.append("\t.word String_vtable\n");
+        code.bodyD.insert(0, code.labelD);
+        code.bodyD.append("\t.word String_vtable\n");
         
         // Code for save string in stack
-        body.append("\tlw $s0, ").append(labelD).append('\n');
-        body.append("\tsw $s0, ").append(offset).append("($sp)\n");
-        CodeGenerator.putData();
+        code.body.append("\tlw $s0, ").append(code.labelD).append('\n');
+        code.body.append("\tsw $s0, ").append(offset).append("($sp)\n");
+        code.putData();
     }
     
-    private void getCodeObject(String method){
+    private void getCodeObject(CodeContext code, String method){
         
         // Name of class object to create
-        String classObject = CodeGenerator.temp.toString();
-        CodeGenerator.temp.setLength(0);
+        String classObject = code.temp.toString();
+        code.temp.setLength(0);
         
         // Label for .data
-        labelD.append(table.getNameCurrentClass()).append('_');
-        labelD.append(method).append(id).append("_CIR");
+        code.labelD.append(code.getClassName()).append('_');
+        code.labelD.append(method).append(id).append("_CIR");
         
         // ??? see getCodeStringVarNode
-        bodyD.insert(0, labelD);
+        code.bodyD.insert(0, code.labelD);
         
         // No vtables for Char, Int, Bool 
         if (method.equals("")){
-            bodyD.append("\t.word ");
+            code.bodyD.append("\t.word ");
             switch (classObject){
                 case "Int":
-                    bodyD.append("0\n");
+                    code.bodyD.append("0\n");
                     break;
                 case "Bool":
-                    bodyD.append("1\n");
+                    code.bodyD.append("1\n");
                     break;
                 case "Char":
-                    bodyD.append("0\n");
+                    code.bodyD.append("0\n");
                     break;
             }
-            body.append("\tla $t1, ").append(table.getNameCurrentClass());
-            body.append('_').append(id).append("_CIR\n");
-            body.append("\tsw $t0, ($t1)\n");
+            code.body.append("\tla $t1, ").append(code.getClassName());
+            code.body.append('_').append(id).append("_CIR\n");
+            code.body.append("\tsw $t0, ($t1)\n");
         }
         else{
-            bodyD.append("\t.word ").append(classObject).append("_vtable\n");
+            code.bodyD.append("\t.word ").append(classObject).append("_vtable\n");
         }
         
         Type type;
         
         // Creates body (from attributes) of label (.data) 
-        for (AttributeStruct a: table.getAttributesList(classObject)){
+        for (AttributeStruct a: code.getAttributes(classObject)){
             type = a.getType();
             
             if (type.isArray()){
@@ -221,35 +244,35 @@ public class VarNode extends ChainNode {
                 System.out.println("Not");
             }
             else{
-                if (type.strongComparison("Int")){
-                    bodyD.append("\t.word 0\n");
+                if (type.strongComparison(Type.INT)){
+                    code.bodyD.append("\t.word 0\n");
                 }
-                else if (type.strongComparison("Bool")){
-                    bodyD.append("\t.word 1\n");
+                else if (type.strongComparison(Type.BOOL)){
+                    code.bodyD.append("\t.word 1\n");
                 }
-                else if (type.strongComparison("Char")){
-                    bodyD.append("\t.word $zero\n");
+                else if (type.strongComparison(Type.CHAR)){
+                    code.bodyD.append("\t.word $zero\n");
                 }
-                else if (type.strongComparison("String")){
-                    bodyD.append("\t.asciiz \"\"\n");
-                    bodyD.append("\t.word String_vtable\n");
+                else if (type.strongComparison(Type.STRING)){
+                    code.bodyD.append("\t.asciiz \"\"\n");
+                    code.bodyD.append("\t.word String_vtable\n");
                 }
                 else{
-                    bodyD.append("\t.word ").append(classObject).append('_');
-                    bodyD.append(method).append(a.getId()).append("_CIR\n");
+                    code.bodyD.append("\t.word ").append(classObject).append('_');
+                    code.bodyD.append(method).append(a.getId()).append("_CIR\n");
                     // tengo que crear una etiqueta para esto
                 }
             }
         }
     }
     
-    private void getCodeObject(int offset, String method){
+    private void getCodeObject(CodeContext code, int offset, String method){
         
-        getCodeObject(method);
+        getCodeObject(code, method);
         
         // Code for save object in stack
-        body.append("\tlw $s0, ").append(labelD).append('\n');
-        body.append("\tsw $s0, ").append(offset).append("($sp)\n");
-        CodeGenerator.putData();
+        code.body.append("\tlw $s0, ").append(code.labelD).append('\n');
+        code.body.append("\tsw $s0, ").append(offset).append("($sp)\n");
+        code.putData();
     }
 }
\ No newline at end of file
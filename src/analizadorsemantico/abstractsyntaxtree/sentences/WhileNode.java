@@ -2,8 +2,11 @@ package analizadorsemantico.abstractsyntaxtree.sentences;
 
 import analizadorsemantico.SemanticSentenceException;
 import analizadorsemantico.abstractsyntaxtree.Node;
+import analizadorsemantico.abstractsyntaxtree.NodeVisitor;
 import analizadorsemantico.abstractsyntaxtree.expressions.ExpressionNode;
 import analizadorsemantico.symboltable.SymbolTable;
+import analizadorsemantico.symboltable.Type;
+import codegeneration.CodeContext;
 import parser.json.JSONObject;
 
 /**
@@ -48,7 +51,7 @@ public class WhileNode extends Node {
         // Check expression
         expNode.check(table, className, methodName);
         
-        if (!expNode.getType().strongComparison("Bool")){
+        if (!expNode.getType().strongComparison(Type.BOOL)){
             throwException("Expression on while sentence must be Bool but it is "
                            + expNode.getType().toStringIfArray(), 
                            expNode.getLine()); // arreglar numero de liena
@@ -60,6 +63,17 @@ public class WhileNode extends Node {
         }
     }
     
+    @Override
+    public <C> void accept(NodeVisitor<C> visitor, C context){
+        visitor.visitWhile(this, context);
+    }
+    
+    @Override
+    public <C> void visitChildren(NodeVisitor<C> visitor, C context){
+        expNode.accept(visitor, context);
+        sentNode.accept(visitor, context);
+    }
+    
     @Override
     public JSONObject toJSON(){
         JSONObject json = new JSONObject();
@@ -72,7 +86,7 @@ public class WhileNode extends Node {
     }
     
     @Override
-    public void getCode(){
+    public void getCode(CodeContext code){
         
     }
 }
\ No newline at end of file
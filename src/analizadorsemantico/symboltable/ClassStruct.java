@@ -16,9 +16,24 @@ public class ClassStruct extends Struct {
     private HashMap<String, MethodStruct> methods;
     // Attributes in the class
     private HashMap<String, AttributeStruct> attributes;
+    // Own members by ID of name (see Symbols)
+    private final SymbolMap<MethodStruct> methodsBySymbol = new SymbolMap<>();
+    private final SymbolMap<AttributeStruct> attributesBySymbol = new SymbolMap<>();
+    // Own and inherited members, built by the first use after link()
+    private boolean linked = false;
+    private volatile HashMap<String, MethodStruct> linkedMethods;
+    private volatile HashMap<String, AttributeStruct> linkedAttributes;
     
     private boolean existsConstructor = false;
     
+    // Interval in the inheritance tree, numbered by consolidation()
+    private int preorder = 0;
+    private int postorder = 0;
+    
+    // Own and inherited members by slot and offset, built by consolidation()
+    // (the lookups by name use it for the inherited members)
+    private MemberTable members = MemberTable.EMPTY;
+    
     /**
      * Constructor for ClassStruct
      * 
@@ -39,6 +54,30 @@ public class ClassStruct extends Struct {
         attributes = new HashMap();
     }
     
+    /**
+     * Copy of a class struct, with the same members
+     * 
+     * @param other the class struct to copy
+     */
+    public ClassStruct(ClassStruct other){
+        
+        this(other.getId(),
+             other.getType(),
+             other.getPosition(),
+             other.getRow(),
+             other.getCol());
+        setSymbol(other.getSymbol());
+        existsConstructor = other.existsConstructor;
+        // One by one: same order of iteration as the original tables
+        // (putAll() can make a bigger table)
+        for (MethodStruct e: other.methods.values()){
+            addMethod(e);
+        }
+        for (AttributeStruct e: other.attributes.values()){
+            addAttribute(e);
+        }
+    }
+    
     /**
      * Add method to list of methods
      * 
@@ -46,6 +85,7 @@ public class ClassStruct extends Struct {
      */
     public void addMethod(MethodStruct method){
         methods.put(method.getId(), method);
+        methodsBySymbol.put(method.getSymbol(), method);
     }
     
     /**
@@ -55,6 +95,7 @@ public class ClassStruct extends Struct {
      */
     public void addAttribute(AttributeStruct attribute){
         attributes.put(attribute.getId(), attribute);
+        attributesBySymbol.put(attribute.getSymbol(), attribute);
     }
     
     /**
@@ -64,7 +105,7 @@ public class ClassStruct extends Struct {
      * @return true if it exists
      */
     public boolean existsMethod(String methodName){
-        return methods.containsKey(methodName);
+        return getMethod(methodName) != null;
     }
     
     /**
@@ -74,7 +115,7 @@ public class ClassStruct extends Struct {
      * @return true if it exists
      */
     public boolean existsAttribute(String attribute){
-        return attributes.containsKey(attribute);
+        return getAttribute(attribute) != null;
     }
     
     /**
@@ -87,7 +128,7 @@ public class ClassStruct extends Struct {
     public boolean existsLocal(String method,
                                String local){
         
-        return methods.get(method).existsLocal(local);
+        return getMethod(method).existsLocal(local);
     }
     
     /**
@@ -99,22 +140,117 @@ public class ClassStruct extends Struct {
         return this.getType().toString();
     }
     
+    /**
+     * Sets the interval of class in the inheritance tree: the preorder and
+     * postorder numbers of a depth-first traversal from Object
+     * 
+     * @param preorder the number when the class is entered
+     * @param postorder the number when all its subclasses were numbered
+     */
+    public void setHierarchy(int preorder, int postorder){
+        this.preorder = preorder;
+        this.postorder = postorder;
+    }
+    
+    /**
+     * @return the number of class in the traversal of inheritance tree
+     */
+    int getPreorder(){
+        return preorder;
+    }
+    
+    /**
+     * Checks that this class inherits from other (directly or not): its
+     * interval is inside the interval of the other class
+     * 
+     * @param superClass the potential superclass
+     * @return true if this class is a subclass of superClass
+     */
+    public boolean inherits(ClassStruct superClass){
+        return superClass.preorder < preorder && postorder < superClass.postorder;
+    }
+    
+    /**
+     * Sets the flattened members of class (see SymbolTable.consolidation())
+     * 
+     * @param members the table of own and inherited members
+     */
+    public void setMembers(MemberTable members){
+        this.members = members;
+    }
+    
+    /**
+     * Gets the flattened members of class: vtable slots and offsets of
+     * attributes, with the inherited members
+     * 
+     * @return the table of members
+     */
+    public MemberTable getMembers(){
+        return members;
+    }
+    
+    /**
+     * Marks the class as linked (after consolidation): from now on
+     * getHashMapAttributes() and getHashMapMethods() also return the
+     * inherited members that it can use (see getMembers()). These maps
+     * are built lazily by their first call, an own method is not replaced
+     * by the overriden one
+     */
+    public void link(){
+        linked = true;
+    }
+    
     /**
      * Gets list of attributes
      * 
-     * @return the attributes HashMap
+     * @return the attributes HashMap (with the inherited ones if linked)
      */
     public HashMap<String, AttributeStruct> getHashMapAttributes(){
-        return attributes;
+        
+        if (!linked){
+            return attributes;
+        }
+        HashMap<String, AttributeStruct> all = linkedAttributes;
+        if (all == null){
+            // Same order of iteration as adding them one by one
+            all = new HashMap<>();
+            for (AttributeStruct e: attributes.values()){
+                all.put(e.getId(), e);
+            }
+            for (int offset = 0; offset < members.sizeAttributes(); offset++){
+                if (members.isVisible(offset)){
+                    all.put(members.getAttribute(offset).getId(),
+                            members.getAttribute(offset));
+                }
+            }
+            linkedAttributes = all;
+        }
+        return all;
     }
     
     /**
      * Gets list of methods
      * 
-     * @return the methods HashMap
+     * @return the methods HashMap (with the inherited ones if linked)
      */
     public HashMap<String, MethodStruct> getHashMapMethods(){
-        return methods;
+        
+        if (!linked){
+            return methods;
+        }
+        HashMap<String, MethodStruct> all = linkedMethods;
+        if (all == null){
+            all = new HashMap<>();
+            for (MethodStruct e: methods.values()){
+                all.put(e.getId(), e);
+            }
+            for (int slot = 0; slot < members.sizeMethods(); slot++){
+                all.putIfAbsent(members.getMethod(slot).getId(),
+                                members.getMethod(slot));
+            }
+            linkedMethods = all;
+        }
+        return all;
     }
     
     /**
@@ -123,7 +259,7 @@ public class ClassStruct extends Struct {
      * @return the attributes Collection<AttributeStruct>
      */
     public Collection<AttributeStruct> getAttributes(){
-        return attributes.values();
+        return getHashMapAttributes().values();
     }
     
     /**
@@ -132,7 +268,7 @@ public class ClassStruct extends Struct {
      * @return the methods Collection<MethodStruct>
      */
     public Collection<MethodStruct> getMethods(){
-        return methods.values();
+        return getHashMapMethods().values();
     }
     
     @Override
@@ -144,8 +280,8 @@ public class ClassStruct extends Struct {
         JSONObject theClass = new JSONObject();
         
         // Values in HashMap
-        Collection<MethodStruct> methodValues = this.methods.values();
-        Collection<AttributeStruct> attributeValues = this.attributes.values();
+        Collection<MethodStruct> methodValues = getMethods();
+        Collection<AttributeStruct> attributeValues = getAttributes();
         
         // Saving
         theClass.put("nombre", this.getId());
@@ -174,18 +310,15 @@ public class ClassStruct extends Struct {
      * @return the type of method
      */
     public Type getMethodType(String method){
-        return methods.get(method).getType();
+        return getMethod(method).getType();
     }
     
     public Type getTypeVar(String method,
                            String id){
         
-        Type type = methods.get(method).getTypeVar(id);
+        Type type = getMethod(method).getTypeVar(id);
         if (type == null){
-            AttributeStruct att = attributes.get(id);
-            if (att != null){
-                type = att.getType();
-            }
+            type = getTypeAtt(id);
         }
         
         return type;
@@ -193,20 +326,61 @@ public class ClassStruct extends Struct {
     
     public Type getTypeLocal(String method,
                              String id){
-        Type type = methods.get(method).getTypeVar(id);
+        Type type = getMethod(method).getTypeVar(id);
         return type;
     }
     
     public Type getTypeAtt(String id){
         
         Type type = null;
-        AttributeStruct att = attributes.get(id);
+        AttributeStruct att = getAttribute(id);
         if (att != null){
             type = att.getType();
         }
         return type;
     }
     
+    /**
+     * @param symbol the ID of name of attribute (see Symbols)
+     * @return the type of attribute, null if it does not exist
+     */
+    public Type getTypeAtt(int symbol){
+        AttributeStruct att = getAttribute(symbol);
+        return att != null ? att.getType() : null;
+    }
+    
+    /**
+     * Returns an own attribute or an inherited one (not private)
+     * 
+     * @param name the name of attribute
+     * @return the attribute, null if it does not exist
+     */
+    public AttributeStruct getAttribute(String name){
+        
+        AttributeStruct att = attributes.get(name);
+        if (att == null){
+            int offset = members.getOffset(name);
+            att = offset != -1 ? members.getAttribute(offset) : null;
+        }
+        return att;
+    }
+    
+    /**
+     * Returns an own attribute or an inherited one (not private)
+     * 
+     * @param symbol the ID of name of attribute (see Symbols)
+     * @return the attribute, null if it does not exist
+     */
+    public AttributeStruct getAttribute(int symbol){
+        
+        AttributeStruct att = attributesBySymbol.get(symbol);
+        if (att == null){
+            int offset = members.getOffset(symbol);
+            att = offset != -1 ? members.getAttribute(offset) : null;
+        }
+        return att;
+    }
+    
     /**
      * Gets list of parameters on method
      * 
@@ -214,10 +388,38 @@ public class ClassStruct extends Struct {
      * @return the variables Collection
      */
     public Collection<LocalStruct> getParameters(String methodName){
-        return methods.get(methodName).getParameters();
+        return getMethod(methodName).getParameters();
     }
     
+    /**
+     * Returns an own method or an inherited one (see getMembers())
+     * 
+     * @param name the name of method
+     * @return the method, null if it does not exist
+     */
     public MethodStruct getMethod(String name){
-        return methods.get(name);
+        
+        MethodStruct method = methods.get(name);
+        if (method == null){
+            int slot = members.getSlot(name);
+            method = slot != -1 ? members.getMethod(slot) : null;
+        }
+        return method;
+    }
+    
+    /**
+     * Returns an own method or an inherited one (see getMembers())
+     * 
+     * @param symbol the ID of name of method (see Symbols)
+     * @return the method, null if it does not exist
+     */
+    public MethodStruct getMethod(int symbol){
+        
+        MethodStruct method = methodsBySymbol.get(symbol);
+        if (method == null){
+            int slot = members.getSlot(symbol);
+            method = slot != -1 ? members.getMethod(slot) : null;
+        }
+        return method;
     }
 }
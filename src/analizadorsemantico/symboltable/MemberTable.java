@@ -0,0 +1,335 @@
+package analizadorsemantico.symboltable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Flattened members of a class: its own members and all the inherited ones
+ * (directly or not), built once by SymbolTable.consolidation() from the
+ * table of the superclass, so no lookup walks the hierarchy.
+ * Immutable:
+ *      methods by vtable slot: the slots of the superclass first (an
+ *      overriden method keeps the slot), then the new methods. Only the
+ *      dynamic methods (not static, not init) are in the vtable
+ *      attributes by offset in the object: the attributes of the
+ *      superclass first (also the private ones), then the own attributes
+ * The lookups by name use the classes that declared every name, indexed by
+ * the ID of name (see Symbols) and shared by the tables of a program, and
+ * the intervals of the inheritance tree (see ClassStruct.inherits())
+ * 
+ * @author emiliano
+ */
+public final class MemberTable {
+    
+    // Order of declaration of the own members
+    private static final Comparator<Struct> DECLARATION =
+            Comparator.comparingInt(Struct::getPosition)
+                      .thenComparingInt(Struct::getRow)
+                      .thenComparingInt(Struct::getCol);
+    
+    // Table without members (superclass of Object)
+    static final MemberTable EMPTY = new MemberTable();
+    
+    /**
+     * Class that declared a member (a new method in the vtable or an
+     * attribute) and its slot or offset
+     */
+    private static final class Declaration {
+        
+        private final ClassStruct clss;
+        private final int index;
+        private final boolean isPrivate;
+        
+        private Declaration(ClassStruct clss,
+                            int index,
+                            boolean isPrivate){
+            this.clss = clss;
+            this.index = index;
+            this.isPrivate = isPrivate;
+        }
+    }
+    
+    /**
+     * Declarations of the names of a program by ID of name, in preorder of
+     * classes
+     */
+    private static final class Index {
+        
+        // Names of program (null in the index of EMPTY)
+        private final Symbols symbols;
+        private final ArrayList<ArrayList<Declaration>> methods = new ArrayList<>();
+        private final ArrayList<ArrayList<Declaration>> attributes = new ArrayList<>();
+        
+        private Index(Symbols symbols){
+            this.symbols = symbols;
+        }
+        
+        private static void add(ArrayList<ArrayList<Declaration>> names,
+                                int symbol,
+                                Declaration declaration){
+            while (names.size() <= symbol){
+                names.add(null);
+            }
+            if (names.get(symbol) == null){
+                names.set(symbol, new ArrayList<>());
+            }
+            names.get(symbol).add(declaration);
+        }
+        
+        private static ArrayList<Declaration> get(ArrayList<ArrayList<Declaration>> names,
+                                                  int symbol){
+            return symbol >= 0 && symbol < names.size() ? names.get(symbol) : null;
+        }
+        
+        private int lookup(String name){
+            return symbols != null ? symbols.lookup(name) : -1;
+        }
+    }
+    
+    // The class (null in EMPTY) and the declarations of its program
+    private final ClassStruct clss;
+    private final Index index;
+    // Methods by slot and the class that defines them (label of method)
+    private final MethodStruct[] methods;
+    private final String[] owners;
+    // Attributes by offset, the own ones from ownAttributes
+    private final AttributeStruct[] attributes;
+    private final int ownAttributes;
+    
+    private MemberTable(){
+        clss = null;
+        index = new Index(null);
+        methods = new MethodStruct[0];
+        owners = new String[0];
+        attributes = new AttributeStruct[0];
+        ownAttributes = 0;
+    }
+    
+    /**
+     * Builds the table of a class with only its own members in the
+     * HashMaps (before linking the inherited ones)
+     * 
+     * @param superClass the table of superclass
+     * @param clss the class
+     * @param index the declarations of the classes already built
+     */
+    private MemberTable(MemberTable superClass,
+                        ClassStruct clss,
+                        Index index){
+        
+        this.clss = clss;
+        this.index = index;
+        
+        // Methods: slots of superclass, then the new ones (the same
+        // arrays if there are not new ones: they are not changed)
+        ArrayList<MethodStruct> own = new ArrayList<>();
+        for (MethodStruct m: clss.getMethods()){
+            if (!m.isStatic() && !m.getId().equals("init")){
+                own.add(m);
+            }
+        }
+        if (own.isEmpty()){
+            methods = superClass.methods;
+            owners = superClass.owners;
+        }
+        else{
+            own.sort(DECLARATION);
+            int size = superClass.methods.length;
+            MethodStruct[] methods = Arrays.copyOf(superClass.methods, size + own.size());
+            String[] owners = Arrays.copyOf(superClass.owners, methods.length);
+            
+            for (MethodStruct m: own){
+                // Overriden: slot of the superclass that added it
+                int slot = superClass.getSlot(m.getSymbol());
+                if (slot == -1){
+                    slot = size++;
+                    Index.add(index.methods, m.getSymbol(), new Declaration(clss, slot, false));
+                }
+                methods[slot] = m;
+                owners[slot] = clss.getId();
+            }
+            this.methods = size == methods.length ? methods : Arrays.copyOf(methods, size);
+            this.owners = size == owners.length ? owners : Arrays.copyOf(owners, size);
+        }
+        
+        // Attributes: offsets of superclass, then the own ones
+        ownAttributes = superClass.attributes.length;
+        if (clss.getAttributes().isEmpty()){
+            attributes = superClass.attributes;
+        }
+        else{
+            ArrayList<AttributeStruct> declared = new ArrayList<>(clss.getAttributes());
+            declared.sort(DECLARATION);
+            
+            int size = ownAttributes;
+            attributes = Arrays.copyOf(superClass.attributes, size + declared.size());
+            for (AttributeStruct a: declared){
+                Index.add(index.attributes, a.getSymbol(), new Declaration(clss, size, a.isPrivate()));
+                attributes[size++] = a;
+            }
+        }
+    }
+    
+    /**
+     * Builds the tables of all the classes (see ClassStruct.setMembers()),
+     * with only the own members in the HashMaps of classes and with the
+     * intervals of the inheritance tree already numbered
+     * 
+     * @param preorder the classes, superclasses before subclasses
+     * @param classes the classes by name
+     * @param symbols the names of program
+     */
+    static void build(List<ClassStruct> preorder,
+                      HashMap<String, ClassStruct> classes,
+                      Symbols symbols){
+        
+        Index index = new Index(symbols);
+        for (ClassStruct e: preorder){
+            MemberTable inherited = e.getId().equals("Object") ?
+                                    EMPTY :
+                                    classes.get(e.getSuperClass()).getMembers();
+            e.setMembers(new MemberTable(inherited, e, index));
+        }
+    }
+    
+    /**
+     * Finds the declaration of a name visible in this class: the last one
+     * (in preorder) of this class or a superclass
+     * 
+     * @param declarations the declarations of name, in preorder
+     * @param nested true if they can be nested (attributes: private ones
+     *        of superclasses with the same name)
+     * @return the declaration, or null
+     */
+    private Declaration find(ArrayList<Declaration> declarations,
+                             boolean nested){
+        
+        if (declarations == null || clss == null){
+            return null;
+        }
+        // Last declaration in a class before this one (preorder)
+        int low = 0;
+        int high = declarations.size();
+        while (low < high){
+            int mid = (low + high) >>> 1;
+            if (declarations.get(mid).clss.getPreorder() <= clss.getPreorder()){
+                low = mid + 1;
+            }
+            else{
+                high = mid;
+            }
+        }
+        
+        for (int i = low - 1; i >= 0; i--){
+            Declaration e = declarations.get(i);
+            if (e.clss == clss || (clss.inherits(e.clss) && !e.isPrivate)){
+                return e;
+            }
+            // New methods are never nested: an overriden one is not added
+            if (!nested){
+                break;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * @return the number of slots of vtable
+     */
+    public int sizeMethods(){
+        return methods.length;
+    }
+    
+    /**
+     * @return the number of attributes in the object
+     */
+    public int sizeAttributes(){
+        return attributes.length;
+    }
+    
+    /**
+     * Returns the method of a slot
+     * 
+     * @param slot the slot of vtable
+     * @return the method
+     */
+    public MethodStruct getMethod(int slot){
+        return methods[slot];
+    }
+    
+    /**
+     * Returns the class that defines the method of a slot
+     * 
+     * @param slot the slot of vtable
+     * @return the name of class (prefix of label of method)
+     */
+    public String getOwner(int slot){
+        return owners[slot];
+    }
+    
+    /**
+     * Returns the attribute of an offset
+     * 
+     * @param offset the offset in the object
+     * @return the attribute
+     */
+    public AttributeStruct getAttribute(int offset){
+        return attributes[offset];
+    }
+    
+    /**
+     * Checks that the attribute of an offset can be used in this class:
+     * an own attribute or an inherited attribute not private
+     * 
+     * @param offset the offset in the object
+     * @return true if it is visible
+     */
+    public boolean isVisible(int offset){
+        return offset >= ownAttributes || !attributes[offset].isPrivate();
+    }
+    
+    /**
+     * Returns the slot of a method
+     * 
+     * @param method the name of method
+     * @return the slot of vtable, -1 if it is not a dynamic method
+     */
+    public int getSlot(String method){
+        return getSlot(index.lookup(method));
+    }
+    
+    /**
+     * Returns the slot of a method
+     * 
+     * @param symbol the ID of name of method (see Symbols)
+     * @return the slot of vtable, -1 if it is not a dynamic method
+     */
+    public int getSlot(int symbol){
+        Declaration e = find(Index.get(index.methods, symbol), false);
+        return e != null ? e.index : -1;
+    }
+    
+    /**
+     * Returns the offset of an attribute
+     * 
+     * @param attribute the name of attribute
+     * @return the offset in the object, -1 if it is not visible
+     */
+    public int getOffset(String attribute){
+        return getOffset(index.lookup(attribute));
+    }
+    
+    /**
+     * Returns the offset of an attribute
+     * 
+     * @param symbol the ID of name of attribute (see Symbols)
+     * @return the offset in the object, -1 if it is not visible
+     */
+    public int getOffset(int symbol){
+        Declaration e = find(Index.get(index.attributes, symbol), true);
+        return e != null ? e.index : -1;
+    }
+}
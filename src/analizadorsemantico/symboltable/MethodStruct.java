@@ -1,5 +1,6 @@
 package analizadorsemantico.symboltable;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Collection;
@@ -15,6 +16,12 @@ public class MethodStruct extends Struct {
     private final boolean isStatic;
     private final LinkedHashMap<String, LocalStruct> parameters;
     private final HashMap<String, LocalStruct> variables;
+    // Parameters and variables by slot: parameters first (the header is
+    // parsed before the body), then variables, in order of declaration
+    private LocalStruct[] locals = new LocalStruct[4];
+    // Slots by ID of name (see Symbols)
+    private final SymbolMap<Integer> slots = new SymbolMap<>();
+    private int sizeLocals = 0;
     
     /**
      * Constructor for MethodStruct
@@ -55,6 +62,7 @@ public class MethodStruct extends Struct {
      */
     public void addParameter(LocalStruct parameter){
         parameters.put(parameter.getId(), parameter);
+        addSlot(parameter);
     }
     
     /**
@@ -64,6 +72,16 @@ public class MethodStruct extends Struct {
      */
     public void addVariable(LocalStruct variable){
         variables.put(variable.getId(), variable);
+        addSlot(variable);
+    }
+    
+    private void addSlot(LocalStruct local){
+        if (sizeLocals == locals.length){
+            locals = Arrays.copyOf(locals, 2 * sizeLocals);
+        }
+        slots.put(local.getSymbol(), sizeLocals);
+        locals[sizeLocals] = local;
+        sizeLocals++;
     }
     
     /**
@@ -205,6 +223,35 @@ public class MethodStruct extends Struct {
         return variables.get(id).getPosition();
     }
     
+    /**
+     * Returns the slot of a parameter or local variable
+     * 
+     * @param symbol the ID of name (see Symbols)
+     * @return the slot, or -1 if it is not declared in method
+     */
+    public int getSlot(int symbol){
+        Integer slot = slots.get(symbol);
+        return slot != null ? slot : -1;
+    }
+    
+    /**
+     * Returns the parameter or local variable of a slot
+     * 
+     * @param slot the slot (see getSlot())
+     * @return the struct of parameter or local variable
+     */
+    public LocalStruct getLocal(int slot){
+        return locals[slot];
+    }
+    
+    /**
+     * @param slot the slot (see getSlot())
+     * @return true if it is the slot of a parameter
+     */
+    public boolean isParameterSlot(int slot){
+        return slot < parameters.size();
+    }
+    
     public boolean isParameter(String local){
         return parameters.containsKey(local); 
     }
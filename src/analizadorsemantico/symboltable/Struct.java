@@ -11,6 +11,8 @@ public abstract class Struct {
     
     // Id: lexeme
     private String id;
+    // Id interned by the table that declared it (see Symbols), -1 before
+    private int symbol = -1;
     // Type
     private Type type;
     // Position for class, method, attribute, ...
@@ -62,7 +64,21 @@ public abstract class Struct {
     public void setId(String id) {
         this.id = id;
     }
-
+    
+    /**
+     * @return the ID of id in the symbols of its table (see Symbols)
+     */
+    public int getSymbol() {
+        return symbol;
+    }
+    
+    /**
+     * @param symbol the ID of id, given when it is declared
+     */
+    void setSymbol(int symbol) {
+        this.symbol = symbol;
+    }
+    
     /**
      * @return the type
      */
@@ -0,0 +1,78 @@
+package analizadorsemantico.symboltable;
+
+/**
+ * Structs of a table, a class or a method by the ID of their name (see
+ * Symbols). The IDs are dense, so the ID is the index in the array (modulo
+ * its size, the next slots if it is used): the names declared together
+ * have consecutive IDs and take consecutive slots. The array is at most
+ * half full. An array as big as the names of program would be too big
+ * for every class, method and table of fragment
+ * 
+ * @author emiliano
+ */
+final class SymbolMap<V> {
+    
+    // ID + 1 of every slot (0 if it is empty) and its struct
+    private int[] keys = new int[4];
+    private Object[] values = new Object[4];
+    private int size = 0;
+    
+    /**
+     * @param symbol the ID of name (-1 for an unknown name)
+     * @return the struct, or null if it is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    V get(int symbol){
+        
+        if (symbol < 0){
+            return null;
+        }
+        int mask = keys.length - 1;
+        for (int i = symbol & mask; keys[i] != 0; i = (i + 1) & mask){
+            if (keys[i] == symbol + 1){
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Adds a struct, or replaces the struct of the same ID
+     * 
+     * @param symbol the ID of name
+     * @param value the struct
+     */
+    void put(int symbol, V value){
+        
+        if (2 * (size + 1) > keys.length){
+            int[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new int[2 * oldKeys.length];
+            values = new Object[keys.length];
+            for (int i = 0; i < oldKeys.length; i++){
+                if (oldKeys[i] != 0){
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+        if (insert(symbol + 1, value)){
+            size++;
+        }
+    }
+    
+    /**
+     * @return true if the key is new
+     */
+    private boolean insert(int key, Object value){
+        
+        int mask = keys.length - 1;
+        int i = (key - 1) & mask;
+        while (keys[i] != 0 && keys[i] != key){
+            i = (i + 1) & mask;
+        }
+        boolean added = keys[i] == 0;
+        keys[i] = key;
+        values[i] = value;
+        return added;
+    }
+}
@@ -1,9 +1,15 @@
 package analizadorsemantico.symboltable;
 
 import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import parser.json.JSONArray;
 import parser.json.JSONObject;
 
@@ -22,8 +28,14 @@ public class SymbolTable {
     private MethodStruct currentMethod;
     // The list of classes
     private final HashMap<String, ClassStruct> classes;
+    // Classes by ID of name
+    private final SymbolMap<ClassStruct> classesBySymbol = new SymbolMap<>();
+    // Names of program, shared with the tables of its fragments
+    private final Symbols symbols;
     // The list of classes in Collection object
     private Collection<ClassStruct> classesLoaded;
+    // Table of one class parsed alone (without predefined classes)
+    private final boolean isFragment;
     
     // Counters
     private int numClass;
@@ -32,17 +44,72 @@ public class SymbolTable {
     private int numLocalVar;
     private int numParameter;
     
+    // Minimum number of classes to consolidate in parallel
+    static final int MIN_CLASSES = 256;
+    // Classes of a task of consolidation
+    private static final int CLASSES_BY_TASK = 32;
+    
     /**
      * Constructor for SymbolTable
      * 
      * @throws SemanticDeclarationException
      */
     public SymbolTable() 
+        throws SemanticDeclarationException {
+        this(new Symbols());
+    }
+    
+    /**
+     * Constructor for SymbolTable of a program whose classes were parsed
+     * apart (see fragment())
+     * 
+     * @param symbols the names of program
+     * @throws SemanticDeclarationException
+     */
+    public SymbolTable(Symbols symbols) 
         throws SemanticDeclarationException {
         classes = new HashMap();
+        isFragment = false;
+        this.symbols = symbols;
         addBase();
     }
     
+    private SymbolTable(boolean isFragment, Symbols symbols){
+        classes = new HashMap<>();
+        this.isFragment = isFragment;
+        this.symbols = symbols;
+    }
+    
+    /**
+     * Creates a table for one class parsed apart from the others.
+     * The checks that depend on other classes are made when the class is
+     * added to the table of program (see newClass(SymbolTable))
+     * 
+     * @param symbols the names of program (the same for all its classes)
+     * @return the table without predefined classes
+     */
+    public static SymbolTable fragment(Symbols symbols){
+        return new SymbolTable(true, symbols);
+    }
+    
+    /**
+     * @return the names of program (see Symbols)
+     */
+    public Symbols getSymbols(){
+        return symbols;
+    }
+    
+    /**
+     * Gives the ID of its name to a struct when it is declared
+     * 
+     * @param struct the new struct
+     * @return the struct
+     */
+    private <S extends Struct> S declare(S struct){
+        struct.setSymbol(symbols.intern(struct.getId()));
+        return struct;
+    }
+    
     private void throwException(String description,
                                 int row,
                                 int col)
@@ -70,65 +137,65 @@ public class SymbolTable {
         throws SemanticDeclarationException {
         
         // Object
-        newClass("Object", new Type("Object"), 0, 0);
+        newClass("Object", Type.OBJECT, 0, 0);
         addClassEntry();
         
         // IO
-        newClass("IO", new Type("Object"), 0, 0);
-        newMethod("out_string", new Type("void"), true, 0, 0);
-        addParameter("s", new Type("String"), 0, 0);
+        newClass("IO", Type.OBJECT, 0, 0);
+        newMethod("out_string", Type.VOID, true, 0, 0);
+        addParameter("s", Type.STRING, 0, 0);
         addMethodEntry();
-        newMethod("out_int", new Type("void"), true, 0, 0);
-        addParameter("i", new Type("Int"), 0, 0);
+        newMethod("out_int", Type.VOID, true, 0, 0);
+        addParameter("i", Type.INT, 0, 0);
         addMethodEntry();
-        newMethod("out_bool", new Type("void"), true, 0, 0);
-        addParameter("b", new Type("Bool"), 0, 0);
+        newMethod("out_bool", Type.VOID, true, 0, 0);
+        addParameter("b", Type.BOOL, 0, 0);
         addMethodEntry();
-        newMethod("out_char", new Type("void"), true, 0, 0);
-        addParameter("c", new Type("Char"), 0, 0);
+        newMethod("out_char", Type.VOID, true, 0, 0);
+        addParameter("c", Type.CHAR, 0, 0);
         addMethodEntry();
-        newMethod("out_array", new Type("void"), true, 0, 0);
-        addParameter("a", new Type("Array"), 0, 0);
+        newMethod("out_array", Type.VOID, true, 0, 0);
+        addParameter("a", Type.ARRAY, 0, 0);
         addMethodEntry();
-        newMethod("in_string", new Type("String"), true, 0, 0);
+        newMethod("in_string", Type.STRING, true, 0, 0);
         addMethodEntry();
-        newMethod("in_int", new Type("Int"), true, 0, 0);
+        newMethod("in_int", Type.INT, true, 0, 0);
         addMethodEntry();
-        newMethod("in_bool", new Type("Bool"), true, 0, 0);
+        newMethod("in_bool", Type.BOOL, true, 0, 0);
         addMethodEntry();
-        newMethod("in_char", new Type("Char"), true, 0, 0);
+        newMethod("in_char", Type.CHAR, true, 0, 0);
         addMethodEntry();
         addClassEntry();
         
         // Array
-        newClass("Array", new Type("Object"), 0, 0);
-        newMethod("length", new Type("Int"), false, 0, 0);
+        newClass("Array", Type.OBJECT, 0, 0);
+        newMethod("length", Type.INT, false, 0, 0);
         addMethodEntry();
         addClassEntry();
         
         // String
-        newClass("String", new Type("Object"), 0, 0);
-        newMethod("length", new Type("Int"), false, 0, 0);
+        newClass("String", Type.OBJECT, 0, 0);
+        newMethod("length", Type.INT, false, 0, 0);
         addMethodEntry();
-        newMethod("concat", new Type("String"), false, 0, 0);
-        addParameter("s", new Type("String"), 0,0);
+        newMethod("concat", Type.STRING, false, 0, 0);
+        addParameter("s", Type.STRING, 0,0);
         addMethodEntry();
-        newMethod("substr", new Type("String"), false, 0, 0);
-        addParameter("i", new Type("Int"), 0,0);
-        addParameter("l", new Type("Int"), 0,0);
+        newMethod("substr", Type.STRING, false, 0, 0);
+        addParameter("i", Type.INT, 0,0);
+        addParameter("l", Type.INT, 0,0);
         addMethodEntry();
         addClassEntry();
         
         // Bool
-        newClass("Bool", new Type("Object"), 0, 0);
+        newClass("Bool", Type.OBJECT, 0, 0);
         addClassEntry();
         
         // Char
-        newClass("Char", new Type("Object"), 0, 0);
+        newClass("Char", Type.OBJECT, 0, 0);
         addClassEntry();
         
         // Int
-        newClass("Int", new Type("Object"), 0, 0);
+        newClass("Int", Type.OBJECT, 0, 0);
         addClassEntry();
     }
     
@@ -147,31 +214,165 @@ public class SymbolTable {
                          int col)
         throws SemanticDeclarationException {
         
+        if (!isFragment){
+            checkClass(nameClass, superClass.toString(), row, col);
+        }
+        
+        currentClass = declare(new ClassStruct(nameClass, 
+                                               superClass, 
+                                               numClass,
+                                               row, 
+                                               col));
+        numClass += 1;
+    }
+    
+    /**
+     * Takes the class of a fragment as the new class struct, with the
+     * same checks of newClass(). Its position is the next one in this
+     * table; addClassEntry() adds it
+     * 
+     * @param fragment the table of the class (see fragment())
+     * @throws SemanticDeclarationException 
+     */
+    public void newClass(SymbolTable fragment)
+        throws SemanticDeclarationException {
+        
+        ClassStruct fragmentClass = fragment.currentClass;
+        checkClass(fragmentClass.getId(), 
+                   fragmentClass.getSuperClass(),
+                   fragmentClass.getRow(),
+                   fragmentClass.getCol());
+        
+        fragmentClass.setPosition(numClass);
+        currentClass = fragmentClass;
+        if (fragment.currentMethod != null){
+            currentMethod = fragment.currentMethod;
+        }
+        numClass += 1;
+    }
+    
+    /**
+     * Copy of a fragment: the class struct is new, with the same members,
+     * so consolidation() of a table with the copy does not change this
+     * fragment
+     * 
+     * @return the new table of the class (see fragment())
+     */
+    public SymbolTable copy(){
+        SymbolTable copy = new SymbolTable(true, symbols);
+        if (currentClass != null){
+            copy.currentClass = new ClassStruct(currentClass);
+        }
+        copy.currentMethod = currentMethod;
+        return copy;
+    }
+    
+    /**
+     * Creates a table to parse again the body of a method of a fragment:
+     * the method struct is new, with the same header and parameters and
+     * without local variables
+     * 
+     * @param methodName the name of method
+     * @return the table of body (see replaceMethod())
+     */
+    public SymbolTable methodBody(String methodName){
+        MethodStruct method = currentClass.getMethod(methodName);
+        SymbolTable body = new SymbolTable(true, symbols);
+        
+        body.currentClass = currentClass;
+        body.currentMethod = new MethodStruct(method.getId(),
+                                              method.getType(),
+                                              method.getPosition(),
+                                              method.getRow(),
+                                              method.getCol(),
+                                              method.isStatic());
+        body.currentMethod.setSymbol(method.getSymbol());
+        for (LocalStruct e: method.getParameters()){
+            body.currentMethod.addParameter(e);
+        }
+        body.numParameter = method.getSizeParameters();
+        return body;
+    }
+    
+    /**
+     * Copy of a fragment with the method of a body parsed again
+     * 
+     * @param body the table of body (see methodBody())
+     * @return the new table of the class (see fragment())
+     */
+    public SymbolTable replaceMethod(SymbolTable body){
+        SymbolTable copy = copy();
+        MethodStruct method = body.currentMethod;
+        
+        copy.currentClass.addMethod(method);
+        if (currentMethod != null &&
+            currentMethod.getId().equals(method.getId())){
+            copy.currentMethod = method;
+        }
+        return copy;
+    }
+    
+    /**
+     * Moves the lines of the class of a fragment, when an edit of file
+     * added or removed lines before them
+     * 
+     * @param fromLine the structs after this line are moved
+     * @param delta the lines added (negative if removed)
+     */
+    public void moveLines(int fromLine, int delta){
+        moveLine(currentClass, fromLine, delta);
+        for (AttributeStruct e: currentClass.getAttributes()){
+            moveLine(e, fromLine, delta);
+        }
+        for (MethodStruct e: currentClass.getMethods()){
+            moveLine(e, fromLine, delta);
+            for (LocalStruct local: e.getParameters()){
+                moveLine(local, fromLine, delta);
+            }
+            for (LocalStruct local: e.getVariables()){
+                moveLine(local, fromLine, delta);
+            }
+        }
+    }
+    
+    private static void moveLine(Struct struct, int fromLine, int delta){
+        if (struct.getRow() > fromLine){
+            struct.setRow(struct.getRow() + delta);
+        }
+    }
+    
+    /**
+     * Checks a new class against the classes of table
+     * 
+     * @param nameClass the name of class
+     * @param superClass the name of superclass
+     * @param row the line number in file
+     * @param col the column number in file
+     * @throws SemanticDeclarationException 
+     */
+    private void checkClass(String nameClass,
+                            String superClass,
+                            int row,
+                            int col)
+        throws SemanticDeclarationException {
+        
         if (existClassName(nameClass)){
             throwException("Repeated class name", row, col);
         }
         
-        if (circularInheritance(nameClass, superClass.toString())){
+        if (circularInheritance(nameClass, superClass)){
             throwException("Circular inheritance for " + nameClass +
-                           " and " + superClass.toString(),
+                           " and " + superClass,
                            row,
                            col);
         }
         
-        String notInh = inheritNotPermitted(superClass.toString());
+        String notInh = inheritNotPermitted(superClass);
         if (notInh != null){
             throwException(notInh + " class cannot be inherited",
                            row,
                            col);
         }
-        
-        
-        currentClass = new ClassStruct(nameClass, 
-                                       superClass, 
-                                       numClass,
-                                       row, 
-                                       col);
-        numClass += 1;
     }
     
     /**
@@ -245,6 +446,7 @@ public class SymbolTable {
         }*/
         
         classes.put(currentClass.getId(), currentClass);
+        classesBySymbol.put(currentClass.getSymbol(), currentClass);
         numAttribute = 0;
         numMethod = 0;
     }
@@ -279,12 +481,12 @@ public class SymbolTable {
                            row, col);
         }
         
-        currentMethod = new MethodStruct(methodName,
-                                         type,
-                                         numMethod,
-                                         row,
-                                         col,
-                                         isStatic);
+        currentMethod = declare(new MethodStruct(methodName,
+                                                 type,
+                                                 numMethod,
+                                                 row,
+                                                 col,
+                                                 isStatic));
         numMethod += 1;
     }
     
@@ -321,12 +523,12 @@ public class SymbolTable {
                            row, col);
         }
         
-        currentClass.addAttribute(new AttributeStruct(attributeName,
-                                                      type,
-                                                      numAttribute,
-                                                      row,
-                                                      col,
-                                                      isPrivate));
+        currentClass.addAttribute(declare(new AttributeStruct(attributeName,
+                                                              type,
+                                                              numAttribute,
+                                                              row,
+                                                              col,
+                                                              isPrivate)));
         numAttribute += 1;
     }
     
@@ -352,11 +554,11 @@ public class SymbolTable {
                            row, col);
         }
         
-        LocalStruct parameter = new LocalStruct(parameterName,
-                                                type,
-                                                numParameter,
-                                                row,
-                                                col);
+        LocalStruct parameter = declare(new LocalStruct(parameterName,
+                                                        type,
+                                                        numParameter,
+                                                        row,
+                                                        col));
         
         currentMethod.addParameter(parameter);
         numParameter += 1;
@@ -386,12 +588,12 @@ public class SymbolTable {
                            row, col);
         }
         
-        LocalStruct variable = new LocalStruct(variableName,
-                                               type,
-                                               numLocalVar,
-                                               row,
-                                               col,
-                                               value);
+        LocalStruct variable = declare(new LocalStruct(variableName,
+                                                       type,
+                                                       numLocalVar,
+                                                       row,
+                                                       col,
+                                                       value));
         currentMethod.addVariable(variable);
         numLocalVar += 1;
     }
@@ -406,7 +608,17 @@ public class SymbolTable {
     }
     
     /**
-     * Consolidates symbol table
+     * Consolidates symbol table in two phases:
+     *      hierarchy (sequential): superclasses, inheritance tree and
+     *      flattened members of classes (see MemberTable)
+     *      classes (in parallel for big programs, see forEachClass()):
+     *      constructors and declarations of members. Every class only
+     *      changes its own tables
+     * Then the classes are linked: the inherited members are in their
+     * tables (see ClassStruct.link())
+     * The error is always the earliest one in source of its phase
+     * After it the table is only read: the inference of types checks the
+     * methods in parallel (see AbstractSyntaxTree.inference())
      * 
      * @throws SemanticDeclarationException 
      */
@@ -414,52 +626,137 @@ public class SymbolTable {
         throws SemanticDeclarationException {
         
         classesLoaded = this.classes.values();
-        correctConstructors();
+        
+        // Hierarchy
         existSuperClasses();
-        attributesNames();
-        methodsBody();
+        MemberTable.build(hierarchy(), classes, symbols);
+        
+        // Classes: the constructors before the checks (they read the
+        // tables of superclasses)
+        List<ClassStruct> list = new ArrayList<>(classesLoaded);
+        SemanticDeclarationException error;
+        error = earliest(forEachClass(list, this::correctConstructor),
+                         forEachClass(list, this::checkMembers));
+        if (error != null){
+            throw error;
+        }
+        for (ClassStruct e: list){
+            e.link();
+        }
+    }
+    
+    /**
+     * A check or change of one class in consolidation()
+     */
+    private interface ClassPass {
         
+        void apply(ClassStruct clss)
+            throws SemanticDeclarationException;
+    }
+    
+    /**
+     * Applies a pass to every class, on the ForkJoin pool for big
+     * programs (the order does not change the result)
+     * 
+     * @param list the classes
+     * @param pass the pass, it only changes the tables of its class
+     * @return the earliest error in source, null if there is not any
+     */
+    private static SemanticDeclarationException forEachClass(List<ClassStruct> list,
+                                                             ClassPass pass){
+        
+        if (list.size() < MIN_CLASSES || ForkJoinPool.getCommonPoolParallelism() < 2){
+            return forEachClass(list, 0, list.size(), pass);
+        }
+        
+        List<ForkJoinTask<SemanticDeclarationException>> tasks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += CLASSES_BY_TASK){
+            int start = from;
+            int end = Math.min(from + CLASSES_BY_TASK, list.size());
+            tasks.add(ForkJoinTask.adapt(() -> forEachClass(list, start, end, pass)));
+        }
+        // Inside the pool, so this thread also checks classes
+        ForkJoinPool.commonPool().invoke(
+            ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        
+        SemanticDeclarationException error = null;
+        for (ForkJoinTask<SemanticDeclarationException> task: tasks){
+            error = earliest(error, task.join());
+        }
+        return error;
+    }
+    
+    private static SemanticDeclarationException forEachClass(List<ClassStruct> list,
+                                                             int from,
+                                                             int end,
+                                                             ClassPass pass){
+        
+        SemanticDeclarationException error = null;
+        for (int i = from; i < end; i++){
+            try{
+                pass.apply(list.get(i));
+            }
+            catch (SemanticDeclarationException e){
+                error = earliest(error, e);
+            }
+        }
+        return error;
+    }
+    
+    /**
+     * @param first an error (or null)
+     * @param second other error (or null)
+     * @return the error with the earliest row and column
+     */
+    private static SemanticDeclarationException earliest(SemanticDeclarationException first,
+                                                         SemanticDeclarationException second){
+        
+        if (first == null || second == null){
+            return first == null ? second : first;
+        }
+        if (second.getLine() < first.getLine()
+            || (second.getLine() == first.getLine()
+                && second.getColumn() < first.getColumn())){
+            return second;
+        }
+        return first;
     }
     
     /**
      * Check that the constructor is well defined
      * 
+     * @param e the class
      * @throws SemanticDeclarationException 
      */
-    private void correctConstructors()
+    private void correctConstructor(ClassStruct e)
         throws SemanticDeclarationException {
         
-        String name;
+        String name = e.getId();
         
-        for (ClassStruct e: classesLoaded){
+        // Not add init method to Int, Bool, Char and String (opc Array, Main)
+        if (!(name.equals("Int")
+            || name.equals("Bool")
+            || name.equals("Char")
+            || name.equals("String")
+            || name.equals("Main")
+            || name.equals("Array"))){
+            // Get constructor (method called init)
+            MethodStruct m = e.getHashMapMethods().get("init");
             
-            name = e.getId();
-            
-            // Not add init method to Int, Bool, Char and String (opc Array, Main)
-            if (!(name.equals("Int")
-                || name.equals("Bool")
-                || name.equals("Char")
-                || name.equals("String")
-                || name.equals("Main")
-                || name.equals("Array"))){
-                // Get constructor (method called init)
-                MethodStruct m = e.getHashMapMethods().get("init");
-
-                if (m != null){
-                    if (m.isStatic() || !m.getType().strongComparison(e.getId())){
-                        throwException("Wrong definition in constructor, "
-                                       + e.getId() + " class",
-                                       m.getRow(), m.getCol());
-                    }
-                }
-                // Add constructor
-                else {
-                    e.addMethod(new MethodStruct("init", 
-                                                 new Type(e.getId()), 
-                                                 0, 0, 0, 
-                                                 false));
+            if (m != null){
+                if (m.isStatic() || !m.getType().strongComparison(symbols.type(e.getId()))){
+                    throwException("Wrong definition in constructor, "
+                                   + e.getId() + " class",
+                                   m.getRow(), m.getCol());
                 }
             }
+            // Add constructor
+            else {
+                e.addMethod(declare(new MethodStruct("init", 
+                                                     symbols.type(e.getId()), 
+                                                     0, 0, 0, 
+                                                     false)));
+            }
         }
     }
     
@@ -471,174 +768,215 @@ public class SymbolTable {
     private void existSuperClasses()
         throws SemanticDeclarationException {
         
+        SemanticDeclarationException error = null;
         for (ClassStruct e: classesLoaded){
             
             if (!classes.containsKey(e.getSuperClass())){
-                throwException("Superclass " + e.getSuperClass() 
-                               + " not found for " + e.getId(),
-                               e.getRow(), e.getCol());
+                error = earliest(error,
+                                 new SemanticDeclarationException("Superclass " + e.getSuperClass() 
+                                                                  + " not found for " + e.getId(),
+                                                                  e.getRow(), e.getCol()));
             }
         }
+        if (error != null){
+            throw error;
+        }
     }
     
     /**
-     * Checks different names in attribute. Links the attributes tables
+     * Numbers the classes in a depth-first traversal of the inheritance
+     * tree from Object (see ClassStruct.setHierarchy()), so a subclass has
+     * its interval inside the interval of its superclasses.
+     * Iterative: the chains of inheritance can be very deep
      * 
-     * @throws SemanticDeclarationException 
+     * @return the classes in preorder (superclasses before subclasses)
      */
-    private void attributesNames()
-        throws SemanticDeclarationException {
-        
-        ClassStruct superClass;
-        HashMap<String, AttributeStruct> attributesInSuperClass;
+    private List<ClassStruct> hierarchy(){
         
+        // Subclasses of every class
+        HashMap<String, List<ClassStruct>> subclasses = new HashMap<>();
         for (ClassStruct e: classesLoaded){
+            if (!e.getId().equals("Object")){
+                subclasses.computeIfAbsent(e.getSuperClass(), k -> new ArrayList<>())
+                          .add(e);
+            }
+        }
+        
+        // Path from Object: class, its preorder and its next subclasses
+        ArrayDeque<ClassStruct> path = new ArrayDeque<>();
+        ArrayDeque<Integer> preorders = new ArrayDeque<>();
+        ArrayDeque<Iterator<ClassStruct>> next = new ArrayDeque<>();
+        int order = 0;
+        List<ClassStruct> preorder = new ArrayList<>(classes.size());
+        
+        ClassStruct current = classes.get("Object");
+        while (current != null){
+            preorder.add(current);
+            path.push(current);
+            preorders.push(order++);
+            next.push(subclasses.getOrDefault(current.getId(), Collections.emptyList())
+                                .iterator());
+            current = null;
             
-            // Superclass ClassStruct for e
-            superClass = this.classes.get(e.getSuperClass());
-            // Get HashMap that contains attributes
-            attributesInSuperClass = superClass.getHashMapAttributes();
-            
-            // Get all attributes in class
-            Collection<AttributeStruct> attributesSubClass = e.getAttributes();
-            
-            for (AttributeStruct a: attributesSubClass){
-                
-                // Check if type exists
-                if (!this.classes.containsKey(a.getType().toString())){
-                    throwException("Type of attribute " + a.getId()
-                                   + " not declared",
-                                   a.getRow(),
-                                   a.getCol());
+            while (current == null && !path.isEmpty()){
+                if (next.peek().hasNext()){
+                    current = next.peek().next();
                 }
-                
-                // Check if has different name
-                if (attributesInSuperClass.containsKey(a.getId())){
-                    throwException("Same name for attributes is not permitted "
-                                   + a.getId(),
-                                   a.getRow(),
-                                   a.getCol());
+                else{
+                    path.pop().setHierarchy(preorders.pop(), order++);
+                    next.pop();
                 }
             }
-            
-            // Add inherited attributes
-            for (AttributeStruct a: attributesInSuperClass.values()){
-                if (!a.isPrivate()){
-                    e.addAttribute(a);
-                }
+        }
+        
+        return preorder;
+    }
+    
+    /**
+     * Checks the attributes and methods of a class with the members of
+     * its superclass (see MemberTable). Only reads the tables
+     * 
+     * @param e the class
+     * @throws SemanticDeclarationException the earliest error of class
+     */
+    private void checkMembers(ClassStruct e)
+        throws SemanticDeclarationException {
+        
+        // Superclass ClassStruct for e
+        ClassStruct superClass = this.classes.get(e.getSuperClass());
+        SemanticDeclarationException error = null;
+        
+        for (AttributeStruct a: e.getAttributes()){
+            try{
+                attributeName(superClass, a);
+            }
+            catch (SemanticDeclarationException ex){
+                error = earliest(error, ex);
             }
         }
+        for (MethodStruct m: e.getMethods()){
+            try{
+                methodBody(superClass, m);
+            }
+            catch (SemanticDeclarationException ex){
+                error = earliest(error, ex);
+            }
+        }
+        if (error != null){
+            throw error;
+        }
     }
     
     /**
-     * Checks names, signatures, return, parameters and local variable types.
-     * Links the method tables to subclass
+     * Checks type and different name in attribute
      * 
+     * @param superClass the superclass of class of attribute
+     * @param a the attribute
      * @throws SemanticDeclarationException 
      */
-    private void methodsBody()
+    private void attributeName(ClassStruct superClass,
+                               AttributeStruct a)
         throws SemanticDeclarationException {
         
-        ClassStruct superClass;
-        HashMap<String, MethodStruct> methodsInSuperClass;
-        Collection<MethodStruct> methodsSubClass;
-        MethodStruct supMethod;
-        // Types of parameters
-        LinkedHashMap<String, LocalStruct> parametersTypes, paramSup;
-        // Types of local variables
-        Collection<LocalStruct> localVariables;
+        // Check if type exists
+        if (!this.classes.containsKey(a.getType().toString())){
+            throwException("Type of attribute " + a.getId()
+                           + " not declared",
+                           a.getRow(),
+                           a.getCol());
+        }
         
-        for (ClassStruct e: classesLoaded){
-            
-            // Superclass ClassStruct for e
-            superClass = this.classes.get(e.getSuperClass());
-            // Get HashMap that contains methods
-            methodsInSuperClass = superClass.getHashMapMethods();
+        // Check if has different name (own and inherited attributes)
+        if (superClass.getAttribute(a.getSymbol()) != null){
+            throwException("Same name for attributes is not permitted "
+                           + a.getId(),
+                           a.getRow(),
+                           a.getCol());
+        }
+    }
+    
+    /**
+     * Checks name, signature, return, parameters and local variable types
+     * of a method, in order of source
+     * 
+     * @param superClass the superclass of class of method
+     * @param m the method
+     * @throws SemanticDeclarationException 
+     */
+    private void methodBody(ClassStruct superClass,
+                            MethodStruct m)
+        throws SemanticDeclarationException {
+        
+        // Constructors can be "overriden" without restrictions
+        if (m.getId().equals("init")){
+            return;
+        }
+        
+        // Check if exists type to return
+        if (!m.getType().strongComparison(Type.VOID)
+            && !classes.containsKey(m.getType().toString())){
             
-            // Get all methods in class
-            methodsSubClass = e.getMethods();
+            throwException("Type to return " + m.getType().toString()
+                           + " in method " + m.getId() + " not declared",
+                           m.getRow(), m.getCol());
+        }
+        
+        // Get method overriden (own method of superclass or inherited)
+        MethodStruct supMethod = superClass.getMethod(m.getSymbol());
+        
+        if (supMethod != null){
             
-            for (MethodStruct m: methodsSubClass){
-                
-                // Constructors can be "overriden" without restrictions
-                if (m.getId().equals("init")){
-                    continue;
-                }
-                
-                // Check if exists type to return
-                if (!m.getType().strongComparison("void")
-                    && !classes.containsKey(m.getType().toString())){
-                    
-                    throwException("Type to return " + m.getType().toString()
-                                   + " in method " + m.getId() + " not declared",
-                                   m.getRow(), m.getCol());
-                }
-                
-                // Check if types of parameters was declared
-                parametersTypes = m.getParametersHashMap();
-                for (Map.Entry<String, LocalStruct> iter : parametersTypes.entrySet()){
-                    if (!classes.containsKey(iter.getValue().getType().toString())){
-                        throwException("Type " + iter.getValue().getType().toString() 
-                                       + " in parameter " + iter.getValue().getId()
-                                       + " not declared",
-                                       iter.getValue().getRow(),
-                                       iter.getValue().getCol());
-                    }
-                }
-                
-                // Get method overriden
-                supMethod = methodsInSuperClass.get(m.getId());
-                
-                if (supMethod != null){
-                    
-                    // Static methods cannot be overriden
-                    if (m.isStatic() && supMethod.isStatic()){
-                        throwException("Static methods " + m.getId()
-                                       + " and " + supMethod.getId()
-                                       + " cannot be overriden",
-                                       m.getRow(), m.getCol());
-                    }
-                    
-                    // Check signature
-                    // Check return type
-                    if (!m.getType().strongComparison(supMethod.getType().toStringIfArray())){
-                        throwException("Method overriden: return type must be equal",
-                                       m.getRow(), m.getCol());
-                    }                    
-                    
-                    // Check number of parameters
-                    if (m.getSizeParameters() != supMethod.getSizeParameters()){
-                        throwException("Method overriden: number of parameters must be equal",
-                                       m.getRow(), m.getCol());
-                    }
-                    
-                    // Check type of parameters                    
-                    if (m.getParametersType().equals(supMethod.getParametersType())){ //compara contenids?
-                        throwException("Method overriden: types of parameters must be equal",
-                                       m.getRow(), m.getCol());
-                    }
-                }
-                
-                // Check if types of local variables was declared
-                localVariables = m.getVariables();
-                for (LocalStruct local: localVariables){
-                    if (!classes.containsKey(local.getType().toString())){
-                        throwException("Type " + local.getType().toString() 
-                                       + " of local variable " + local.getId()
-                                       + " not declared",
-                                       local.getRow(),
-                                       local.getCol());
-                    }
-                }
+            // Static methods cannot be overriden
+            if (m.isStatic() && supMethod.isStatic()){
+                throwException("Static methods " + m.getId()
+                               + " and " + supMethod.getId()
+                               + " cannot be overriden",
+                               m.getRow(), m.getCol());
             }
             
-            // Add inherited methods
-            for (MethodStruct m: methodsInSuperClass.values()){
-                if (!m.getId().equals("init") && !m.isStatic()){
-                    e.addMethod(m);
-                }
+            // Check signature
+            // Check return type
+            if (!m.getType().strongComparison(supMethod.getType())){
+                throwException("Method overriden: return type must be equal",
+                               m.getRow(), m.getCol());
+            }                    
+            
+            // Check number of parameters
+            if (m.getSizeParameters() != supMethod.getSizeParameters()){
+                throwException("Method overriden: number of parameters must be equal",
+                               m.getRow(), m.getCol());
             }
             
+            // Check type of parameters                    
+            if (m.getParametersType().equals(supMethod.getParametersType())){ //compara contenids?
+                throwException("Method overriden: types of parameters must be equal",
+                               m.getRow(), m.getCol());
+            }
+        }
+        
+        // Check if types of parameters was declared
+        for (Map.Entry<String, LocalStruct> iter : m.getParametersHashMap().entrySet()){
+            if (!classes.containsKey(iter.getValue().getType().toString())){
+                throwException("Type " + iter.getValue().getType().toString() 
+                               + " in parameter " + iter.getValue().getId()
+                               + " not declared",
+                               iter.getValue().getRow(),
+                               iter.getValue().getCol());
+            }
+        }
+        
+        // Check if types of local variables was declared (by slot: in
+        // order of declaration)
+        int parameters = m.getSizeParameters();
+        for (int slot = parameters; slot < parameters + m.getSizeVariables(); slot++){
+            LocalStruct local = m.getLocal(slot);
+            if (!classes.containsKey(local.getType().toString())){
+                throwException("Type " + local.getType().toString() 
+                               + " of local variable " + local.getId()
+                               + " not declared",
+                               local.getRow(),
+                               local.getCol());
+            }
         }
     }
     
@@ -659,14 +997,6 @@ public class SymbolTable {
     
     // Get methods (for AST)
     
-    /**
-     * 
-     * @return 
-     */
-    public String getNameCurrentMethod(){
-        return currentMethod.getId();
-    }
-    
     /**
      * Gets method type in specified class
      * 
@@ -676,31 +1006,31 @@ public class SymbolTable {
      */
     public Type getTypeMethod(String classN,
                               String method){
-        return classes.get(classN).getMethodType(method);
+        return getClassStruct(classN).getMethodType(method);
     }
     
     public boolean existsMethod(String classN,
                                 String method){
-        return classes.get(classN).existsMethod(method);
+        return getClassStruct(classN).existsMethod(method);
     }
     
     public Type getTypeVar(String className,
                            String methodName,
                            String id){
         
-        return classes.get(className).getTypeVar(methodName, id);
+        return getClassStruct(className).getTypeVar(methodName, id);
     }
     
     public Type getTypeLocal(String className,
                              String methodName,
                              String id){
-        return classes.get(className).getTypeLocal(methodName, id);
+        return getClassStruct(className).getTypeLocal(methodName, id);
     }
     
     public Type getTypeAtt(String className,
                            String id){
         
-        return classes.get(className).getTypeAtt(id);
+        return getClassStruct(className).getTypeAtt(id);
     }
     
     /**
@@ -712,7 +1042,7 @@ public class SymbolTable {
      */
     public Collection<LocalStruct> getParameters(String className,
                                                  String methodName){
-        return classes.get(className).getParameters(methodName);
+        return getClassStruct(className).getParameters(methodName);
     }
     
     /**
@@ -730,77 +1060,63 @@ public class SymbolTable {
             return false;
         }
         
-        String subb, supp;
-        
         // Array. (assume array cannot be inherited)
         if (sup.isArray()){
             return sup.strongComparison(sub);
         }
         
-        supp = sup.toStringIfArray();
-        subb = sub.toStringIfArray();
-        
-        ClassStruct e;
+        // Intervals of classes (see hierarchy())
+        ClassStruct supClass = getClassStruct(sup.toStringIfArray());
+        ClassStruct subClass = getClassStruct(sub.toStringIfArray());
         
-        do{
-            e = classes.get(subb); //dont works with Array Int -> there is capture Array
-            if (e != null){
-                if(e.getSuperClass().equals(supp)){
-                    return true;
-                }
-                subb = e.getSuperClass();
-            }
-        } while (!subb.equals("Object"));
-        
-        return false;
+        return supClass != null && subClass != null && subClass.inherits(supClass);
     }
     
     public MethodStruct getMethod(String idClass, String idMethod){
-        return classes.get(idClass).getMethod(idMethod);
+        return getClassStruct(idClass).getMethod(symbols.lookup(idMethod));
     }
     
-    public Collection<ClassStruct> getClasses(){
-        return classes.values();
-    }
-    
-    /*
-     * Only for currentClass and currentMethod attributes
+    /**
+     * Returns an own method of a class or an inherited one
+     * 
+     * @param idClass the name of class
+     * @param symbol the ID of name of method (see Symbols)
+     * @return the method, null if it does not exist
      */
-    
-    public void setCurrentClass(String className){
-        currentClass = classes.get(className);
-    }
-    
-    public void setCurrentMethod(String methodName){
-        currentMethod = currentClass.getMethod(methodName);
+    public MethodStruct getMethod(String idClass, int symbol){
+        return getClassStruct(idClass).getMethod(symbol);
     }
     
-    public int getParameterPosition(String id){
-        return currentMethod.getParameterPosition(id);
-    }
-    
-    public int getVariablePosition(String id){
-        return currentMethod.getVariablePosition(id);
-    }
-    
-    public boolean isParameter(String id){
-        return currentMethod.isParameter(id);
-    }
-    
-    public boolean isVariable(String id){
-        return currentMethod.isVariable(id);
+    /**
+     * @param className the name of class
+     * @param symbol the ID of name of attribute (see Symbols)
+     * @return the type of attribute, null if it is not visible in class
+     */
+    public Type getTypeAtt(String className,
+                           int symbol){
+        return getClassStruct(className).getTypeAtt(symbol);
     }
     
-    public int getParametersCant(){
-        return currentMethod.getSizeParameters();
+    /**
+     * Returns a class by the ID of its name
+     * 
+     * @param symbol the ID of name of class (see Symbols)
+     * @return the class, null if it is not in the table
+     */
+    public ClassStruct getClassStruct(int symbol){
+        return classesBySymbol.get(symbol);
     }
     
-    public int getVariablesCant(){
-        return currentMethod.getSizeVariables();
+    /**
+     * @param name the name of class
+     * @return the class, null if it is not in the table
+     */
+    public ClassStruct getClassStruct(String name){
+        return getClassStruct(symbols.lookup(name));
     }
     
-    public Type getTypeVar(String id){
-        return currentMethod.getTypeVar(id);
+    public Collection<ClassStruct> getClasses(){
+        return classes.values();
     }
     
     public Collection<AttributeStruct> getAttributesList(String className){
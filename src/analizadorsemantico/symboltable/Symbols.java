@@ -0,0 +1,94 @@
+package analizadorsemantico.symboltable;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interner of the names of a program (classes, methods, attributes,
+ * parameters and local variables): every name has a dense integer ID.
+ * Every SymbolTable has its own interner, shared with the tables of its
+ * classes parsed apart (see SymbolTable.fragment()), so the IDs of a
+ * program are the same in all its tables and its AST.
+ * The structs take the ID of their name when they are declared (see
+ * Struct.getSymbol()) and the AST nodes the ID of their identifier when
+ * they are parsed, so the lookups of checks use the IDs (see SymbolMap,
+ * SymbolTable.getClassStruct(int), ClassStruct.getMethod(int) and
+ * MethodStruct.getSlot(int)).
+ * The types of the classes of program are also here (see type()): they
+ * are dropped with the names when the program is not used anymore.
+ * The parser declares names in several threads (see ParallelParser)
+ * 
+ * @author emiliano
+ */
+public final class Symbols {
+    
+    // IDs of names
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    // Names of IDs
+    private volatile String[] names = new String[256];
+    private int size = 0;
+    // Types of classes by name (the predefined ones are in Type)
+    private final ConcurrentHashMap<String, Type> types = new ConcurrentHashMap<>();
+    
+    /**
+     * Returns the ID of a name, a new one the first time
+     * 
+     * @param name the name
+     * @return the ID (0, 1, 2, ... in order of first intern())
+     */
+    public int intern(String name){
+        
+        Integer id = ids.get(name);
+        if (id != null){
+            return id;
+        }
+        synchronized (this){
+            id = ids.get(name);
+            if (id == null){
+                if (size == names.length){
+                    names = Arrays.copyOf(names, 2 * size);
+                }
+                names[size] = name;
+                id = size++;
+                ids.put(name, id);
+            }
+            return id;
+        }
+    }
+    
+    /**
+     * Returns the ID of a name without adding it
+     * 
+     * @param name the name
+     * @return the ID, or -1 if the name was never interned
+     */
+    public int lookup(String name){
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+    
+    /**
+     * Returns the type of a name: a predefined type or the type of a class
+     * of program
+     * 
+     * @param name the name of type
+     * @return the canonical Type
+     */
+    public Type type(String name){
+        Type t = Type.predefined(name);
+        if (t == null){
+            t = types.get(name);
+        }
+        return t != null ? t : types.computeIfAbsent(name, Type::new);
+    }
+    
+    /**
+     * Returns the name of an ID
+     * 
+     * @param id the ID (see intern())
+     * @return the name
+     */
+    public String name(int id){
+        return names[id];
+    }
+}
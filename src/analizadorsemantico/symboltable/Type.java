@@ -1,29 +1,100 @@
 package analizadorsemantico.symboltable;
 
-import analizadorlexico.Token;
+import analizadorlexico.TokenKind;
+import java.util.HashMap;
 
 /**
- *
+ * Types of TinySwift+. There is only one Type for every name and one for
+ * every array of a name, so the types are immutable and shared by the
+ * symbol table and the AST. The comparisons use the references of types
+ * instead of strings.
+ * The predefined types and their arrays (the only arrays of the language)
+ * are constants, the same for all the programs. The types of classes
+ * belong to the names of their program (see Symbols.type()), so they are
+ * not kept after it
+ * 
  * @author emiliano
  */
-public class Type {
+public final class Type {
     
-    private String type;
-    private boolean array = false;
+    // Predefined types by name, and their arrays by name of elements
+    // (filled in the initialization of class, then only read)
+    private static final HashMap<String, Type> predefined = new HashMap<>();
+    private static final HashMap<String, Type> arrays = new HashMap<>();
     
-    public Type(Token type){
-        
-        this.type = type.getLexeme();
+    public static final Type OBJECT = predefine("Object");
+    public static final Type INT = predefine("Int");
+    public static final Type BOOL = predefine("Bool");
+    public static final Type CHAR = predefine("Char");
+    public static final Type STRING = predefine("String");
+    public static final Type VOID = predefine("void");
+    public static final Type NIL = predefine("nil");
+    // Any array (parameter of out_array)
+    public static final Type ARRAY = predefine("Array");
+    
+    static {
+        for (Type e: new Type[]{INT, BOOL, CHAR, STRING}){
+            arrays.put(e.type, new Type(e.type, e));
+        }
     }
     
-    public Type(String type){
-        this.type = type;
+    private final String type;
+    private final boolean array;
+    // Type of name without "Array " (comparison): this one if it is not
+    // an array
+    private final Type element;
+    
+    /**
+     * Type of a class (see Symbols.type())
+     * 
+     * @param type the name of class
+     */
+    Type(String type){
+        this(type, null);
     }
     
-    public Type(String type,
-                boolean array){
+    private Type(String type,
+                 Type element){
         this.type = type;
-        this.array = array;
+        this.array = element != null;
+        this.element = array ? element : this;
+    }
+    
+    private static Type predefine(String type){
+        Type t = new Type(type);
+        predefined.put(type, t);
+        return t;
+    }
+    
+    /**
+     * @param type the name of type
+     * @return the predefined Type, null if it is not predefined
+     */
+    static Type predefined(String type){
+        return predefined.get(type);
+    }
+    
+    /**
+     * Returns the type of an array
+     * 
+     * @param element the type of elements (Int, Bool, Char or String)
+     * @return the canonical Type
+     * @throws IllegalArgumentException if the elements are not primitive
+     */
+    public static Type arrayOf(Type element){
+        Type t = arrays.get(element.toStringIfArray());
+        if (t == null){
+            throw new IllegalArgumentException("No arrays of " + element.toStringIfArray());
+        }
+        return t;
+    }
+    
+    /**
+     * @return the type of elements of an array, this one if it is not
+     *         an array
+     */
+    public Type getElementType(){
+        return element;
     }
     
     @Override
@@ -35,75 +106,54 @@ public class Type {
         return array? "Array " + type : type;
     }
     
-    public boolean comparison(String ... type){
-        for (String i: type){
-            if (i.equals("Array " + this.type) || i.equals(this.type)){
-                return true;
-            }
-        }
-        return false;
-    }
-    
+    /**
+     * Compares the names of types (without "Array ")
+     * 
+     * @param anotherType the other type
+     * @return true if they have the same name
+     */
     public boolean comparison(Type anotherType){
-        return type.equals(anotherType.toString());
+        return element == anotherType.element;
     }
     
-    public boolean strongComparison(String ... type){
-        
-        String thisType;
-        if (array){
-            thisType = "Array " + this.type;
-        }
-        else{
-            thisType = this.type;
-        }
-        
-        for (String i: type){
-            if (thisType.equals(i)){
-                return true;
-            }
-        }
-        return false;
+    /**
+     * Compares the names of types (with "Array " if they are arrays)
+     * 
+     * @param anotherType the other type
+     * @return true if they are the same type
+     */
+    public boolean strongComparison(Type anotherType){
+        return this == anotherType;
     }
     
-    public boolean strongComparison(Type anotherType){
-        boolean value;
-        if (array){
-            value = anotherType.toStringIfArray().equals("Array " + type);
-        }
-        else{
-            value = anotherType.toStringIfArray().equals(type);
-        }
-        return value;
+    /**
+     * @return true if it is Int, Bool or Char (not an array)
+     */
+    public boolean isPrimitive(){
+        return this == INT || this == BOOL || this == CHAR;
     }
     
-    public static Type obtainLiteralType(String literal){
-        String typ;
-        if (literal.equals("nil")){
-            typ = "nil"; //check this
-        }
-        
-        else if (literal.equals("true") || literal.equals("false")){
-            typ = "Bool";
-        }
-        
-        else if (literal.equals("charlit")){
-            typ = "Char";
-        }
-        
-        else if (literal.equals("intlit")){
-            typ = "Int";
+    public static Type obtainLiteralType(TokenKind literal){
+        Type typ;
+        switch (literal){
+            case NIL:
+                typ = NIL; //check this
+                break;
+            case TRUE:
+            case FALSE:
+                typ = BOOL;
+                break;
+            case CHARLIT:
+                typ = CHAR;
+                break;
+            case INTLIT:
+                typ = INT;
+                break;
+            default: // only stringlit
+                typ = STRING;
         }
         
-        else{ // only stringlit
-            typ = "String";
-        }
-        
-        return new Type(typ);
-    }
-    
-    public void setArray(){
-        array = true;
+        return typ;
     }
     
     public boolean isArray(){
@@ -2,9 +2,13 @@ package analizadorsintactico;
 
 import analizadorlexico.AnalizadorLexico;
 import analizadorlexico.Token;
+import analizadorlexico.TokenKind;
+import analizadorlexico.TokenSource;
+import analizadorlexico.TokenStream;
 import analizadorlexico.IllegalTokenException;
 
 import analizadorsemantico.symboltable.SymbolTable;
+import analizadorsemantico.symboltable.Symbols;
 import analizadorsemantico.symboltable.Type;
 import analizadorsemantico.IncompleteSymbolTableException;
 import analizadorsemantico.SemanticDeclarationException;
@@ -32,8 +36,9 @@ import analizadorsemantico.abstractsyntaxtree.sentences.SentencesNode;
 import analizadorsemantico.abstractsyntaxtree.sentences.VarNode;
 import analizadorsemantico.abstractsyntaxtree.sentences.WhileNode;
 import java.util.ArrayList;
-
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Syntactic Analyzer definition for tinySwift+
@@ -43,10 +48,64 @@ import java.util.Arrays;
  */
 public class AnalizadorSintactico {
     
-    private final AnalizadorLexico lexical;
-    private Token currentToken;
-    private Token nextToken;
+    // Sets of tokens (TokenSet bitmasks, built once)
+    private static final long MEMBER_FIRST =
+        TokenSet.of(TokenKind.PRIVATE, TokenKind.VAR, TokenKind.INIT,
+                    TokenKind.STATIC, TokenKind.FUNC);
+    private static final long ATTRIBUTE_FIRST =
+        TokenSet.of(TokenKind.PRIVATE, TokenKind.VAR);
+    private static final long METHOD_FIRST =
+        TokenSet.of(TokenKind.FUNC, TokenKind.STATIC);
+    private static final long PRIMITIVE_TYPES =
+        TokenSet.of(TokenKind.BOOL, TokenKind.INT, TokenKind.STRING,
+                    TokenKind.CHAR);
+    private static final long ASSIGNMENT_FIRST =
+        TokenSet.of(TokenKind.ID, TokenKind.SELF);
+    private static final long SIMPLE_CHAINING_FIRST =
+        TokenSet.of(TokenKind.DOT, TokenKind.ASSIGN);
+    private static final long ACCESS_FIRST =
+        TokenSet.of(TokenKind.DOT, TokenKind.LBRACKET);
+    private static final long LITERALS =
+        TokenSet.of(TokenKind.NIL, TokenKind.TRUE, TokenKind.FALSE,
+                    TokenKind.INTLIT, TokenKind.STRINGLIT, TokenKind.CHARLIT);
+    private static final long PRIMARY_FIRST =
+        TokenSet.of(TokenKind.SELF, TokenKind.ID, TokenKind.IDCLASS,
+                    TokenKind.NEW);
+    // Synchronization of panic mode in a list of sentences
+    private static final long SENTENCE_SYNC =
+        TokenSet.of(TokenKind.SEMICOLON, TokenKind.RBRACE, TokenKind.CLASS);
+    // Actual arguments: FIRST of expresion (computed by the grammar)
+    // without idclass (static calls are not accepted here)
+    private static final long ARGUMENTS_FIRST =
+        TokenSet.remove(ExpressionGrammar.GRAMMAR.first(ExpressionGrammar.EXPRESION),
+                        TokenKind.IDCLASS);
+    // Symbol of the action that uses the token of an operator
+    private static final int OPERATOR_ACTION =
+        Grammar.action(ExpressionGrammar.OPERATOR);
+    
+    // Tokens after the current one used by the grammar
+    private static final int LOOKAHEAD = 1;
+    
+    // Window over the tokens of file (lexical analyzer, cursor or pipeline)
+    private final Lookahead tokens;
+    // Tokens of whole file (only with tokenizeAll) and parallel mode
+    private final TokenStream stream;
+    private boolean parallel = false;
+    // Classes parsed before program() (see IncrementalParser)
+    private List<ParallelParser.Fragment> fragments;
+    private final String nameFile;
+    // Recovery of syntax errors (panic mode) and errors found (the list
+    // is created with the first error)
+    private boolean recovery = false;
+    private List<SyntacticErrorException> errors;
+    // The error was saved: it is skipped until the next class
+    private boolean skipping = false;
     private boolean EOF = false;
+    // Stacks of symbols and values of expresion()
+    private int[] symbols = new int[64];
+    private int symbolsTop = 0;
+    private Object[] values = new Object[64];
+    private int valuesTop = 0;
     private boolean claseMain = false;
     private boolean metodoMain = false;
     
@@ -59,17 +118,150 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticDeclarationException {
         
-        symbolTable = new SymbolTable();
-        ast = new AbstractSyntaxTree();
-        this.lexical = lexical;
-        currentToken = lexical.nextToken();
-        nextToken = lexical.nextToken();
+        this(lexical, false);
+    }
+    
+    /**
+     * @param lexical the lexical analyzer of file
+     * @param tokenizeAll true to read all the tokens before parsing
+     *        (the parser uses a cursor over the token stream)
+     * @throws IllegalTokenException
+     * @throws SyntacticErrorException
+     * @throws SemanticDeclarationException 
+     */
+    public AnalizadorSintactico(AnalizadorLexico lexical, boolean tokenizeAll)
+        throws IllegalTokenException,
+               SyntacticErrorException,
+               SemanticDeclarationException {
+        
+        this(lexical, tokenizeAll ? lexical.tokenizeAll() : null);
+    }
+    
+    private AnalizadorSintactico(AnalizadorLexico lexical, TokenStream stream)
+        throws IllegalTokenException,
+               SyntacticErrorException,
+               SemanticDeclarationException {
+        
+        this(stream != null ? stream.cursor() : lexical,
+             stream,
+             lexical.getNameOfFile(),
+             new SymbolTable(),
+             new AbstractSyntaxTree());
+    }
+    
+    /**
+     * @param tokens the tokens of file (lexical analyzer, cursor over a
+     *        token stream or pipeline)
+     * @param nameFile the name of file (without extension)
+     * @throws IllegalTokenException
+     * @throws SyntacticErrorException
+     * @throws SemanticDeclarationException 
+     */
+    public AnalizadorSintactico(TokenSource tokens, String nameFile)
+        throws IllegalTokenException,
+               SyntacticErrorException,
+               SemanticDeclarationException {
         
-        if (currentToken == null){
+        this(tokens, null, nameFile, new SymbolTable(), new AbstractSyntaxTree());
+    }
+    
+    /**
+     * Parser of one class for ParallelParser
+     * 
+     * @param tokens the tokens of class
+     * @param nameFile the name of file (without extension)
+     * @param symbolTable the table of class (see SymbolTable.fragment())
+     * @param ast the AST of class
+     * @throws IllegalTokenException 
+     */
+    AnalizadorSintactico(TokenSource tokens,
+                         String nameFile,
+                         SymbolTable symbolTable,
+                         AbstractSyntaxTree ast)
+        throws IllegalTokenException {
+        
+        this(tokens, null, nameFile, symbolTable, ast);
+    }
+    
+    /**
+     * Parser of a whole token stream whose classes were already parsed
+     * (IncrementalParser): program() merges them
+     * 
+     * @param stream the tokens of file
+     * @param nameFile the name of file (without extension)
+     * @param fragments the classes of file in source order, or null to
+     *        parse them in program()
+     * @param symbols the names of the tables of fragments
+     * @throws IllegalTokenException
+     * @throws SemanticDeclarationException 
+     */
+    AnalizadorSintactico(TokenStream stream,
+                         String nameFile,
+                         List<ParallelParser.Fragment> fragments,
+                         Symbols symbols)
+        throws IllegalTokenException,
+               SemanticDeclarationException {
+        
+        this(stream.cursor(), stream, nameFile, new SymbolTable(symbols),
+             new AbstractSyntaxTree());
+        this.fragments = fragments;
+    }
+    
+    private AnalizadorSintactico(TokenSource tokens,
+                                 TokenStream stream,
+                                 String nameFile,
+                                 SymbolTable symbolTable,
+                                 AbstractSyntaxTree ast)
+        throws IllegalTokenException {
+        
+        this.symbolTable = symbolTable;
+        this.ast = ast;
+        this.stream = stream;
+        this.nameFile = nameFile;
+        this.tokens = new Lookahead(tokens, LOOKAHEAD);
+        
+        if (this.tokens.currentKind() == null){
             setEOF(true);
         }
     }
     
+    /**
+     * Enables the parallel mode of program() (see ParallelParser): the
+     * classes are parsed in parallel when all the tokens were read before
+     * parsing and the file is big enough
+     * 
+     * @param value true to parse classes in parallel
+     */
+    public void setParallel(boolean value){
+        parallel = value;
+    }
+    
+    /**
+     * Enables the recovery of syntax errors: program() skips the tokens of
+     * a wrong sentence (until semicolon or rbrace) or class (until the
+     * next class) and continues, so all the syntax errors of file are
+     * found in one pass. program() throws the first error, and 
+     * getErrors() returns all of them
+     * 
+     * @param value true to recover from syntax errors
+     */
+    public void setRecovery(boolean value){
+        recovery = value;
+    }
+    
+    /**
+     * Gets the syntax errors found by program() in recovery mode, in
+     * order of file (the first one is the error thrown)
+     * 
+     * @return the list of errors (empty if there are not)
+     */
+    public List<SyntacticErrorException> getErrors(){
+        if (errors == null){
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(errors);
+    }
+    
     /**
      * Gets symbol table when reading from the file is complete
      * 
@@ -107,7 +299,7 @@ public class AnalizadorSintactico {
      * @return the name of file
      */
     public String getNameOfFile(){
-        return lexical.getNameOfFile();
+        return nameFile;
     }
     
     /**
@@ -119,8 +311,8 @@ public class AnalizadorSintactico {
     private void throwException(String description)
         throws SyntacticErrorException {
         
-        throw new SyntacticErrorException(currentToken.getLine(),
-                                          currentToken.getColumn(),
+        throw new SyntacticErrorException(currentToken().getLine(),
+                                          currentToken().getColumn(),
                                           description);
     }
     
@@ -133,94 +325,107 @@ public class AnalizadorSintactico {
         throw new SyntacticErrorException("End of file. Expected: " + description);
     }
     
-    private void throwExceptionMatcher(String[] description)
+    private void throwExceptionMatcher(long description)
         throws SyntacticErrorException {
         
         throw new SyntacticErrorException("End of file. Expected:" + 
-                                          Arrays.toString(description));
+                                          TokenSet.toString(description));
     }
     
     /**
-     * Match name with current token name
+     * Match kind with current token kind, without creating the token
+     * (see Lookahead)
      * 
-     * @param name the name to match
+     * @param kind the kind to match
      * @throws IllegalTokenException lexical analyzer error
-     * @throws SyntacticErrorException no match the expected token name 
+     * @throws SyntacticErrorException no match the expected token kind 
      */
-    private Token matcher(String name)
+    private void match(TokenKind kind)
         throws IllegalTokenException,
                SyntacticErrorException{
         
-        if (currentToken == null){
-            throwExceptionMatcher(name);
+        TokenKind current = tokens.currentKind();
+        if (current == null){
+            throwExceptionMatcher(kind.getName());
         }
         
-        if (currentToken.getToken().equals(name)){
-            //System.out.println(currentToken.getToken() + "  " + name);
-            Token returnToken = currentToken;
+        if (current == kind){
             updateToken();
-            return returnToken;
+            return;
         }
         
-        throwException("Expected " + name +
-                                    " but found " + currentToken.getToken());
-        return null;
+        throwException("Expected " + kind.getName() +
+                                    " but found " + current.getName());
+    }
+    
+    /**
+     * Match kind with current token kind
+     * 
+     * @param kind the kind to match
+     * @return the token matched (its lexeme or line is used)
+     * @throws IllegalTokenException lexical analyzer error
+     * @throws SyntacticErrorException no match the expected token kind 
+     */
+    private Token matcher(TokenKind kind)
+        throws IllegalTokenException,
+               SyntacticErrorException{
+        
+        Token token = currentToken();
+        match(kind);
+        return token;
     }
     
     /**
      * Match token comparing the lexemes
      * 
-     * @param name the name of the token
+     * @param kind the kind of the token
      * @param lexeme the lexeme contained in the token
      * @throws IllegalTokenException lexical analyzer error
-     * @throws SyntacticErrorException no match the expected token name 
+     * @throws SyntacticErrorException no match the expected token kind 
      */
-    private Token matcherWithLexeme(String name, String lexeme)
+    private Token matcherWithLexeme(TokenKind kind, String lexeme)
         throws IllegalTokenException,
                SyntacticErrorException{
         
-        if (currentToken == null){
-            throwExceptionMatcher(name);
+        Token token = currentToken();
+        if (token == null){
+            throwExceptionMatcher(kind.getName());
         }
         
-        if (currentToken.getToken().equals(name) &&
-            currentToken.getLexeme().equals(lexeme)){
+        if (token.getKind() == kind &&
+            token.getLexeme().equals(lexeme)){
                 
-            Token toReturn = currentToken;
             updateToken();
-            return toReturn;
+            return token;
         }
         
         throwException("Expected " + lexeme +
-                                    " but found " + currentToken.getLexeme());
+                                    " but found " + token.getLexeme());
         return null;
     }
     
     /**
-     * Match some token in array
+     * Match some token in set
      * 
-     * @param terminals the array of tokens
+     * @param terminals the set of token kinds (TokenSet)
      * @throws IllegalTokenException lexical analyzer error
      * @throws SyntacticErrorException no match any token
      */
-    private Token matcherSomeTerminal(String ... terminals)
+    private Token matcherSomeTerminal(long terminals)
         throws IllegalTokenException,
                SyntacticErrorException{
         
-        if (currentToken == null){
+        Token token = currentToken();
+        if (token == null){
             throwExceptionMatcher(terminals);
         }
         
-        for (String terminal: terminals){
-            
-            if (currentToken.getToken().equals(terminal)){
-                Token returnToken = currentToken;
-                updateToken();
-                return returnToken;
-            }
+        if (TokenSet.contains(terminals, token.getKind())){
+            updateToken();
+            return token;
         }
         
-        throwException("Expected " + Arrays.toString(terminals));
+        throwException("Expected " + TokenSet.toString(terminals));
         return null;
     }
     
@@ -232,10 +437,9 @@ public class AnalizadorSintactico {
     private void updateToken()
         throws IllegalTokenException {
         
-        currentToken = nextToken;
-        nextToken = lexical.nextToken();
+        tokens.advance();
         
-        if (currentToken == null){
+        if (tokens.currentKind() == null){
             setEOF(true);
         }
     }
@@ -248,81 +452,154 @@ public class AnalizadorSintactico {
         return EOF;
     }
     
+    /**
+     * ID of an identifier in the names of program, for the AST nodes
+     * 
+     * @param name the identifier
+     * @return the ID (see SymbolTable.getSymbols())
+     */
+    private int symbol(String name){
+        return symbolTable.getSymbols().intern(name);
+    }
+    
+    /**
+     * Type of a name in the types of program
+     * 
+     * @param name the name of type
+     * @return the canonical Type (see SymbolTable.getSymbols())
+     */
+    private Type type(String name){
+        return symbolTable.getSymbols().type(name);
+    }
+    
+    /**
+     * Current token
+     * 
+     * @return the current token, or null at the end of file
+     */
+    private Token currentToken(){
+        return tokens.current();
+    }
+    
+    /**
+     * Determines if the current token is of kind
+     * 
+     * @param kind the token kind
+     * @return true if the current token is of kind
+     */
+    private boolean inSet(TokenKind kind){
+        
+        return tokens.currentKind() == kind;
+    }
+    
     /**
      * Determines if the current token is in set
      * 
-     * @param set the token names in the set
+     * @param set the token kinds in the set (TokenSet)
      * @return true if the current token is in set
      */
-    private boolean inSet(String ... set){
+    private boolean inSet(long set){
         
-        if (currentToken == null){
-            return false;
-        }
-        
-        for (int i = 0;i<set.length;++i){
-            if (set[i].equals(currentToken.getToken())){
-                return true;
-            }
-        }
-        return false;
+        TokenKind kind = tokens.currentKind();
+        return kind != null && TokenSet.contains(set, kind);
     }
     
     /**
-     * Determines if the next token is in set
+     * Determines if the k-th token after the current one is of kind
      * 
-     * @param set the token names in the set
-     * @return true if the next token is in set
+     * @param k the distance from current token (at most LOOKAHEAD)
+     * @param kind the token kind
+     * @return true if the token is of kind
+     * @throws IllegalTokenException lexical analyzer error
      */
-    private boolean inFutureSet(String ... set){
-        
-        if (nextToken == null){
-            return false;
-        }
+    private boolean inSet(int k, TokenKind kind)
+        throws IllegalTokenException {
         
-        for (int i = 0;i<set.length;++i){
-            if (set[i].equals(nextToken.getToken())){
-                return true;
-            }
-        }
-        return false;
+        return tokens.kind(k) == kind;
     }
     
     /**
-     * Determines if the next token lexeme is in set
+     * Determines if the lexeme of k-th token after the current one is
+     * equal to lexeme
      * 
-     * @param set the lexeme names in the set
-     * @return true if the next token lexeme is in set 
+     * @param k the distance from current token (at most LOOKAHEAD)
+     * @param lexeme the lexeme to compare
+     * @return true if the token lexeme is equal 
+     * @throws IllegalTokenException lexical analyzer error
      */
-    private boolean inFutureLexemeSet(String ... set){
+    private boolean hasLexeme(int k, String lexeme)
+        throws IllegalTokenException {
+        
+        Token token = tokens.peek(k);
+        return token != null && lexeme.equals(token.getLexeme());
+    }
+    
+    public boolean program()
+        throws SyntacticErrorException,
+               IllegalTokenException,
+               SemanticDeclarationException,
+               SemanticSentenceException {
         
-        if (nextToken == null){
-            return false;
+        List<ParallelParser.Fragment> fragments = this.fragments;
+        if (fragments == null && parallel && stream != null &&
+            ParallelParser.isUseful(stream)){
+            fragments = ParallelParser.parse(stream, nameFile,
+                                             symbolTable.getSymbols());
+        }
+        if (fragments != null && !ParallelParser.canMerge(fragments, recovery)){
+            fragments = null;
         }
         
-        for (int i = 0;i<set.length;++i){
-            if (set[i].equals(nextToken.getLexeme())){
-                return true;
+        try{
+            if (fragments != null){
+                merge(fragments);
+            }
+            else{
+                clases();
             }
         }
-        return false;
+        catch (SyntacticErrorException e){
+            if (!recovery){
+                throw e;
+            }
+            if (!skipping){
+                addError(e);
+            }
+        }
+        catch (IllegalTokenException | SemanticDeclarationException |
+               SemanticSentenceException e){
+            // After a syntax error, it can be caused by the skipped tokens
+            // (a RuntimeException is a bug of parser: it is not hidden)
+            if (errors == null){
+                throw e;
+            }
+        }
+        finally{
+            // End of parsing: the lexer thread (pipeline) is stopped
+            tokens.close();
+        }
+        
+        if (errors != null){
+            throw errors.get(0);
+        }
+        return getEOF();
     }
     
-    public boolean program()
+    private void clases()
         throws SyntacticErrorException,
                IllegalTokenException,
                SemanticDeclarationException,
                SemanticSentenceException {
         
-        if (inSet("class")){
-            if (inFutureSet("idclass")){
-                if (inFutureLexemeSet("Main")){
-                    claseMain();
+        if (inSet(TokenKind.CLASS)){
+            if (inSet(1, TokenKind.IDCLASS)){
+                if (hasLexeme(1, "Main")){
+                    claseMainRecovery();
                     clase_();
                 }
                 else{
                     clase_();
-                    claseMain();
+                    claseMainRecovery();
                     clase_();
                 }
             }
@@ -333,8 +610,219 @@ public class AnalizadorSintactico {
         else{
             throwException("In program: class token not found");
         }
+    }
+    
+    /**
+     * Saves an error found in recovery mode
+     */
+    private void addError(SyntacticErrorException e){
+        if (errors == null){
+            errors = new ArrayList<>();
+        }
+        errors.add(e);
+    }
+    
+    private int errorCount(){
+        return errors == null ? 0 : errors.size();
+    }
+    
+    /**
+     * Adds the context of the errors saved from first (as the exception
+     * would have been rethrown by the caller)
+     * 
+     * @param first the first error of the context
+     * @param prefix the context
+     */
+    private void prefixErrors(int first, String prefix){
+        for (int i = first; i < errorCount(); i++){
+            SyntacticErrorException e = errors.get(i);
+            errors.set(i, new SyntacticErrorException(e.getLine(),
+                                                      e.getColumn(),
+                                                      prefix + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Panic mode in a list of sentences: saves the error and skips until
+     * the end of sentence (semicolon, consumed) or of block (rbrace); the
+     * blocks inside the sentence are skipped whole.
+     * A class token (or the end of file) ends the class
+     * 
+     * @param e the error of sentence
+     * @throws SyntacticErrorException if recovery is not enabled, or to
+     *         skip until the next class
+     */
+    private void recoverSentence(SyntacticErrorException e)
+        throws IllegalTokenException,
+               SyntacticErrorException {
         
-        return getEOF();
+        if (!recovery || tokens.currentKind() == null){
+            throw e;
+        }
+        addError(e);
+        
+        int depth = 0;
+        while (tokens.currentKind() != null && !inSet(TokenKind.CLASS) &&
+               (depth > 0 || !inSet(SENTENCE_SYNC))){
+            if (inSet(TokenKind.LBRACE)){
+                depth++;
+            }
+            else if (inSet(TokenKind.RBRACE)){
+                depth--;
+            }
+            updateToken();
+        }
+        if (inSet(TokenKind.SEMICOLON)){
+            updateToken();
+        }
+        else if (!inSet(TokenKind.RBRACE)){
+            skipping = true;
+            throw e;
+        }
+    }
+    
+    /**
+     * Panic mode between classes: saves the error (if it was not saved)
+     * and skips until the next class declaration
+     * 
+     * @param e the error of class
+     * @throws SyntacticErrorException if recovery is not enabled or it is
+     *         the end of file
+     */
+    private void recoverClass(SyntacticErrorException e)
+        throws IllegalTokenException,
+               SyntacticErrorException {
+        
+        if (!recovery || tokens.currentKind() == null){
+            throw e;
+        }
+        if (!skipping){
+            addError(e);
+        }
+        skipping = false;
+        
+        while (tokens.currentKind() != null && 
+               !(inSet(TokenKind.CLASS) && inSet(1, TokenKind.IDCLASS))){
+            updateToken();
+        }
+    }
+    
+    private void claseMainRecovery()
+        throws IllegalTokenException,
+               SyntacticErrorException,
+               SemanticDeclarationException,
+               SemanticSentenceException {
+        
+        try{
+            claseMain();
+        }
+        catch (SyntacticErrorException e){
+            recoverClass(e);
+        }
+    }
+    
+    /**
+     * Adds the classes parsed by ParallelParser in source order, as
+     * program() parses them: the checks between classes of symbol table
+     * are made here, and the errors are thrown in the same order
+     * 
+     * @param fragments the classes of file
+     */
+    private void merge(List<ParallelParser.Fragment> fragments)
+        throws IllegalTokenException,
+               SyntacticErrorException,
+               SemanticDeclarationException,
+               SemanticSentenceException {
+        
+        int end = ParallelParser.end(fragments);
+        for (int i = 0; i < end; i++){
+            ParallelParser.Fragment fragment = fragments.get(i);
+            
+            // Error before newClass() (header of class)
+            if (fragment.error != null && !fragment.declared){
+                throwFragmentError(fragment.error);
+            }
+            symbolTable.newClass(fragment.table);
+            if (fragment.error != null){
+                throwFragmentError(fragment.error);
+            }
+            ast.addClasses(fragment.ast);
+            symbolTable.addClassEntry();
+            
+            if (fragment.isMain){
+                metodoMain = true;
+                claseMain = true;
+            }
+        }
+        
+        if (!claseMain){
+            throwExceptionMatcher("EOF");
+        }
+        // Tokens after a second class Main are not parsed (see clase_())
+        setEOF(end == fragments.size());
+    }
+    
+    private void throwFragmentError(Exception e)
+        throws IllegalTokenException,
+               SyntacticErrorException,
+               SemanticDeclarationException,
+               SemanticSentenceException {
+        
+        if (e instanceof SyntacticErrorException){
+            throw (SyntacticErrorException) e;
+        }
+        if (e instanceof SemanticDeclarationException){
+            throw (SemanticDeclarationException) e;
+        }
+        if (e instanceof SemanticSentenceException){
+            throw (SemanticSentenceException) e;
+        }
+        if (e instanceof IllegalTokenException){
+            throw (IllegalTokenException) e;
+        }
+        throw new IllegalStateException(e);
+    }
+    
+    /**
+     * Parses the only class of tokens (ParallelParser)
+     * 
+     * @param isMain true for class Main
+     */
+    void classFragment(boolean isMain)
+        throws IllegalTokenException,
+               SyntacticErrorException,
+               SemanticDeclarationException,
+               SemanticSentenceException {
+        
+        if (isMain){
+            claseMain();
+        }
+        else{
+            clase();
+        }
+    }
+    
+    /**
+     * Parses the only method body of tokens, from lbrace to rbrace
+     * (IncrementalParser): the symbol table and the AST must have the
+     * method (see SymbolTable.methodBody() and AbstractSyntaxTree.methodBody())
+     * 
+     * @param type the type of method
+     */
+    void methodFragment(Type type)
+        throws IllegalTokenException,
+               SyntacticErrorException,
+               SemanticDeclarationException,
+               SemanticSentenceException {
+        
+        bloqueMetodo(type);
+    }
+    
+    /**
+     * @return true if all the tokens were used
+     */
+    boolean atEnd(){
+        return tokens.currentKind() == null;
     }
     
     private void clase_()
@@ -343,23 +831,28 @@ public class AnalizadorSintactico {
                SemanticDeclarationException,
                SemanticSentenceException {
         
-        if (inSet("class")){
-            if (inFutureSet("idclass")){
-                
-                // En clase_ despues de claseMain, no admite otro lexema Main
-                // Si el sintáctico debe aceptar igual, agregar un flag
-                // cuando claseMain ya haya sido visitada
-                if (inFutureLexemeSet("Main")){
-                    return;
+        if (inSet(TokenKind.CLASS)){
+            try{
+                if (inSet(1, TokenKind.IDCLASS)){
+                    
+                    // En clase_ despues de claseMain, no admite otro lexema Main
+                    // Si el sintáctico debe aceptar igual, agregar un flag
+                    // cuando claseMain ya haya sido visitada
+                    if (hasLexeme(1, "Main")){
+                        return;
+                    }
+                    else{
+                        clase();
+                    }
                 }
                 else{
-                    clase();
-                    clase_();
+                    throwException("idclass token not found");
                 }
             }
-            else{
-                throwException("idclass token not found");
+            catch (SyntacticErrorException e){
+                recoverClass(e);
             }
+            clase_();
         }
         else{
             ;
@@ -373,13 +866,14 @@ public class AnalizadorSintactico {
                SemanticDeclarationException,
                SemanticSentenceException {
         
+        int firstError = errorCount();
         try{
         
-        matcher("class");
-        Token id = matcher("idclass");
-        Type type = new Type("Object");
+        match(TokenKind.CLASS);
+        Token id = matcher(TokenKind.IDCLASS);
+        Type type = Type.OBJECT;
         
-        if (inSet("colon")){
+        if (inSet(TokenKind.COLON)){
             type = herencia();
         }
         
@@ -391,10 +885,11 @@ public class AnalizadorSintactico {
         // New class in AST
         ast.newClass(id.getLexeme());
         
-        matcher("lbrace");
+        match(TokenKind.LBRACE);
         miembro_(true);
-        type = new Type(matcher("void"));
-        id = matcherWithLexeme("id","main");
+        match(TokenKind.VOID);
+        type = Type.VOID;
+        id = matcherWithLexeme(TokenKind.ID, "main");
         
         // New method in symbol table
         symbolTable.newMethod(id.getLexeme(), 
@@ -405,8 +900,8 @@ public class AnalizadorSintactico {
         // New method in AST
         ast.newMethod("main");
         
-        matcher("lparent");
-        matcher("rparent");
+        match(TokenKind.LPARENT);
+        match(TokenKind.RPARENT);
         bloqueMetodo(type);
         
         // Add main method
@@ -414,7 +909,7 @@ public class AnalizadorSintactico {
         
         metodoMain = true;
         miembro_(false);
-        matcher("rbrace");
+        match(TokenKind.RBRACE);
         claseMain = true;
         
         // Add Main class
@@ -422,11 +917,14 @@ public class AnalizadorSintactico {
         
         }
         catch (SyntacticErrorException e){
-            if (currentToken != null){
+            if (tokens.currentKind() != null){
                 throwException("In class Main: " + e.getMessage());
             }
             throwExceptionMatcher("EOF");
         }
+        finally{
+            prefixErrors(firstError, "In class Main: ");
+        }
     }
     
     private void clase()
@@ -435,11 +933,12 @@ public class AnalizadorSintactico {
                SemanticDeclarationException,
                SemanticSentenceException {
         
+        int firstError = errorCount();
         try{
-            matcher("class");
-            Token id = matcher("idclass");
-            Type type = new Type("Object");
-            if (inSet("colon")){
+            match(TokenKind.CLASS);
+            Token id = matcher(TokenKind.IDCLASS);
+            Type type = Type.OBJECT;
+            if (inSet(TokenKind.COLON)){
                 type = herencia();
             }
             
@@ -451,32 +950,34 @@ public class AnalizadorSintactico {
             // New class in AST
             ast.newClass(id.getLexeme());
             
-            matcher("lbrace");
+            match(TokenKind.LBRACE);
             miembro_(false);
-            matcher("rbrace");
-            
+            match(TokenKind.RBRACE);
             // Add class entry to table
             symbolTable.addClassEntry();
         }
         catch (SyntacticErrorException e){
             throwException("In class: " + e.getMessage());
         }
+        finally{
+            prefixErrors(firstError, "In class: ");
+        }
     }
     
     private Type herencia()
         throws IllegalTokenException,
                SyntacticErrorException {
         
-        if (inSet("colon")){
-            matcher("colon");
+        if (inSet(TokenKind.COLON)){
+            match(TokenKind.COLON);
             return tipo();
         }
-        else if (inSet("lbrace")){
+        else if (inSet(TokenKind.LBRACE)){
             ;
         }
         else{
             throwException("Expected colon or lbrace"
-                                + "but found " + currentToken.getToken());
+                                + "but found " + currentToken().getToken());
         }
         return null;
     }
@@ -488,11 +989,11 @@ public class AnalizadorSintactico {
                SemanticDeclarationException,
                SemanticSentenceException {
         
-        if (inSet("private","var","init","static","func")){
+        if (inSet(MEMBER_FIRST)){
             miembro(inClassMain);
             miembro_(inClassMain);
         }
-        else if (inSet("rbrace")){
+        else if (inSet(TokenKind.RBRACE)){
             ;
         }
     }
@@ -503,16 +1004,16 @@ public class AnalizadorSintactico {
                SemanticDeclarationException,
                SemanticSentenceException {
         
-        if (inSet("private","var")){
+        if (inSet(ATTRIBUTE_FIRST)){
             atributo();
         }
-        else if (inSet("init")){
+        else if (inSet(TokenKind.INIT)){
             constructor();
         }
-        else if (inSet("func", "static")){
+        else if (inSet(METHOD_FIRST)){
             metodo(inClassMain);
         }
-        else if (inSet("rbrace")){
+        else if (inSet(TokenKind.RBRACE)){
             ;
         }
     }
@@ -523,9 +1024,10 @@ public class AnalizadorSintactico {
                SemanticDeclarationException,
                SemanticSentenceException {
         
+        int firstError = errorCount();
         try{
-            Token id = matcher("init");
-            Type type = new Type(symbolTable.getNameCurrentClass());
+            Token id = matcher(TokenKind.INIT);
+            Type type = type(symbolTable.getNameCurrentClass());
             
             // New constructor in symbol table
             symbolTable.newMethod(id.getLexeme(), 
@@ -545,6 +1047,9 @@ public class AnalizadorSintactico {
         catch (SyntacticErrorException e){
             throwException("constructor: " + e.getMessage());
         }
+        finally{
+            prefixErrors(firstError, "constructor: ");
+        }
     }
     
     private void atributo()
@@ -554,10 +1059,10 @@ public class AnalizadorSintactico {
         
         try{
             boolean isPrivate = visibilidad();
-            matcher("var");
+            match(TokenKind.VAR);
             Type type = tipo();
             listaDeclaracionVariables(isPrivate, type);
-            matcher("semicolon");
+            match(TokenKind.SEMICOLON);
         }
         catch (SyntacticErrorException e){
             throwException("attribute: " + e.getMessage());
@@ -570,19 +1075,20 @@ public class AnalizadorSintactico {
                SemanticDeclarationException,
                SemanticSentenceException {
         
+        int firstError = errorCount();
         try{
         if (inClassMain){
-            if (inSet("static")){
-                if (inFutureSet("func")){
-                    matcher("static");
-                    matcher("func");
-                    if (inSet("void")){
-                        if (inFutureLexemeSet("main")){
+            if (inSet(TokenKind.STATIC)){
+                if (inSet(1, TokenKind.FUNC)){
+                    match(TokenKind.STATIC);
+                    match(TokenKind.FUNC);
+                    if (inSet(TokenKind.VOID)){
+                        if (hasLexeme(1, "main")){
                             return;
                         }
                     }
                     Type type = tipoMetodo();
-                    Token id = matcher("id");
+                    Token id = matcher(TokenKind.ID);
                     
                     // New method entry in symbol table
                     symbolTable.newMethod(id.getLexeme(), 
@@ -604,9 +1110,9 @@ public class AnalizadorSintactico {
         }
         
         boolean isStatic = formaMetodo();
-        matcher("func");
+        match(TokenKind.FUNC);
         Type type = tipoMetodo();
-        Token id = matcher("id");
+        Token id = matcher(TokenKind.ID);
         
         // New method entry in symbol table
         symbolTable.newMethod(id.getLexeme(), 
@@ -627,6 +1133,9 @@ public class AnalizadorSintactico {
         catch (SyntacticErrorException e){
             throwException("method: " + e.getMessage());
         }
+        finally{
+            prefixErrors(firstError, "method: ");
+        }
     }
     
     /**
@@ -639,8 +1148,8 @@ public class AnalizadorSintactico {
         throws IllegalTokenException,
                SyntacticErrorException {
         
-        if (inSet("private")){
-            matcher("private");
+        if (inSet(TokenKind.PRIVATE)){
+            match(TokenKind.PRIVATE);
             return true;
         }
         
@@ -657,8 +1166,8 @@ public class AnalizadorSintactico {
         throws IllegalTokenException,
                SyntacticErrorException {
         
-        if (inSet("static")){
-            matcher("static");
+        if (inSet(TokenKind.STATIC)){
+            match(TokenKind.STATIC);
             return true;
         }
         
@@ -671,11 +1180,10 @@ public class AnalizadorSintactico {
                SemanticDeclarationException,
                SemanticSentenceException {
         
-        matcher("lbrace");
+        match(TokenKind.LBRACE);
         declVarLocales_();
         sentencia_(ast.getSentencesList());
-        matcher("rbrace");
-        
+        match(TokenKind.RBRACE);
     }
     
     private void declVarLocales_()
@@ -683,7 +1191,7 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticDeclarationException {
         
-        if (inSet("var")){
+        if (inSet(TokenKind.VAR)){
             declVarLocales();
             declVarLocales_();
         }
@@ -694,11 +1202,10 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticDeclarationException {
         
-        matcher("var");
+        match(TokenKind.VAR);
         Type type = tipo();
         listaDeclaracionVariables(type);
-        matcher("semicolon");
-        
+        match(TokenKind.SEMICOLON);
     }
     
     /**
@@ -713,7 +1220,7 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticDeclarationException {
         
-        Token id = matcher("id");
+        Token id = matcher(TokenKind.ID);
         
         // Add atribute to class
         symbolTable.addLocal(id.getLexeme(), 
@@ -737,10 +1244,10 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticDeclarationException {
         
-        if (inSet("semicolon")){
+        if (inSet(TokenKind.SEMICOLON)){
             return;
         }
-        matcher("comma");
+        match(TokenKind.COMMA);
         listaDeclaracionVariables(type);
     }
     
@@ -758,7 +1265,7 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticDeclarationException {
         
-        Token id = matcher("id");
+        Token id = matcher(TokenKind.ID);
         
         // Add atribute to class
         symbolTable.addAttribute(id.getLexeme(), 
@@ -784,10 +1291,10 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticDeclarationException {
         
-        if (inSet("semicolon")){
+        if (inSet(TokenKind.SEMICOLON)){
             return;
         }
-        matcher("comma");
+        match(TokenKind.COMMA);
         listaDeclaracionVariables(isPrivate, type);
     }
     
@@ -796,7 +1303,7 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticDeclarationException {
         
-        matcher("lparent");
+        match(TokenKind.LPARENT);
         argumentosFormalesF();
         
     }
@@ -805,12 +1312,12 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticDeclarationException {
         
-        if (inSet("rparent")){
-            matcher("rparent");
+        if (inSet(TokenKind.RPARENT)){
+            match(TokenKind.RPARENT);
         }
         else{
             listaArgumentosFormales();
-            matcher("rparent");
+            match(TokenKind.RPARENT);
         }
     }
     
@@ -828,10 +1335,10 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticDeclarationException {
         
-        if (inSet("rparent")){
+        if (inSet(TokenKind.RPARENT)){
             return;
         }
-        matcher("comma");
+        match(TokenKind.COMMA);
         listaArgumentosFormales();
     }
     
@@ -841,7 +1348,7 @@ public class AnalizadorSintactico {
                SemanticDeclarationException {
         
         Type type = tipo();
-        Token id = matcher("id");
+        Token id = matcher(TokenKind.ID);
         
         // Add parameter
         symbolTable.addParameter(id.getLexeme(),
@@ -854,8 +1361,9 @@ public class AnalizadorSintactico {
         throws IllegalTokenException,
                SyntacticErrorException {
         
-        if (inSet("void")){
-            return new Type(matcher("void"));
+        if (inSet(TokenKind.VOID)){
+            match(TokenKind.VOID);
+            return Type.VOID;
         }
         
         return tipo();        
@@ -865,13 +1373,13 @@ public class AnalizadorSintactico {
         throws IllegalTokenException,
                SyntacticErrorException {
         
-        if (inSet("array")){
+        if (inSet(TokenKind.ARRAY)){
             return tipoArray();
         }
-        else if (inSet("idclass")){
+        else if (inSet(TokenKind.IDCLASS)){
             return tipoReferencia();
         }
-        else if (inSet("bool","int","string","char")){
+        else if (inSet(PRIMITIVE_TYPES)){
             return tipoPrimitivo();
         }
         else{
@@ -885,26 +1393,25 @@ public class AnalizadorSintactico {
         throws IllegalTokenException,
                SyntacticErrorException {
         
-        return new Type(matcherSomeTerminal("bool","int","string","char"));
+        return type(matcherSomeTerminal(PRIMITIVE_TYPES).getLexeme());
     }
     
     private Type tipoReferencia()
         throws IllegalTokenException,
                SyntacticErrorException {
         
-        return new Type(matcher("idclass"));
+        return type(matcher(TokenKind.IDCLASS).getLexeme());
     }
     
     private Type tipoArray()
         throws IllegalTokenException,
                SyntacticErrorException {
         
-        matcher("array");
+        match(TokenKind.ARRAY);
         Type type = tipoPrimitivo();
         
         // Is array
-        type.setArray();
-        return type;
+        return Type.arrayOf(type);
     }
     
     private void sentencia_(SentencesNode currentScope)
@@ -912,10 +1419,15 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        if (inSet("rbrace")){
+        if (inSet(TokenKind.RBRACE)){
             return;
         }
-        sentencia(currentScope);
+        try{
+            sentencia(currentScope);
+        }
+        catch (SyntacticErrorException e){
+            recoverSentence(e);
+        }
         sentencia_(currentScope);
     }
     private void sentencia(SentencesNode currentScope)
@@ -923,29 +1435,28 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        if (inSet("semicolon")){
-            matcher("semicolon");
+        if (inSet(TokenKind.SEMICOLON)){
+            match(TokenKind.SEMICOLON);
         }
         
-        else if (inSet("id","self")){
+        else if (inSet(ASSIGNMENT_FIRST)){
             
             // Add AssignmentNode to current list of sentences
             currentScope.addSentence(asignacion());
-            matcher("semicolon");
+            match(TokenKind.SEMICOLON);
         }
         
-        else if (inSet("lparent")){
+        else if (inSet(TokenKind.LPARENT)){
             currentScope.addSentence(sentenciaSimple());
-            matcher("semicolon");
+            match(TokenKind.SEMICOLON);
         }
         
-        else if (inSet("if")){
+        else if (inSet(TokenKind.IF)){
             
-            matcher("if");
-            matcher("lparent");
+            match(TokenKind.IF);
+            match(TokenKind.LPARENT);
             ExpressionNode exp = expresion();
-            matcher("rparent");
-            
+            match(TokenKind.RPARENT);
             // List of sentences on if
             SentencesNode ifSentences = new SentencesNode();
             sentencia(ifSentences);
@@ -960,13 +1471,12 @@ public class AnalizadorSintactico {
                                                 elseSentences));
         }
         
-        else if (inSet("while")){
+        else if (inSet(TokenKind.WHILE)){
             
-            matcher("while");
-            matcher("lparent");
+            match(TokenKind.WHILE);
+            match(TokenKind.LPARENT);
             ExpressionNode exp = expresion();
-            matcher("rparent");
-            
+            match(TokenKind.RPARENT);
             // List of sentences
             SentencesNode whileSentences = new SentencesNode();
             sentencia(whileSentences);
@@ -976,19 +1486,19 @@ public class AnalizadorSintactico {
                                                    whileSentences));
         }
         
-        else if (inSet("return")){
-            matcher("return");
+        else if (inSet(TokenKind.RETURN)){
+            match(TokenKind.RETURN);
             currentScope.addSentence(returnNoTerminal());
-            matcher("semicolon");
+            match(TokenKind.SEMICOLON);
         }
         
-        else if (inSet("lbrace")){
+        else if (inSet(TokenKind.LBRACE)){
             bloque(currentScope);
         }
         
         else {
             throwException("Invalid sentence: " + 
-                           currentToken.getToken() +
+                           currentToken().getToken() +
                            " found");
         }
     }
@@ -997,9 +1507,9 @@ public class AnalizadorSintactico {
         throws IllegalTokenException,
                SyntacticErrorException,
                SemanticSentenceException {
-
-        if (inSet("else")){
-            matcher("else");
+        
+        if (inSet(TokenKind.ELSE)){
+            match(TokenKind.ELSE);
             sentencia(currentScope);
         }
     }
@@ -1008,7 +1518,7 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        if (inSet("semicolon")){
+        if (inSet(TokenKind.SEMICOLON)){
             return null;
         }
         
@@ -1021,9 +1531,9 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        matcher("lbrace");
+        match(TokenKind.LBRACE);
         sentencia_(currentScope);
-        matcher("rbrace");
+        match(TokenKind.RBRACE);
     }
     
     private AssignmentNode asignacion()
@@ -1034,29 +1544,29 @@ public class AnalizadorSintactico {
         AssignmentNode node = null;
         
         try{
-            if (inSet("id")){
+            if (inSet(TokenKind.ID)){
                 ChainingNode chain = accesoVarSimple();
-                matcher("assign");
+                match(TokenKind.ASSIGN);
                 ExpressionNode expNode = expresion();
                 node = new AssignmentNode(chain, expNode);
             }
             
-            else if (inSet("self")){
+            else if (inSet(TokenKind.SELF)){
                 ChainingNode chain = accesoSelfSimple();
-                matcher("assign");
+                match(TokenKind.ASSIGN);
                 ExpressionNode expNode = expresion();
                 node = new AssignmentNode(chain, expNode);
             }
             
             else{
                 throwException("An assignment was expected but found " +
-                               currentToken.getToken());
+                               currentToken().getToken());
             }
         }
         catch (SyntacticErrorException e){
             
             // if it's necessary?
-            if (currentToken != null){
+            if (tokens.currentKind() != null){
                 throwException("assignment: " + e.getMessage());
             }
             throwExceptionMatcher("EOF");
@@ -1070,7 +1580,7 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        Token token = matcher("id");
+        Token token = matcher(TokenKind.ID);
         // Send lexeme and row of id (accesoVarSimpleF creates the Node)
         return accesoVarSimpleF(token.getLexeme(), token.getLine());
     }
@@ -1082,20 +1592,21 @@ public class AnalizadorSintactico {
         
         ChainingNode chain = null;
         
-        if (inSet("lbracket")){
-            matcher("lbracket");
+        if (inSet(TokenKind.LBRACKET)){
+            match(TokenKind.LBRACKET);
             ExpressionNode expNode = expresion();
-            matcher("rbracket");
-            
+            match(TokenKind.RBRACKET);
             // New node for AST
             chain = new ChainingNode(new ArrayNode(id,
+                                                   symbol(id),
                                                    expNode,
                                                    line));
         }
         
-        else if (inSet("dot", "assign")){
+        else if (inSet(SIMPLE_CHAINING_FIRST)){
                 ChainingNode post = encadenadoSimple_();
                 chain = new ChainingNode(new VarNode(id,
+                                                     symbol(id),
                                                      line),
                                          post);
         }
@@ -1108,12 +1619,12 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        Token token = matcher("self");
+        Token token = matcher(TokenKind.SELF);
         ChainingNode chain = encadenadoSimple_();
         
         // Saves the name of current class for self reference
         return new ChainingNode(new SelfNode(symbolTable.getNameCurrentClass(),
-                                             new Type(symbolTable.getNameCurrentClass()),
+                                             type(symbolTable.getNameCurrentClass()),
                                              token.getLine()),
                                 chain);
     }
@@ -1123,7 +1634,7 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        if (inSet("assign")){
+        if (inSet(TokenKind.ASSIGN)){
             return null;
         }
         
@@ -1131,6 +1642,7 @@ public class AnalizadorSintactico {
         ChainingNode chain = encadenadoSimple_();
         
         return new ChainingNode(new VarNode(token.getLexeme(),
+                                            symbol(token.getLexeme()),
                                             token.getLine()),
                                 chain);
     }
@@ -1139,8 +1651,8 @@ public class AnalizadorSintactico {
         throws IllegalTokenException,
                SyntacticErrorException {
         
-        matcher("dot");
-        return matcher("id");
+        match(TokenKind.DOT);
+        return matcher(TokenKind.ID);
     }
     
     private ExpressionNode sentenciaSimple()
@@ -1148,324 +1660,195 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        matcher("lparent");
+        match(TokenKind.LPARENT);
         ExpressionNode exp = expresion();
-        matcher("rparent");
+        match(TokenKind.RPARENT);
         return exp;
     }
     
+    /**
+     * Parses an expression with the LL(1) table of ExpressionGrammar and
+     * an explicit stack (operators and parentheses do not use the Java
+     * stack); the other operands are parsed by operando().
+     * The stacks are shared by nested expressions: every call works over
+     * the top of stacks.
+     * 
+     * @return the expression
+     * @throws IllegalTokenException lexical analyzer error
+     * @throws SyntacticErrorException no alternative for current token
+     * @throws SemanticSentenceException 
+     */
     private ExpressionNode expresion()
         throws IllegalTokenException,
                SyntacticErrorException,
                SemanticSentenceException {
         
-        return expOr();
-    }
-    
-    private ExpressionNode expOr()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        ExpressionNode exp = expAnd();
-        ExpressionNode right = expOr_();
-        
-        if (right != null){
-            exp = new BinaryExpressionNode(exp, 
-                                           right, 
-                                           new OperatorNode("||", exp.getLine()));
-        }
-        
-        return exp;
-    }
-    
-    private ExpressionNode expOr_()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        ExpressionNode exp = null;
+        Grammar grammar = ExpressionGrammar.GRAMMAR;
+        int symbolsBase = symbolsTop;
+        int valuesBase = valuesTop;
+        // Last token matched (operators)
+        Token last = null;
         
-        if (inSet("or")){
-            matcher("or");
-            exp = expAnd();
-            ExpressionNode right = expOr_();
+        try{
+            pushSymbol(ExpressionGrammar.EXPRESION);
             
-            if (right != null){
-                exp = new BinaryExpressionNode(exp, 
-                                               right, 
-                                               new OperatorNode("||",exp.getLine()));
+            while (symbolsTop > symbolsBase){
+                int symbol = symbols[--symbolsTop];
+                
+                if (Grammar.isAction(symbol)){
+                    reduceExpression(Grammar.actionCode(symbol), last);
+                }
+                else if (Grammar.isTerminal(symbol)){
+                    // Only the token of an operator is used (see OPERATOR)
+                    if (symbolsTop > symbolsBase &&
+                        symbols[symbolsTop - 1] == OPERATOR_ACTION){
+                        last = matcher(Grammar.kindOf(symbol));
+                    }
+                    else{
+                        match(Grammar.kindOf(symbol));
+                    }
+                }
+                else if (grammar.isExternal(symbol)){
+                    pushValue(operando());
+                }
+                else{
+                    int production = grammar.predict(symbol,
+                                                     tokens.currentKind());
+                    if (production == -1){
+                        throwException(grammar.error(symbol));
+                    }
+                    int[] right = grammar.right(production);
+                    for (int i = right.length - 1; i >= 0; i--){
+                        pushSymbol(right[i]);
+                    }
+                }
             }
-        }
-        
-        return exp;
-    }
-    
-    private ExpressionNode expAnd()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        ExpressionNode exp = expIgual();
-        ExpressionNode right = expAnd_();
-        
-        if (right != null){
-            exp = new BinaryExpressionNode(exp,
-                                           right,
-                                           new OperatorNode("&&", exp.getLine()));
-        }
-        
-        return exp;
-    }
-    
-    private ExpressionNode expAnd_()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        ExpressionNode exp = null;
-        
-        if (inSet("and")){
-            matcher("and");
-            exp = expIgual();
-            ExpressionNode right = expAnd_();
             
-            if (right != null){
-                exp = new BinaryExpressionNode(exp,
-                                               right, 
-                                               new OperatorNode("&&",exp.getLine()));
-            }
+            return (ExpressionNode) values[valuesBase];
         }
-        
-        return exp;
-    }
-    
-    private ExpressionNode expIgual()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        ExpressionNode exp = expCompuesta();
-        BinaryExpressionNode node = expIgual_();
-        
-        if (node != null){
-            node.setLeftOp(exp);
-            exp = node;
+        finally{
+            // Also after an error: the caller continues over its stacks
+            symbolsTop = symbolsBase;
+            Arrays.fill(values, valuesBase, valuesTop, null);
+            valuesTop = valuesBase;
         }
-        
-        return exp;
     }
     
-    private BinaryExpressionNode expIgual_()
+    /**
+     * Semantic actions of ExpressionGrammar: build the nodes as the
+     * recursive methods (expOr, expOr_, expIgual, expIgual_...) did
+     * 
+     * @param action the code of action
+     * @param last the last token matched
+     * @throws IllegalTokenException lexical analyzer error
+     * @throws SyntacticErrorException in the chaining of parentheses
+     * @throws SemanticSentenceException 
+     */
+    private void reduceExpression(int action, Token last)
         throws IllegalTokenException,
                SyntacticErrorException,
                SemanticSentenceException {
         
-        BinaryExpressionNode exp = null;
-        
-        if (inSet("equal","noteq")){
-            OperatorNode op = opIgual();
-            ExpressionNode temp = expCompuesta();
-            BinaryExpressionNode node = expIgual_();
+        switch (action){
+            case ExpressionGrammar.OPERATOR:
+                pushValue(new OperatorNode(last.getLexeme(), last.getLine()));
+                break;
             
-            exp = new BinaryExpressionNode(op);
-
-            if (node != null){
-                node.setLeftOp(temp);
-                exp.setRightOp(node);
+            case ExpressionGrammar.NULL:
+                pushValue(null);
+                break;
+            
+            // left (|| or &&) right
+            case ExpressionGrammar.OR:
+            case ExpressionGrammar.AND:{
+                ExpressionNode right = (ExpressionNode) popValue();
+                ExpressionNode exp = (ExpressionNode) popValue();
+                if (right != null){
+                    String operator = action == ExpressionGrammar.OR ? "||" 
+                                                                     : "&&";
+                    exp = new BinaryExpressionNode(exp,
+                                                   right,
+                                                   new OperatorNode(operator,
+                                                                    exp.getLine()));
+                }
+                pushValue(exp);
+                break;
             }
-            else {
-                exp.setRightOp(temp);
+            
+            // First operand of a tail (if any)
+            case ExpressionGrammar.JOIN:{
+                BinaryExpressionNode node = (BinaryExpressionNode) popValue();
+                ExpressionNode exp = (ExpressionNode) popValue();
+                if (node != null){
+                    node.setLeftOp(exp);
+                    exp = node;
+                }
+                pushValue(exp);
+                break;
             }
-        }
-        
-        return exp;
-    }
-    
-    private ExpressionNode expCompuesta()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        ExpressionNode exp = expAd();
-        BinaryExpressionNode node = expCompuestaF();
-        
-        if (node != null){
-            node.setLeftOp(exp);
-            exp = node;
-        }
-        
-        return exp;
-    }
-    
-    private BinaryExpressionNode expCompuestaF()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        BinaryExpressionNode exp = null;
-        
-        if(inSet("less","greater","leq","geq")){
-            OperatorNode op = opCompuesto();
-            ExpressionNode temp = expAd();
-            exp = new BinaryExpressionNode(op);
-            exp.setRightOp(temp);
-        }
-        
-        return exp;
-    }
-    
-    private ExpressionNode expAd()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        ExpressionNode exp = null;
-        
-        exp = expMul();
-        BinaryExpressionNode node = expAd_();
-        
-        if (node != null){
-            node.setLeftOp(exp);
-            exp = node;
-        }
-        
-        return exp;
-    }
-    
-    private BinaryExpressionNode expAd_()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        BinaryExpressionNode exp = null;
-        
-        if (inSet("plus","minus")){
-            OperatorNode op = opAd();
-            ExpressionNode temp = expMul();
-            BinaryExpressionNode node = expAd_();
             
-            exp = new BinaryExpressionNode(op);
-
-            if (node != null){
-                node.setLeftOp(temp);
-                exp.setRightOp(node);
+            // op temp tail: right associative
+            case ExpressionGrammar.TAIL:{
+                BinaryExpressionNode node = (BinaryExpressionNode) popValue();
+                ExpressionNode temp = (ExpressionNode) popValue();
+                OperatorNode op = (OperatorNode) popValue();
+                BinaryExpressionNode exp = new BinaryExpressionNode(op);
+                if (node != null){
+                    node.setLeftOp(temp);
+                    exp.setRightOp(node);
+                }
+                else {
+                    exp.setRightOp(temp);
+                }
+                pushValue(exp);
+                break;
             }
-            else {
+            
+            case ExpressionGrammar.RELATIONAL:{
+                ExpressionNode temp = (ExpressionNode) popValue();
+                OperatorNode op = (OperatorNode) popValue();
+                BinaryExpressionNode exp = new BinaryExpressionNode(op);
                 exp.setRightOp(temp);
+                pushValue(exp);
+                break;
             }
-        }
-        
-        return exp;
-    }
-    
-    private ExpressionNode expMul()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        ExpressionNode exp = null;
-        
-        exp = expUn();
-        BinaryExpressionNode node = expMul_();
-        
-        if (node != null){
-            node.setLeftOp(exp);
-            exp = node;
-        }
-        
-        return exp;
-    }
-    
-    private BinaryExpressionNode expMul_()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        BinaryExpressionNode exp = null;
-        
-        if (inSet("ast","div","mod")){
-            OperatorNode op = opMul();
-            ExpressionNode temp = expUn();
-            BinaryExpressionNode node = expMul_();
             
-            exp = new BinaryExpressionNode(op);
-
-            if (node != null){
-                node.setLeftOp(temp);
-                exp.setRightOp(node);
+            case ExpressionGrammar.UNARY:{
+                ExpressionNode operand = (ExpressionNode) popValue();
+                OperatorNode op = (OperatorNode) popValue();
+                pushValue(new UnaryExpressionNode(op, operand));
+                break;
             }
-            else {
-                exp.setRightOp(temp);
+            
+            // ( expression ) chaining
+            case ExpressionGrammar.PAREN:{
+                ExpressionNode expression = (ExpressionNode) popValue();
+                ChainingExpressionNode chain = encadenado();
+                pushValue(new ChainingExpressionNode(expression,
+                                                     chain));
+                break;
             }
         }
-        
-        return exp;
     }
     
-    private ExpressionNode expUn()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        ExpressionNode exp = null;
-        
-        if (inSet("plus","minus","not")){
-            OperatorNode op = opUnario();
-            ExpressionNode operand = expUn();
-            exp = new UnaryExpressionNode(op, operand);
-        }
-        else{
-            if (inSet("nil","true","false","intlit","stringlit","charlit",
-                        "lparent","self","id","idclass","new")){
-                exp = operando();
-            }
-            else{
-                throwException("Unindentified expresion");
-            }
+    private void pushSymbol(int symbol){
+        if (symbolsTop == symbols.length){
+            symbols = Arrays.copyOf(symbols, symbolsTop * 2);
         }
-        
-        return exp;
-    }
-    
-    private OperatorNode opIgual()
-        throws IllegalTokenException,
-               SyntacticErrorException {
-        
-        Token token = matcherSomeTerminal("equal","noteq");
-        return new OperatorNode(token.getLexeme(), token.getLine());
+        symbols[symbolsTop++] = symbol;
     }
     
-    private OperatorNode opCompuesto()
-        throws IllegalTokenException,
-               SyntacticErrorException {
-        
-        Token token = matcherSomeTerminal("less","greater","leq","geq");
-        return new OperatorNode(token.getLexeme(), token.getLine());
-    }
-    
-    private OperatorNode opAd()
-        throws IllegalTokenException,
-               SyntacticErrorException {
-        
-        Token token = matcherSomeTerminal("plus","minus");
-        return new OperatorNode(token.getLexeme(), token.getLine());
+    private void pushValue(Object value){
+        if (valuesTop == values.length){
+            values = Arrays.copyOf(values, valuesTop * 2);
+        }
+        values[valuesTop++] = value;
     }
     
-    private OperatorNode opUnario()
-        throws IllegalTokenException,
-               SyntacticErrorException {
-        
-        Token token = matcherSomeTerminal("plus","minus","not");
-        return new OperatorNode(token.getLexeme(), token.getLine());
-    }
-    
-    private OperatorNode opMul()
-        throws IllegalTokenException,
-               SyntacticErrorException {
-        
-        Token token = matcherSomeTerminal("ast","div","mod");
-        return new OperatorNode(token.getLexeme(), token.getLine());
+    private Object popValue(){
+        Object value = values[--valuesTop];
+        values[valuesTop] = null;
+        return value;
     }
     
     private ExpressionNode operando()
@@ -1475,11 +1858,11 @@ public class AnalizadorSintactico {
         
         ExpressionNode exp = null;
         
-        if (inSet("nil","true","false","intlit","stringlit","charlit")){
+        if (inSet(LITERALS)){
             exp = literal();
         }
         
-        else if (inSet("lparent","self","id","idclass","new")){
+        else if (inSet(PRIMARY_FIRST)){
             
             /*
              * Grammar modification (see report etapa4)
@@ -1502,10 +1885,9 @@ public class AnalizadorSintactico {
         throws IllegalTokenException,
                SyntacticErrorException {
         
-        Token token = matcherSomeTerminal("nil","true","false","intlit",
-                                                        "stringlit","charlit");
+        Token token = matcherSomeTerminal(LITERALS);
         return new LiteralNode(token.getLexeme(),
-                               Type.obtainLiteralType(token.getToken()),
+                               Type.obtainLiteralType(token.getKind()),
                                token.getLine());
     }
     
@@ -1516,53 +1898,37 @@ public class AnalizadorSintactico {
         
         ChainingExpressionNode exp = null;
         
-        if (inSet("lparent")){
-            exp = expresionParentizada();
-        }
-        
-        else if (inSet("self")){
+        // Parenthesized expressions are in ExpressionGrammar
+        if (inSet(TokenKind.SELF)){
             exp = accesoSelf();
         }
         
-        else if (inSet("new")){
+        else if (inSet(TokenKind.NEW)){
             exp = llamadaConstructor();
         }
         
-        else if (inSet("id")){
-            Token token = matcher("id");
+        else if (inSet(TokenKind.ID)){
+            Token token = matcher(TokenKind.ID);
             exp = primarioId(token.getLexeme(), token.getLine());
         }
-        else if (inSet("idclass")){
+        else if (inSet(TokenKind.IDCLASS)){
             exp = llamadaMetodoEstatico();
         }
         
         return exp;
     }
     
-    private ChainingExpressionNode expresionParentizada()
-        throws IllegalTokenException,
-               SyntacticErrorException,
-               SemanticSentenceException {
-        
-        matcher("lparent");
-        ExpressionNode expression = expresion();
-        matcher("rparent");
-        ChainingExpressionNode chain = encadenado();
-        
-        return new ChainingExpressionNode(expression,
-                                          chain);
-    }
-    
     private ChainingExpressionNode accesoSelf()
         throws IllegalTokenException,
                SyntacticErrorException,
                SemanticSentenceException {
         
-        int line = matcher("self").getLine();
+        int line = matcher(TokenKind.SELF).getLine();
         ChainingExpressionNode chain = encadenado();
         
         return new ChainingExpressionNode(
                     new SelfExpressionNode(symbolTable.getNameCurrentClass(),
+                                           type(symbolTable.getNameCurrentClass()),
                                            line),
                     chain);
     }
@@ -1574,16 +1940,16 @@ public class AnalizadorSintactico {
         
         ChainingExpressionNode chain = null;
         
-        if (inSet("lparent")){
+        if (inSet(TokenKind.LPARENT)){
             chain = llamadaMetodo(id, line);
         }
-        else if (inSet("dot", "lbracket")){
+        else if (inSet(ACCESS_FIRST)){
             chain = accesoVar(id, line);
         }
         else{
-            chain = new ChainingExpressionNode(new IdExpressionNode(id, line));
+            chain = new ChainingExpressionNode(new IdExpressionNode(id, symbol(id), line));
         }
-
+        
         return chain;
     }
     
@@ -1594,19 +1960,19 @@ public class AnalizadorSintactico {
         
         ChainingExpressionNode chain = null;
         
-        if (inSet("dot")){
+        if (inSet(TokenKind.DOT)){
             ChainingExpressionNode postChain = encadenado();
             chain = new ChainingExpressionNode(
-                        new IdExpressionNode(id, line),
+                        new IdExpressionNode(id, symbol(id), line),
                         postChain);
         }
         
-        else if (inSet("lbracket")){
-            matcher("lbracket");
+        else if (inSet(TokenKind.LBRACKET)){
+            match(TokenKind.LBRACKET);
             ExpressionNode exp = expresion();
-            matcher("rbracket");
+            match(TokenKind.RBRACKET);
             chain = new ChainingExpressionNode(
-                        new ArrayExpressionNode(id, exp, line));
+                        new ArrayExpressionNode(id, symbol(id), exp, line));
         }
         
         return chain;
@@ -1621,7 +1987,7 @@ public class AnalizadorSintactico {
         ChainingExpressionNode chain = encadenado();
         
         return new ChainingExpressionNode(
-                    new CallExpressionNode(id, args, 
+                    new CallExpressionNode(id, symbol(id), args, 
                                            symbolTable.getNameCurrentClass(),line),
                     chain); 
     }
@@ -1631,9 +1997,9 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        Token idClass = matcher("idclass");
-        matcher("dot");
-        Token id = matcher("id");
+        Token idClass = matcher(TokenKind.IDCLASS);
+        match(TokenKind.DOT);
+        Token id = matcher(TokenKind.ID);
         ChainingExpressionNode chain = llamadaMetodo(id.getLexeme(), id.getLine());
         encadenado(); // Ignore
         
@@ -1648,7 +2014,7 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        matcher("new");
+        match(TokenKind.NEW);
         return llamadaConstructorF();
     }
     
@@ -1659,8 +2025,8 @@ public class AnalizadorSintactico {
         
         ChainingExpressionNode newConstructor = null;
         
-        if (inSet("idclass")){
-            Token idClass = matcher("idclass");
+        if (inSet(TokenKind.IDCLASS)){
+            Token idClass = matcher(TokenKind.IDCLASS);
             ArrayList<ExpressionNode> args = argumentosActuales();
             ChainingExpressionNode chain = encadenado();
             newConstructor = new ChainingExpressionNode(
@@ -1669,11 +2035,11 @@ public class AnalizadorSintactico {
                                                       idClass.getLine()),
                                 chain);
         }
-        else if (inSet("bool","int","string","char")){
+        else if (inSet(PRIMITIVE_TYPES)){
             Type type = tipoPrimitivo();
-            matcher("lbracket");
+            match(TokenKind.LBRACKET);
             ExpressionNode exp = expresion();
-            matcher("rbracket");
+            match(TokenKind.RBRACKET);
             newConstructor = new ChainingExpressionNode(
                                 new NewExpressionNode(type.toString(),
                                                       exp,
@@ -1691,7 +2057,7 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        matcher("lparent");
+        match(TokenKind.LPARENT);
         return argumentosActualesF();
     }
     
@@ -1702,13 +2068,12 @@ public class AnalizadorSintactico {
         
         ArrayList<ExpressionNode> args = new ArrayList();
         
-        if (inSet("rparent")){
-            matcher("rparent");
+        if (inSet(TokenKind.RPARENT)){
+            match(TokenKind.RPARENT);
         }
-        else if (inSet("plus","minus","not","nil","true","false","intlit",
-                        "stringlit","charlit","lparent","self","id","new")){
+        else if (inSet(ARGUMENTS_FIRST)){
             listaExpresiones(args);
-            matcher("rparent");
+            match(TokenKind.RPARENT);
         }
         else{
             throwException("Error");
@@ -1731,11 +2096,11 @@ public class AnalizadorSintactico {
                SyntacticErrorException,
                SemanticSentenceException {
         
-        if (inSet("comma")){
-            matcher("comma");
+        if (inSet(TokenKind.COMMA)){
+            match(TokenKind.COMMA);
             listaExpresiones(args);
         }
-        else if (inSet("rparent")){
+        else if (inSet(TokenKind.RPARENT)){
             return;
         }
         else{
@@ -1750,9 +2115,9 @@ public class AnalizadorSintactico {
         
         ChainingExpressionNode chain = null;
         
-        if (inSet("dot")){
-            matcher("dot");
-            Token token = matcher("id");
+        if (inSet(TokenKind.DOT)){
+            match(TokenKind.DOT);
+            Token token = matcher(TokenKind.ID);
             chain = encadenadoF(token.getLexeme(), token.getLine());
         }
         
@@ -1766,14 +2131,14 @@ public class AnalizadorSintactico {
         
         ChainingExpressionNode chain = null;
         
-        if (inSet("lparent")){
+        if (inSet(TokenKind.LPARENT)){
             chain = llamadaMetodoEncadenado(id, line);
         }
-        else if (inSet("dot","lbracket")){
+        else if (inSet(ACCESS_FIRST)){
             chain = accesoVariableEncadenado(id, line);
         }
         else{
-            chain = new ChainingExpressionNode(new IdExpressionNode(id, line));
+            chain = new ChainingExpressionNode(new IdExpressionNode(id, symbol(id), line));
         }
         
         return chain;
@@ -1788,7 +2153,7 @@ public class AnalizadorSintactico {
         ChainingExpressionNode chain = encadenado();
         
         return new ChainingExpressionNode(
-                    new CallExpressionNode(id, args, 
+                    new CallExpressionNode(id, symbol(id), args, 
                                            symbolTable.getNameCurrentClass(), line),
                     chain);
     }
@@ -1800,18 +2165,18 @@ public class AnalizadorSintactico {
         
         ChainingExpressionNode chain = null;
         
-        if (inSet("dot")){
+        if (inSet(TokenKind.DOT)){
             ChainingExpressionNode postChain = encadenado();
             chain = new ChainingExpressionNode(
-                        new IdExpressionNode(id, line),
+                        new IdExpressionNode(id, symbol(id), line),
                         postChain);
         }
-        else if (inSet("lbracket")){
-            matcher("lbracket");
+        else if (inSet(TokenKind.LBRACKET)){
+            match(TokenKind.LBRACKET);
             ExpressionNode exp = expresion();
-            matcher("rbracket");
+            match(TokenKind.RBRACKET);
             chain = new ChainingExpressionNode(
-                        new ArrayExpressionNode(id, exp, line));
+                        new ArrayExpressionNode(id, symbol(id), exp, line));
         }
         else{
             throwException("Imposible acceder a variable");
@@ -5,11 +5,13 @@
 package analizadorsintactico;
 
 import analizadorlexico.AnalizadorLexico;
+import analizadorlexico.Diagnostics;
 import analizadorlexico.IllegalTokenException;
 import analizadorlexico.Token;
+import java.util.List;
 
 /**
- *
+ * 
  * @author emiliano
  */
 public class Ejecutador {
@@ -21,9 +23,21 @@ public class Ejecutador {
     public static void main(String[] args) {
         //System.out.println(String.valueOf((int) '¨'));
         //System.out.println(Arrays.toString(args));
+        // Only the messages of errors are printed
+        Diagnostics.setEnabled(true);
+        AnalizadorSintactico syntactic = null;
         try{
             AnalizadorLexico lexical = new AnalizadorLexico(args);
-            AnalizadorSintactico syntactic = new AnalizadorSintactico(lexical);
+            // Lexer in other thread if there is more than one processor
+            if (Runtime.getRuntime().availableProcessors() > 1){
+                String nameFile = lexical.getNameOfFile();
+                syntactic = new AnalizadorSintactico(lexical.pipeline(),
+                                                     nameFile);
+            }
+            else{
+                syntactic = new AnalizadorSintactico(lexical);
+            }
+            syntactic.setRecovery(true);
             if (syntactic.program()){
                 System.out.println("CORRECTO: ANALISIS SINTACTICO");
             }
@@ -33,9 +47,7 @@ public class Ejecutador {
         }
         catch (SyntacticErrorException e){
             System.err.printf("ERROR: SINTACTICO\n");
-            System.err.printf("| %d | %d | %s |\n", e.getLine(),
-                                                    e.getColumn(),
-                                                    e.getMessage());
+            printErrors(syntactic, e);
         }
         catch (IllegalTokenException e){
             System.err.printf("ERROR: LEXICO\n");
@@ -49,6 +61,26 @@ public class Ejecutador {
         }
     }
     
+    /**
+     * Prints all the syntax errors found (recovery mode)
+     * 
+     * @param syntactic the syntactic analyzer (null if it was not created)
+     * @param e the error thrown
+     */
+    private static void printErrors(AnalizadorSintactico syntactic,
+                                    SyntacticErrorException e){
+        
+        List<SyntacticErrorException> errors = List.of(e);
+        if (syntactic != null && !syntactic.getErrors().isEmpty()){
+            errors = syntactic.getErrors();
+        }
+        for (SyntacticErrorException error : errors){
+            System.err.printf("| %d | %d | %s |\n", error.getLine(),
+                                                    error.getColumn(),
+                                                    error.getMessage());
+        }
+    }
+    
     /**
      * Prints tokens
      * @param lexical Lexical Analyzer for input file
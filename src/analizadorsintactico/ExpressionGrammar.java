@@ -0,0 +1,136 @@
+package analizadorsintactico;
+
+import analizadorlexico.TokenKind;
+
+/**
+ * Grammar of expressions of tinySwift+ (from expresion to operando), with
+ * the semantic actions that build the AST as the recursive methods did.
+ * Parenthesized expressions are in the grammar, so their nesting uses the
+ * explicit stack too. The other operands (literals and primaries with
+ * their chaining) are an external symbol: they are parsed by
+ * AnalizadorSintactico.operando().
+ * 
+ *      expresion     -> expAnd expOr_ #OR
+ *      expOr_        -> || expAnd expOr_ #OR | #NULL
+ *      expAnd        -> expIgual expAnd_ #AND
+ *      expAnd_       -> && expIgual expAnd_ #AND | #NULL
+ *      expIgual      -> expCompuesta expIgual_ #JOIN
+ *      expIgual_     -> opIgual expCompuesta expIgual_ #TAIL | #NULL
+ *      expCompuesta  -> expAd expCompuestaF #JOIN
+ *      expCompuestaF -> opCompuesto expAd #RELATIONAL | #NULL
+ *      expAd         -> expMul expAd_ #JOIN
+ *      expAd_        -> opAd expMul expAd_ #TAIL | #NULL
+ *      expMul        -> expUn expMul_ #JOIN
+ *      expMul_       -> opMul expUn expMul_ #TAIL | #NULL
+ *      expUn         -> opUnario expUn #UNARY | ( expresion ) #PAREN
+ *                       | operando
+ *      opX           -> (operator) #OPERATOR
+ * 
+ * @author emiliano
+ * @see analizadorsintactico.AnalizadorSintactico
+ */
+final class ExpressionGrammar {
+    
+    // Actions (see AnalizadorSintactico.expresion())
+    static final int OPERATOR = 0;   // pushes the operator of last token
+    static final int NULL = 1;       // pushes null (empty alternative)
+    static final int OR = 2;         // joins left || right
+    static final int AND = 3;        // joins left && right
+    static final int JOIN = 4;       // sets left operand of binary tail
+    static final int TAIL = 5;       // builds binary tail: op operand tail
+    static final int RELATIONAL = 6; // builds binary tail: op operand
+    static final int UNARY = 7;      // builds unary: op operand
+    static final int PAREN = 8;      // builds ( expression ) chaining
+    
+    static final Grammar GRAMMAR = new Grammar();
+    
+    // Symbols
+    static final int EXPRESION;
+    static final int OPERANDO;
+    
+    static {
+        Grammar g = GRAMMAR;
+        String error = "Unindentified expresion";
+        
+        int expresion = g.nonterminal("expresion", error);
+        int expOr_ = g.nonterminal("expOr_", error);
+        int expAnd = g.nonterminal("expAnd", error);
+        int expAnd_ = g.nonterminal("expAnd_", error);
+        int expIgual = g.nonterminal("expIgual", error);
+        int expIgual_ = g.nonterminal("expIgual_", error);
+        int expCompuesta = g.nonterminal("expCompuesta", error);
+        int expCompuestaF = g.nonterminal("expCompuestaF", error);
+        int expAd = g.nonterminal("expAd", error);
+        int expAd_ = g.nonterminal("expAd_", error);
+        int expMul = g.nonterminal("expMul", error);
+        int expMul_ = g.nonterminal("expMul_", error);
+        int expUn = g.nonterminal("expUn", error);
+        int opIgual = operator(g, "opIgual", TokenKind.EQUAL, TokenKind.NOTEQ);
+        int opCompuesto = operator(g, "opCompuesto",
+                                   TokenKind.LESS, TokenKind.GREATER,
+                                   TokenKind.LEQ, TokenKind.GEQ);
+        int opAd = operator(g, "opAd", TokenKind.PLUS, TokenKind.MINUS);
+        int opUnario = operator(g, "opUnario",
+                                TokenKind.PLUS, TokenKind.MINUS, TokenKind.NOT);
+        int opMul = operator(g, "opMul",
+                             TokenKind.AST, TokenKind.DIV, TokenKind.MOD);
+        int operando = g.external("operando",
+                                  TokenSet.of(TokenKind.NIL, TokenKind.TRUE,
+                                              TokenKind.FALSE, TokenKind.INTLIT,
+                                              TokenKind.STRINGLIT,
+                                              TokenKind.CHARLIT, TokenKind.SELF,
+                                              TokenKind.ID, TokenKind.IDCLASS,
+                                              TokenKind.NEW));
+        
+        g.production(expresion, expAnd, expOr_, Grammar.action(OR));
+        g.production(expOr_, Grammar.terminal(TokenKind.OR), expAnd, expOr_,
+                     Grammar.action(OR));
+        g.production(expOr_, Grammar.action(NULL));
+        
+        g.production(expAnd, expIgual, expAnd_, Grammar.action(AND));
+        g.production(expAnd_, Grammar.terminal(TokenKind.AND), expIgual,
+                     expAnd_, Grammar.action(AND));
+        g.production(expAnd_, Grammar.action(NULL));
+        
+        g.production(expIgual, expCompuesta, expIgual_, Grammar.action(JOIN));
+        g.production(expIgual_, opIgual, expCompuesta, expIgual_,
+                     Grammar.action(TAIL));
+        g.production(expIgual_, Grammar.action(NULL));
+        
+        g.production(expCompuesta, expAd, expCompuestaF, Grammar.action(JOIN));
+        g.production(expCompuestaF, opCompuesto, expAd,
+                     Grammar.action(RELATIONAL));
+        g.production(expCompuestaF, Grammar.action(NULL));
+        
+        g.production(expAd, expMul, expAd_, Grammar.action(JOIN));
+        g.production(expAd_, opAd, expMul, expAd_, Grammar.action(TAIL));
+        g.production(expAd_, Grammar.action(NULL));
+        
+        g.production(expMul, expUn, expMul_, Grammar.action(JOIN));
+        g.production(expMul_, opMul, expUn, expMul_, Grammar.action(TAIL));
+        g.production(expMul_, Grammar.action(NULL));
+        
+        g.production(expUn, opUnario, expUn, Grammar.action(UNARY));
+        g.production(expUn, Grammar.terminal(TokenKind.LPARENT), expresion,
+                     Grammar.terminal(TokenKind.RPARENT), Grammar.action(PAREN));
+        g.production(expUn, operando);
+        
+        g.build(expresion);
+        EXPRESION = expresion;
+        OPERANDO = operando;
+    }
+    
+    private ExpressionGrammar(){}
+    
+    /**
+     * Adds a nonterminal with one alternative for each operator
+     */
+    private static int operator(Grammar g, String name, TokenKind... kinds){
+        int symbol = g.nonterminal(name, "Expected "
+                                         + TokenSet.toString(TokenSet.of(kinds)));
+        for (TokenKind kind : kinds){
+            g.production(symbol, Grammar.terminal(kind), Grammar.action(OPERATOR));
+        }
+        return symbol;
+    }
+}
@@ -0,0 +1,302 @@
+package analizadorsintactico;
+
+import analizadorlexico.TokenKind;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Context free grammar over the token kinds and its LL(1) parse table.
+ * Symbols are integers:
+ *      terminals: ordinal of TokenKind (END is the end of input)
+ *      nonterminals and external symbols: from END + 1
+ *      semantic actions: negative (ignored by FIRST and FOLLOW)
+ * An external symbol is parsed by a method of the parser; its FIRST set is
+ * given. FIRST, FOLLOW and the table are computed by build(), that fails
+ * if the grammar is not LL(1). Sets of terminals are TokenSet bitmasks
+ * (the end of input is bit END).
+ * In a nullable nonterminal the empty alternative is also the default
+ * entry: an unexpected token is reported by the next match of the parser.
+ * 
+ * @author emiliano
+ * @see analizadorsintactico.ExpressionGrammar
+ */
+final class Grammar {
+    
+    private static final TokenKind[] KINDS = TokenKind.values();
+    // Column of end of input
+    static final int END = KINDS.length;
+    
+    // Nonterminals and external symbols (index: symbol - END - 1)
+    private final List<String> names = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+    private final List<Long> externals = new ArrayList<>();
+    // Productions
+    private final List<Integer> lefts = new ArrayList<>();
+    private final List<int[]> rights = new ArrayList<>();
+    
+    // Computed by build()
+    private boolean[] nullable;
+    private long[] first;
+    private long[] follow;
+    private int[][] table;
+    
+    /**
+     * @param kind the token kind
+     * @return the terminal symbol
+     */
+    static int terminal(TokenKind kind){
+        return kind.ordinal();
+    }
+    
+    /**
+     * @param code the code of action (>= 0)
+     * @return the action symbol
+     */
+    static int action(int code){
+        return -code - 1;
+    }
+    
+    static boolean isAction(int symbol){
+        return symbol < 0;
+    }
+    
+    static int actionCode(int symbol){
+        return -symbol - 1;
+    }
+    
+    static boolean isTerminal(int symbol){
+        return symbol >= 0 && symbol < END;
+    }
+    
+    /**
+     * @param symbol a terminal symbol
+     * @return the token kind
+     */
+    static TokenKind kindOf(int symbol){
+        return KINDS[symbol];
+    }
+    
+    /**
+     * Adds a nonterminal
+     * 
+     * @param name the name of nonterminal
+     * @param error the message when no alternative starts with the token
+     * @return the symbol
+     */
+    int nonterminal(String name, String error){
+        names.add(name);
+        errors.add(error);
+        externals.add(null);
+        return END + names.size();
+    }
+    
+    /**
+     * Adds an external symbol (parsed by a method of the parser)
+     * 
+     * @param name the name of symbol
+     * @param firstSet the tokens that begin the symbol (TokenSet)
+     * @return the symbol
+     */
+    int external(String name, long firstSet){
+        names.add(name);
+        errors.add(null);
+        externals.add(firstSet);
+        return END + names.size();
+    }
+    
+    boolean isExternal(int symbol){
+        return symbol > END && externals.get(symbol - END - 1) != null;
+    }
+    
+    /**
+     * Adds a production
+     * 
+     * @param left the nonterminal
+     * @param right the symbols of alternative (empty for epsilon)
+     */
+    void production(int left, int... right){
+        lefts.add(left);
+        rights.add(right);
+    }
+    
+    /**
+     * Computes nullable symbols, FIRST, FOLLOW and the parse table
+     * 
+     * @param start the start symbol
+     * @throws IllegalStateException if there is a LL(1) conflict
+     */
+    void build(int start){
+        
+        int n = names.size();
+        nullable = new boolean[n];
+        first = new long[n];
+        follow = new long[n];
+        for (int i = 0; i < n; i++){
+            first[i] = externals.get(i) != null ? externals.get(i)
+                                                : TokenSet.EMPTY;
+        }
+        
+        // FIRST and nullable (fixed point)
+        boolean changed = true;
+        while (changed){
+            changed = false;
+            for (int p = 0; p < rights.size(); p++){
+                int left = index(lefts.get(p));
+                long before = first[left];
+                first[left] |= firstOf(rights.get(p), 0);
+                if (first[left] != before){
+                    changed = true;
+                }
+                if (!nullable[left] && isNullable(rights.get(p), 0)){
+                    nullable[left] = true;
+                    changed = true;
+                }
+            }
+        }
+        
+        // FOLLOW (fixed point)
+        follow[index(start)] |= 1L << END;
+        changed = true;
+        while (changed){
+            changed = false;
+            for (int p = 0; p < rights.size(); p++){
+                int left = index(lefts.get(p));
+                int[] right = rights.get(p);
+                for (int i = 0; i < right.length; i++){
+                    if (!isNonterminal(right[i])){
+                        continue;
+                    }
+                    int symbol = index(right[i]);
+                    long before = follow[symbol];
+                    follow[symbol] |= firstOf(right, i + 1);
+                    if (isNullable(right, i + 1)){
+                        follow[symbol] |= follow[left];
+                    }
+                    if (follow[symbol] != before){
+                        changed = true;
+                    }
+                }
+            }
+        }
+        
+        // Table: FIRST of alternative, FOLLOW if it is nullable
+        table = new int[n][END + 1];
+        int[] empty = new int[n];
+        for (int i = 0; i < n; i++){
+            Arrays.fill(table[i], -1);
+            empty[i] = -1;
+        }
+        for (int p = 0; p < rights.size(); p++){
+            int left = index(lefts.get(p));
+            long set = firstOf(rights.get(p), 0);
+            if (isNullable(rights.get(p), 0)){
+                if (empty[left] != -1){
+                    throw conflict(left, -1);
+                }
+                empty[left] = p;
+                set |= follow[left];
+            }
+            for (; set != 0; set &= set - 1){
+                int t = Long.numberOfTrailingZeros(set);
+                if (table[left][t] != -1){
+                    throw conflict(left, t);
+                }
+                table[left][t] = p;
+            }
+        }
+        // Default entry of nullable nonterminals
+        for (int i = 0; i < n; i++){
+            if (empty[i] != -1){
+                for (int t = 0; t <= END; t++){
+                    if (table[i][t] == -1){
+                        table[i][t] = empty[i];
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * @param nonterminal the nonterminal on top of stack
+     * @param kind the current token kind (null at the end of input)
+     * @return the production to expand, or -1 if there is not
+     */
+    int predict(int nonterminal, TokenKind kind){
+        return table[index(nonterminal)][kind == null ? END : kind.ordinal()];
+    }
+    
+    /**
+     * @param production the production
+     * @return the symbols of alternative
+     */
+    int[] right(int production){
+        return rights.get(production);
+    }
+    
+    /**
+     * @param nonterminal the nonterminal
+     * @return the error message when no alternative can be expanded
+     */
+    String error(int nonterminal){
+        return errors.get(index(nonterminal));
+    }
+    
+    /**
+     * @param symbol a nonterminal or external symbol
+     * @return the tokens that begin the symbol (TokenSet)
+     */
+    long first(int symbol){
+        return first[index(symbol)];
+    }
+    
+    private boolean isNonterminal(int symbol){
+        return symbol > END && externals.get(symbol - END - 1) == null;
+    }
+    
+    private int index(int symbol){
+        return symbol - END - 1;
+    }
+    
+    /**
+     * FIRST of symbols from position
+     */
+    private long firstOf(int[] symbols, int from){
+        long set = TokenSet.EMPTY;
+        for (int i = from; i < symbols.length; i++){
+            int symbol = symbols[i];
+            if (isAction(symbol)){
+                continue;
+            }
+            if (isTerminal(symbol)){
+                return set | (1L << symbol);
+            }
+            set |= first[index(symbol)];
+            if (!nullable[index(symbol)]){
+                return set;
+            }
+        }
+        return set;
+    }
+    
+    private boolean isNullable(int[] symbols, int from){
+        for (int i = from; i < symbols.length; i++){
+            int symbol = symbols[i];
+            if (isAction(symbol)){
+                continue;
+            }
+            if (isTerminal(symbol) || !nullable[index(symbol)]){
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private IllegalStateException conflict(int nonterminal, int terminal){
+        return new IllegalStateException("Grammar is not LL(1): "
+                                         + names.get(nonterminal) + " with "
+                                         + (terminal == -1 ? "two empty alternatives"
+                                            : terminal == END ? "end of input"
+                                            : KINDS[terminal].getName()));
+    }
+}
@@ -0,0 +1,380 @@
+package analizadorsintactico;
+
+import analizadorlexico.AnalizadorLexico;
+import analizadorlexico.IllegalTokenException;
+import analizadorlexico.TokenKind;
+import analizadorlexico.TokenStream;
+import analizadorsemantico.SemanticDeclarationException;
+import analizadorsemantico.abstractsyntaxtree.AbstractSyntaxTree;
+import analizadorsemantico.abstractsyntaxtree.ClassNode;
+import analizadorsemantico.abstractsyntaxtree.MethodNode;
+import analizadorsemantico.symboltable.SymbolTable;
+import analizadorsemantico.symboltable.Symbols;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Front end for edits of a file (editor): keeps the classes parsed in the
+ * last run and, after an edit, parses again only the changed part.
+ * The token ranges of every class and of every method body are saved and
+ * moved with the edits of token stream (see AnalizadorLexico.edit()):
+ *      edit inside a method body: only the body is parsed again (the
+ *          SentencesNode and the local variables of method)
+ *      edit inside a class (or between classes): only those classes
+ * The other classes are kept, with their lines moved. program() of
+ * parser() merges the classes as in ParallelParser, so the result is the
+ * same as parsing the whole file; if the file is not a list of classes
+ * (or has errors) program() parses all the file.
+ * The results of a run (AST, symbol table) must not be used after an edit.
+ * 
+ * @author emiliano
+ * @see analizadorsintactico.ParallelParser
+ */
+public final class IncrementalParser {
+    
+    /**
+     * Tokens and parse of one class
+     */
+    private static final class ClassSpan {
+        
+        // First token and index after the last one
+        int start;
+        int end;
+        // Line of first token
+        int line;
+        ParallelParser.Fragment fragment;
+        // Method bodies in order of class: lbrace and rbrace (from start)
+        // and line of rbrace (from line); null if the class has errors
+        int[][] bodies;
+    }
+    
+    private final AnalizadorLexico lexical;
+    private final TokenStream stream;
+    private final String nameFile;
+    // Names of all the runs: the classes kept and the new ones are merged
+    // in the same program
+    private final Symbols symbols = new Symbols();
+    // Classes of file in source order (null if it is not a list of classes)
+    private List<ClassSpan> classes;
+    
+    /**
+     * Reads all the tokens of file and parses its classes
+     * 
+     * @param lexical the lexical analyzer of file (no token was read)
+     */
+    public IncrementalParser(AnalizadorLexico lexical){
+        this.lexical = lexical;
+        this.stream = lexical.tokenizeAll();
+        this.nameFile = lexical.getNameOfFile();
+        parseAll();
+    }
+    
+    /**
+     * Creates the parser of the file as it is now: its program() merges
+     * the classes already parsed
+     * 
+     * @return the parser (for program(), getSymbolTable() and getAST())
+     * @throws IllegalTokenException
+     * @throws SemanticDeclarationException
+     */
+    public AnalizadorSintactico parser()
+        throws IllegalTokenException,
+               SemanticDeclarationException {
+        
+        List<ParallelParser.Fragment> fragments = null;
+        if (classes != null && !classes.isEmpty()){
+            fragments = new ArrayList<>(classes.size());
+            for (ClassSpan c : classes){
+                fragments.add(c.fragment.copy());
+            }
+        }
+        return new AnalizadorSintactico(stream, nameFile, fragments, symbols);
+    }
+    
+    /**
+     * Applies an edit to the file and parses again the changed classes
+     * (or method body)
+     * 
+     * @param offset the offset of edit in file
+     * @param removed the number of chars removed from offset
+     * @param inserted the text inserted at offset
+     */
+    public void edit(int offset, int removed, String inserted){
+        
+        int size = stream.size();
+        lexical.edit(offset, removed, inserted);
+        if (classes == null || classes.isEmpty() || stream.getError() != null){
+            parseAll();
+            return;
+        }
+        
+        // Old tokens changed: [from, to)
+        int from = stream.getEditStart();
+        int to = from + stream.getEditRemoved();
+        int delta = stream.getEditAdded() - stream.getEditRemoved();
+        
+        // Classes of changed tokens: [first, last)
+        int n = classes.size();
+        int first = 0;
+        while (first < n && classes.get(first).end <= from){
+            first++;
+        }
+        int last = first;
+        while (last < n && classes.get(last).start < to){
+            last++;
+        }
+        if (first == last && stream.getEditAdded() > 0){
+            // New tokens before a class or at the end
+            if (first < n){
+                last++;
+            }
+            else{
+                first--;
+            }
+        }
+        // The columns of kept tokens in the line of the first one were
+        // moved: those classes are parsed again
+        if (to < size){
+            int line = stream.getLine(to + delta);
+            while (last < n &&
+                   stream.getLine(classes.get(last).start + delta) == line){
+                last++;
+            }
+        }
+        if (first == last){
+            moveClasses(last, delta);
+            return;
+        }
+        
+        if (last == first + 1 && parseBody(classes.get(first), from, to, delta)){
+            moveClasses(last, delta);
+            return;
+        }
+        
+        int start = classes.get(first).start;
+        int end = classes.get(last - 1).end + delta;
+        List<int[]> spans = ParallelParser.split(stream, start, end);
+        if (spans == null){
+            parseAll();
+            return;
+        }
+        List<ClassSpan> parsed = parse(spans);
+        List<ClassSpan> changed = classes.subList(first, last);
+        changed.clear();
+        changed.addAll(parsed);
+        moveClasses(first + parsed.size(), delta);
+    }
+    
+    /**
+     * Parses all the classes of file
+     */
+    private void parseAll(){
+        
+        classes = null;
+        if (stream.getError() != null){
+            return;
+        }
+        List<int[]> spans = ParallelParser.split(stream, 0, stream.size());
+        if (spans != null){
+            classes = parse(spans);
+        }
+    }
+    
+    /**
+     * Parses classes (in parallel, see ParallelParser)
+     * 
+     * @param spans the first token and the index after the last one of
+     *        every class
+     * @return the classes in source order
+     */
+    private List<ClassSpan> parse(List<int[]> spans){
+        
+        List<ClassSpan> parsed = new ArrayList<>(spans.size());
+        if (spans.isEmpty()){
+            return parsed;
+        }
+        List<ParallelParser.Fragment> fragments = ParallelParser.parse(stream,
+                                                                       spans,
+                                                                       nameFile,
+                                                                       symbols);
+        for (int i = 0; i < spans.size(); i++){
+            ClassSpan c = new ClassSpan();
+            c.start = spans.get(i)[0];
+            c.end = spans.get(i)[1];
+            c.line = stream.getLine(c.start);
+            c.fragment = fragments.get(i);
+            c.bodies = bodies(c);
+            parsed.add(c);
+        }
+        return parsed;
+    }
+    
+    /**
+     * Moves the classes after the changed tokens. If their lines were
+     * moved, the lines of their structs and nodes are moved too (the
+     * classes with errors are parsed again)
+     * 
+     * @param first the first class after the changed tokens
+     * @param delta the tokens added by the edit (negative if removed)
+     */
+    private void moveClasses(int first, int delta){
+        
+        List<int[]> spans = new ArrayList<>();
+        List<ClassSpan> wrong = new ArrayList<>();
+        for (int i = first; i < classes.size(); i++){
+            ClassSpan c = classes.get(i);
+            c.start += delta;
+            c.end += delta;
+            
+            int lines = stream.getLine(c.start) - c.line;
+            if (lines == 0){
+                continue;
+            }
+            c.line += lines;
+            if (c.fragment.error != null){
+                spans.add(new int[]{c.start, c.end});
+                wrong.add(c);
+            }
+            else{
+                c.fragment.table.moveLines(0, lines);
+                c.fragment.ast.moveLines(0, lines);
+            }
+        }
+        
+        // Errors have lines
+        if (!spans.isEmpty()){
+            List<ClassSpan> parsed = parse(spans);
+            for (int i = 0; i < wrong.size(); i++){
+                wrong.get(i).fragment = parsed.get(i).fragment;
+                wrong.get(i).bodies = parsed.get(i).bodies;
+            }
+        }
+    }
+    
+    /**
+     * Parses again a method body of class, if the changed tokens are
+     * inside it
+     * 
+     * @param c the class of changed tokens
+     * @param from the first old token changed
+     * @param to the index after the last old token changed
+     * @param delta the tokens added by the edit (negative if removed)
+     * @return true if the body was parsed (without errors)
+     */
+    private boolean parseBody(ClassSpan c, int from, int to, int delta){
+        
+        if (c.bodies == null){
+            return false;
+        }
+        int body = 0;
+        while (body < c.bodies.length && c.start + c.bodies[body][1] < to){
+            body++;
+        }
+        if (body == c.bodies.length || c.start + c.bodies[body][0] > from){
+            return false;
+        }
+        int lbrace = c.start + c.bodies[body][0];
+        int rbrace = c.start + c.bodies[body][1] + delta;
+        
+        // Still the same braces
+        if (stream.getKind(lbrace) != TokenKind.LBRACE ||
+            stream.getKind(rbrace) != TokenKind.RBRACE){
+            return false;
+        }
+        int depth = 0;
+        for (int i = lbrace + 1; i < rbrace; i++){
+            if (stream.getKind(i) == TokenKind.LBRACE){
+                depth++;
+            }
+            else if (stream.getKind(i) == TokenKind.RBRACE && --depth < 0){
+                return false;
+            }
+        }
+        // Next tokens in other line: their columns were not moved
+        if (depth != 0 || (rbrace + 1 < stream.size() &&
+                           stream.getLine(rbrace + 1) == stream.getLine(rbrace))){
+            return false;
+        }
+        
+        ParallelParser.Fragment fragment = c.fragment;
+        ClassNode clss = fragment.ast.getClasses().get(0);
+        MethodNode method = clss.getMethods().get(body);
+        SymbolTable table = fragment.table.methodBody(method.getName());
+        AbstractSyntaxTree ast = fragment.ast.methodBody(body);
+        try{
+            AnalizadorSintactico parser;
+            parser = new AnalizadorSintactico(stream.cursor(lbrace, rbrace + 1),
+                                              nameFile,
+                                              table,
+                                              ast);
+            parser.methodFragment(fragment.table.getTypeMethod(clss.getName(),
+                                                               method.getName()));
+            if (!parser.atEnd()){
+                return false;
+            }
+        }
+        catch (Exception | StackOverflowError e){
+            // The class is parsed again
+            return false;
+        }
+        
+        // Members after the body
+        int line = c.line + c.bodies[body][2];
+        int lines = stream.getLine(rbrace) - line;
+        if (lines != 0){
+            fragment.table.moveLines(line, lines);
+            fragment.ast.moveLines(body + 1, lines);
+        }
+        
+        ParallelParser.Fragment parsed;
+        parsed = new ParallelParser.Fragment(fragment.isMain,
+                                             fragment.table.replaceMethod(table),
+                                             fragment.ast.replaceMethod(body, ast));
+        parsed.declared = true;
+        parsed.exact = true;
+        c.fragment = parsed;
+        c.end += delta;
+        c.bodies = bodies(c);
+        return true;
+    }
+    
+    /**
+     * Method bodies of class: the blocks inside the body of class, in the
+     * same order as the methods of ClassNode
+     * 
+     * @param c the class
+     * @return the bodies, or null if the class has errors
+     */
+    private int[][] bodies(ClassSpan c){
+        
+        if (c.fragment.error != null){
+            return null;
+        }
+        List<MethodNode> methods = c.fragment.ast.getClasses().get(0).getMethods();
+        int[][] bodies = new int[methods.size()][];
+        int count = 0;
+        int lbrace = -1;
+        int depth = 0;
+        
+        for (int i = c.start; i < c.end; i++){
+            if (stream.getKind(i) == TokenKind.LBRACE){
+                depth++;
+                if (depth == 2){
+                    lbrace = i;
+                }
+            }
+            else if (stream.getKind(i) == TokenKind.RBRACE){
+                if (depth == 2){
+                    if (count == bodies.length){
+                        return null;
+                    }
+                    bodies[count++] = new int[]{lbrace - c.start,
+                                                i - c.start,
+                                                stream.getLine(i) - c.line};
+                }
+                depth--;
+            }
+        }
+        return count == bodies.length ? bodies : null;
+    }
+}
@@ -0,0 +1,200 @@
+package analizadorsintactico;
+
+import analizadorlexico.IllegalTokenException;
+import analizadorlexico.Token;
+import analizadorlexico.TokenCursor;
+import analizadorlexico.TokenKind;
+import analizadorlexico.TokenSource;
+import analizadorlexico.TokenStream;
+
+/**
+ * Lookahead window of AnalizadorSintactico class over a source of tokens.
+ * The tokens are kept in a ring buffer of fixed size: peek(k) reads the
+ * k-th token after the current one and advance() only moves the beginning
+ * of window, so the window itself is never resized.
+ * Over a token stream (TokenCursor) the ring keeps the indices of tokens
+ * in stream: the decisions of parser use only kinds (see kind()), and a
+ * Token is created only when the parser asks for it (see current() and
+ * peek()), as for the tokens whose lexeme or line is used. Over other
+ * sources (lexer or pipeline) the ring keeps the Token objects created by
+ * the source.
+ * The window always keeps one token after the current one (as the parser
+ * did with currentToken and nextToken), so lexical errors are found at
+ * the same point of parsing.
+ * 
+ * @author emiliano
+ * @see analizadorsintactico.AnalizadorSintactico
+ */
+final class Lookahead {
+    
+    // Tokens read in advance by advance()
+    private static final int MIN_FILL = 2;
+    
+    private final TokenSource source;
+    // Source over a token stream (null for other sources)
+    private final TokenCursor cursor;
+    private final TokenStream stream;
+    // Ring of tokens (other sources) or of indices in stream; the size is
+    // a power of two
+    private final Token[] window;
+    private final int[] indices;
+    private final int mask;
+    // Slot of current token
+    private int head = 0;
+    // Tokens in window (from current one)
+    private int count = 0;
+    // Source returned null (end of file)
+    private boolean end = false;
+    
+    /**
+     * @param source the tokens of file
+     * @param depth the maximum distance used in peek()
+     * @throws IllegalTokenException lexical analyzer error
+     */
+    Lookahead(TokenSource source, int depth)
+        throws IllegalTokenException {
+        
+        int size = Integer.highestOneBit(Math.max(depth + 1, MIN_FILL) * 2 - 1);
+        this.source = source;
+        if (source instanceof TokenCursor){
+            cursor = (TokenCursor) source;
+            stream = cursor.getStream();
+            window = null;
+            indices = new int[size];
+        }
+        else{
+            cursor = null;
+            stream = null;
+            window = new Token[size];
+            indices = null;
+        }
+        mask = size - 1;
+        fill(MIN_FILL);
+    }
+    
+    /**
+     * Precondition: k < size of window
+     * 
+     * @param k the distance from current token (0 is current token)
+     * @return the kind of token, or null if it is after the end of file
+     * @throws IllegalTokenException lexical analyzer error
+     */
+    TokenKind kind(int k)
+        throws IllegalTokenException {
+        
+        if (k >= count){
+            fill(k + 1);
+            if (k >= count){
+                return null;
+            }
+        }
+        return kindAt((head + k) & mask);
+    }
+    
+    /**
+     * Kind of current token, without reading other tokens
+     * 
+     * @return the kind of current token, or null at the end of file
+     */
+    TokenKind currentKind(){
+        return count > 0 ? kindAt(head) : null;
+    }
+    
+    /**
+     * Precondition: k < size of window
+     * 
+     * @param k the distance from current token (0 is current token)
+     * @return the token, or null if it is after the end of file
+     * @throws IllegalTokenException lexical analyzer error
+     */
+    Token peek(int k)
+        throws IllegalTokenException {
+        
+        if (k >= count){
+            fill(k + 1);
+            if (k >= count){
+                return null;
+            }
+        }
+        return tokenAt((head + k) & mask);
+    }
+    
+    /**
+     * Current token, without reading other tokens
+     * 
+     * @return the current token, or null at the end of file
+     */
+    Token current(){
+        return count > 0 ? tokenAt(head) : null;
+    }
+    
+    /**
+     * Moves the window to next token
+     * 
+     * @throws IllegalTokenException lexical analyzer error
+     */
+    void advance()
+        throws IllegalTokenException {
+        
+        if (count > 0){
+            if (window != null){
+                window[head] = null;
+            }
+            head = (head + 1) & mask;
+            count--;
+        }
+        fill(MIN_FILL);
+    }
+    
+    /**
+     * Closes the source: no more tokens are read
+     */
+    void close(){
+        end = true;
+        source.close();
+    }
+    
+    private TokenKind kindAt(int slot){
+        return window != null ? window[slot].getKind()
+                              : stream.getKind(indices[slot]);
+    }
+    
+    private Token tokenAt(int slot){
+        return window != null ? window[slot]
+                              : stream.getToken(indices[slot]);
+    }
+    
+    /**
+     * Reads tokens until the window has n tokens (or the end of file)
+     */
+    private void fill(int n)
+        throws IllegalTokenException {
+        
+        if (n > mask + 1){
+            throw new IllegalArgumentException("Lookahead too long: " + n);
+        }
+        while (count < n && !end){
+            int slot = (head + count) & mask;
+            if (cursor != null){
+                int index = cursor.nextIndex();
+                if (index == -1){
+                    end = true;
+                }
+                else{
+                    indices[slot] = index;
+                    count++;
+                }
+            }
+            else{
+                Token token = source.nextToken();
+                if (token == null){
+                    end = true;
+                }
+                else{
+                    window[slot] = token;
+                    count++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package analizadorsintactico;
+
+import analizadorlexico.TokenCursor;
+import analizadorlexico.TokenKind;
+import analizadorlexico.TokenStream;
+import analizadorsemantico.abstractsyntaxtree.AbstractSyntaxTree;
+import analizadorsemantico.symboltable.SymbolTable;
+import analizadorsemantico.symboltable.Symbols;
+// Tasks
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parallel mode of AnalizadorSintactico class for a whole token stream.
+ * A first pass matches the braces of every "class ... { }" of the
+ * program, then every class is parsed on the ForkJoin pool with its own
+ * symbol table and AST (fragments). AnalizadorSintactico merges them in
+ * source order, with the checks between classes (repeated class,
+ * inheritance, Main).
+ * The parse of a class is the same as in the whole file while it does
+ * not read after its last token; if a class fails after that point (or
+ * the program is not a list of classes) the sequential parser is used,
+ * so the errors are the same.
+ * 
+ * @author emiliano
+ * @see analizadorsintactico.AnalizadorSintactico#program()
+ */
+final class ParallelParser {
+    
+    // Minimum number of tokens of file
+    static final int MIN_TOKENS = 1 << 14;
+    
+    /**
+     * Result of parsing one class
+     */
+    static final class Fragment {
+        
+        // Class Main (parsed by claseMain())
+        final boolean isMain;
+        final SymbolTable table;
+        final AbstractSyntaxTree ast;
+        // Error of parse (null if the class is valid)
+        Exception error;
+        // newClass() was reached (the error is in the body of class)
+        boolean declared;
+        // The parse did not read after the class: the error (if any) is
+        // the same as in the sequential parser
+        boolean exact;
+        
+        private Fragment(boolean isMain, Symbols symbols){
+            this(isMain, SymbolTable.fragment(symbols), new AbstractSyntaxTree());
+        }
+        
+        Fragment(boolean isMain, SymbolTable table, AbstractSyntaxTree ast){
+            this.isMain = isMain;
+            this.table = table;
+            this.ast = ast;
+        }
+        
+        /**
+         * @return the same class with a copy of table, to be merged in a
+         *         new program (the merge and the semantic analysis change
+         *         the class struct)
+         */
+        Fragment copy(){
+            Fragment copy = new Fragment(isMain, table.copy(), ast);
+            copy.error = error;
+            copy.declared = declared;
+            copy.exact = exact;
+            return copy;
+        }
+    }
+    
+    private ParallelParser(){}
+    
+    /**
+     * @param stream the tokens of file
+     * @return true if it is worth to parse in parallel
+     */
+    static boolean isUseful(TokenStream stream){
+        return ForkJoinPool.getCommonPoolParallelism() > 1 &&
+               stream.size() >= MIN_TOKENS;
+    }
+    
+    /**
+     * Parses every class of program in parallel
+     * 
+     * @param stream the tokens of file
+     * @param nameFile the name of file
+     * @param symbols the names of program
+     * @return the classes in source order, or null if the stream is not
+     *         a list of classes (or has a lexical error)
+     */
+    static List<Fragment> parse(TokenStream stream, String nameFile,
+                                Symbols symbols){
+        
+        if (stream.getError() != null){
+            return null;
+        }
+        List<int[]> spans = split(stream, 0, stream.size());
+        if (spans == null || spans.size() < 2){
+            return null;
+        }
+        return parse(stream, spans, nameFile, symbols);
+    }
+    
+    /**
+     * Parses some classes of program in parallel
+     * 
+     * @param stream the tokens of file
+     * @param spans the first token and the index after the last one of
+     *        every class (see split())
+     * @param nameFile the name of file
+     * @param symbols the names of program (shared by the tables of classes)
+     * @return the classes in order of spans
+     */
+    static List<Fragment> parse(TokenStream stream, List<int[]> spans,
+                                String nameFile, Symbols symbols){
+        
+        List<Fragment> fragments = new ArrayList<>(spans.size());
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(spans.size());
+        for (int[] span : spans){
+            Fragment fragment = new Fragment("Main".equals(stream.getLexeme(span[0] + 1)),
+                                             symbols);
+            fragments.add(fragment);
+            tasks.add(ForkJoinTask.adapt(
+                        () -> parseClass(stream, span, nameFile, fragment)));
+        }
+        if (tasks.size() == 1){
+            tasks.get(0).invoke();
+        }
+        else{
+            // Inside the pool, so this thread also parses classes
+            ForkJoinPool.commonPool().invoke(
+                ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+        
+        return fragments;
+    }
+    
+    /**
+     * @param fragments the classes of file
+     * @return the index of the second class Main (the sequential parser
+     *         stops there), or the number of classes
+     */
+    static int end(List<Fragment> fragments){
+        boolean main = false;
+        for (int i = 0; i < fragments.size(); i++){
+            if (fragments.get(i).isMain){
+                if (main){
+                    return i;
+                }
+                main = true;
+            }
+        }
+        return fragments.size();
+    }
+    
+    /**
+     * @param fragments the classes of file
+     * @param allErrors true if all the syntax errors are needed (recovery
+     *        mode of parser: the classes with errors are parsed again)
+     * @return true if the result of merging the classes is the same as in
+     *         the sequential parser: the first error (if any) was found
+     *         without reading after its class
+     */
+    static boolean canMerge(List<Fragment> fragments, boolean allErrors){
+        int end = end(fragments);
+        for (int i = 0; i < end; i++){
+            if (fragments.get(i).error != null){
+                return fragments.get(i).exact && !allErrors;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * First pass: the tokens of every class, from "class" to the brace
+     * that closes the body
+     * 
+     * @param stream the tokens of file
+     * @param from the first token of the classes
+     * @param size the index after the last token of the classes
+     * @return the first token and the index after the last one of every
+     *         class, or null if a class is not well formed
+     */
+    static List<int[]> split(TokenStream stream, int from, int size){
+        
+        List<int[]> spans = new ArrayList<>();
+        int i = from;
+        
+        while (i < size){
+            if (stream.getKind(i) != TokenKind.CLASS || i + 1 >= size ||
+                stream.getKind(i + 1) != TokenKind.IDCLASS){
+                return null;
+            }
+            // Header (name and superclass) until the body
+            int j = i + 2;
+            while (j < size && stream.getKind(j) != TokenKind.LBRACE){
+                if (stream.getKind(j) == TokenKind.RBRACE ||
+                    stream.getKind(j) == TokenKind.CLASS){
+                    return null;
+                }
+                j++;
+            }
+            // Body
+            int depth = 0;
+            for (; j < size; j++){
+                if (stream.getKind(j) == TokenKind.LBRACE){
+                    depth++;
+                }
+                else if (stream.getKind(j) == TokenKind.RBRACE){
+                    depth--;
+                    if (depth == 0){
+                        break;
+                    }
+                }
+            }
+            if (j >= size){
+                return null;
+            }
+            spans.add(new int[]{i, j + 1});
+            i = j + 1;
+        }
+        return spans;
+    }
+    
+    /**
+     * Task: parses one class with its own parser
+     */
+    private static void parseClass(TokenStream stream, int[] span,
+                                   String nameFile, Fragment fragment){
+        
+        TokenCursor cursor = stream.cursor(span[0], span[1]);
+        try{
+            AnalizadorSintactico parser = new AnalizadorSintactico(cursor,
+                                                                   nameFile,
+                                                                   fragment.table,
+                                                                   fragment.ast);
+            parser.classFragment(fragment.isMain);
+            // All the tokens of class must be used
+            fragment.exact = parser.atEnd();
+            if (!fragment.exact){
+                fragment.error = new IllegalStateException("Class not consumed");
+            }
+        }
+        catch (RuntimeException | StackOverflowError e){
+            // Sequential parser reports it
+            fragment.error = new IllegalStateException(e);
+            fragment.exact = false;
+        }
+        catch (Exception e){
+            fragment.error = e;
+            fragment.exact = !cursor.isExhausted();
+        }
+        fragment.declared = !fragment.ast.getClasses().isEmpty();
+    }
+}
@@ -1,10 +1,13 @@
 package analizadorsintactico;
 
+import analizadorlexico.Diagnostics;
+
 /**
  * Exception definition for Lexical Analyzer. TinySwift+
  * 
  * @author D. Emiliano F.
  * @see analizadorlexico.AnalizadorLexico
+ * @see analizadorlexico.Diagnostics
  */
 
 public class SyntacticErrorException extends Exception {
@@ -20,13 +23,13 @@ public class SyntacticErrorException extends Exception {
     public SyntacticErrorException(int row,
                                    int column,
                                    String description) {
-        super(description);
+        super(description, null, true, Diagnostics.stackTrace());
         this.row = row;
         this.column = column;
     }
     
     public SyntacticErrorException(String description){
-        super(description);
+        super(description, null, true, Diagnostics.stackTrace());
     }
     
     public int getLine(){
@@ -0,0 +1,87 @@
+package analizadorsintactico;
+
+import analizadorlexico.TokenKind;
+
+/**
+ * Sets of token kinds as long bitmasks (bit i is the kind of ordinal i),
+ * used by the parser decisions and by the grammar. Membership is one shift
+ * and one and; the sets are built once.
+ * The bit after the last kind (Grammar.END) is used for the end of input.
+ * 
+ * @author emiliano
+ * @see analizadorsintactico.AnalizadorSintactico
+ */
+final class TokenSet {
+    
+    private static final TokenKind[] KINDS = TokenKind.values();
+    
+    static final long EMPTY = 0L;
+    
+    static {
+        // One bit for each kind and one for the end of input
+        if (KINDS.length >= Long.SIZE){
+            throw new ExceptionInInitializerError("Too many token kinds for a long set: "
+                                                  + KINDS.length);
+        }
+    }
+    
+    private TokenSet(){}
+    
+    /**
+     * @param kinds the token kinds
+     * @return the set of kinds
+     */
+    static long of(TokenKind... kinds){
+        long set = EMPTY;
+        for (TokenKind kind : kinds){
+            set |= bit(kind);
+        }
+        return set;
+    }
+    
+    /**
+     * @param kind the token kind
+     * @return the set with only kind
+     */
+    static long bit(TokenKind kind){
+        return 1L << kind.ordinal();
+    }
+    
+    /**
+     * @param set the set of kinds
+     * @param kind the token kind
+     * @return true if kind is in set
+     */
+    static boolean contains(long set, TokenKind kind){
+        return (set & (1L << kind.ordinal())) != 0;
+    }
+    
+    /**
+     * @param set the set of kinds
+     * @param kind the token kind
+     * @return the set without kind
+     */
+    static long remove(long set, TokenKind kind){
+        return set & ~bit(kind);
+    }
+    
+    /**
+     * Description of set for error messages, in order of kinds
+     * (same text as EnumSet.toString())
+     * 
+     * @param set the set of kinds
+     * @return the names of kinds, as "[a, b]"
+     */
+    static String toString(long set){
+        StringBuilder text = new StringBuilder("[");
+        long rest = set & ((1L << KINDS.length) - 1);
+        while (rest != 0){
+            text.append(KINDS[Long.numberOfTrailingZeros(rest)]);
+            rest &= rest - 1;
+            if (rest != 0){
+                text.append(", ");
+            }
+        }
+        return text.append(']').toString();
+    }
+}
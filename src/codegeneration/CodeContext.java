@@ -0,0 +1,133 @@
+package codegeneration;
+
+import analizadorsemantico.symboltable.AttributeStruct;
+import analizadorsemantico.symboltable.MethodStruct;
+import analizadorsemantico.symboltable.SymbolTable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+
+/**
+ * State of the code generation of one program (see CodeGenerator): the
+ * sections of asm and the buffers shared by the nodes of a method, given
+ * to Node.getCode() instead of static fields, so two programs can be
+ * generated at the same time
+ * 
+ * @author emiliano
+ */
+public final class CodeContext {
+    
+    // Symbol Table
+    private final SymbolTable table;
+    // Class and method of the code (see setMethod())
+    private String className;
+    private String methodName;
+    private MethodStruct method;
+    
+    // .text in asm
+    final LinkedHashMap<String, String> text = new LinkedHashMap<>();
+    // .data in asm
+    final LinkedHashMap<String, String> data = new LinkedHashMap<>();
+    // temp StringBuilder for .text section
+    public final StringBuilder label = new StringBuilder();
+    public final StringBuilder body = new StringBuilder();
+    // StringBuilders for .data section
+    public final StringBuilder labelD = new StringBuilder();
+    public final StringBuilder bodyD = new StringBuilder();
+    // temp StringBuilder
+    public final StringBuilder temp = new StringBuilder();
+    // counter of Strings in Arrays
+    public int counter = 0;
+    // String and other classes (no Int, Char, Bool)
+    public final StringBuilder idObject = new StringBuilder();
+    
+    /**
+     * CodeContext constructor
+     * 
+     * @param table the consolidated symbol table
+     */
+    public CodeContext(SymbolTable table){
+        this.table = table;
+    }
+    
+    /**
+     * Returns the symbol table
+     * 
+     * @return the table
+     */
+    public SymbolTable getTable(){
+        return table;
+    }
+    
+    /**
+     * Sets the method of the code
+     * 
+     * @param className the name of class
+     * @param methodName the name of method
+     */
+    public void setMethod(String className,
+                          String methodName){
+        this.className = className;
+        this.methodName = methodName;
+        this.method = table.getMethod(className, methodName);
+    }
+    
+    /**
+     * @return the name of current class
+     */
+    public String getClassName(){
+        return className;
+    }
+    
+    /**
+     * @return the name of current method
+     */
+    public String getMethodName(){
+        return methodName;
+    }
+    
+    /**
+     * @return the number of parameters of current method
+     */
+    public int getParametersCant(){
+        return method.getSizeParameters();
+    }
+    
+    /**
+     * @return the number of local variables of current method
+     */
+    public int getVariablesCant(){
+        return method.getSizeVariables();
+    }
+    
+    /**
+     * Returns the attributes of a class (own and inherited)
+     * 
+     * @param className the name of class
+     * @return the attributes
+     */
+    public Collection<AttributeStruct> getAttributes(String className){
+        return table.getAttributesList(className);
+    }
+    
+    /**
+     * Puts the current content in label and body (.text) in LinkedHashMap
+     * Deletes content in label and body
+     */
+    public void putText(){
+        text.put(label.toString(), body.toString());
+        label.setLength(0);
+        body.setLength(0);
+    }
+    
+    /**
+     * Puts the current content in label and body (.data) in LinkedHashMap
+     * Deletes content in label and body
+     */
+    public void putData(){
+        if (!labelD.isEmpty()){
+            data.put(labelD.toString(), bodyD.toString());
+            labelD.setLength(0);
+            bodyD.setLength(0);
+        }
+    }
+}
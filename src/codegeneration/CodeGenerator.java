@@ -4,80 +4,48 @@ import analizadorsemantico.abstractsyntaxtree.AbstractSyntaxTree;
 import analizadorsemantico.abstractsyntaxtree.ClassNode;
 import analizadorsemantico.abstractsyntaxtree.MethodNode;
 import analizadorsemantico.abstractsyntaxtree.Node;
+import analizadorsemantico.abstractsyntaxtree.passes.Pass;
+import analizadorsemantico.abstractsyntaxtree.passes.PassContext;
 import analizadorsemantico.symboltable.AttributeStruct;
 import analizadorsemantico.symboltable.ClassStruct;
+import analizadorsemantico.symboltable.MemberTable;
 import analizadorsemantico.symboltable.MethodStruct;
-import analizadorsemantico.symboltable.SymbolTable;
 import analizadorsemantico.symboltable.Type;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.LinkedHashMap;
 
 /**
  * CodeGenerator definition for TinySwift+
  * MIPS Architecture
+ * The last pass of a program (see PassManager): the state of generation
+ * is in a CodeContext, given to the nodes (see Node.getCode())
  * 
  * @author emiliano
  */
-public class CodeGenerator {
+public class CodeGenerator implements Pass {
     
-    // Symbol Table
-    static public SymbolTable table;
-    // AbstractSintaxTree
-    static public AbstractSyntaxTree ast;
-    // FileName
-    static public String filename;
-    // .text in asm
-    static public LinkedHashMap<String, String> text = new LinkedHashMap();
-    // .data in asm
-    static public LinkedHashMap<String, String> data = new LinkedHashMap();
-    // temp StringBuilder for .text section
-    static public StringBuilder label = new StringBuilder();
-    static public StringBuilder body = new StringBuilder();
-    // StringBuilders for .data section
-    static public StringBuilder labelD = new StringBuilder();
-    static public StringBuilder bodyD = new StringBuilder();
-    // temp StringBuilder 
-    static public StringBuilder temp = new StringBuilder();
-    // counter of Strings in Arrays
-    static public int counter = 0;
-    // String and other classes (no Int, Char, Bool)
-    static public StringBuilder idObject = new StringBuilder();
-    
-    private CodeGenerator(){}
-    
-    /**
-     * Sets SymbolTable, AbstractSyntaxTree and filename
-     * 
-     * @param table the symbol table
-     * @param ast the abstract syntax tree
-     * @param filename the name of file
-     */
-    public static void setAttributes(SymbolTable table,
-                                     AbstractSyntaxTree ast,
-                                     String filename){
-        CodeGenerator.table = table;
-        CodeGenerator.ast = ast;
-        CodeGenerator.filename = filename;
+    @Override
+    public String getName(){
+        return "codegeneration";
     }
     
     /**
      * Generates .asm file
      */
-    private static void toASM(){
+    private void toASM(CodeContext code, String filename){
         
         StringBuilder temp1 = new StringBuilder("\n\n.text\n\n");
         StringBuilder temp2 = new StringBuilder(".data\n\n");
         
-        String main = text.get("Main_main");
-        text.remove("Main_main");
+        String main = code.text.get("Main_main");
+        code.text.remove("Main_main");
         temp1.append(main);
         
-        for (String e: text.values()){
+        for (String e: code.text.values()){
             temp1.append(e);
         }
         
-        for (String e: data.values()){
+        for (String e: code.data.values()){
             temp2.append(e);
         }
         
@@ -95,82 +63,62 @@ public class CodeGenerator {
     }
     
     /**
-     * Generates .text and .data code
+     * Generates .text and .data code and the .asm file
+     * 
+     * @param context the program
      */
-    public static void generate(){
+    @Override
+    public void run(PassContext context){
         
-        generatePredefined();
-        generateVTables();
-        generateFromAST();
-        toASM();
-    }
-    
-    /**
-     * Puts the current content in label and body (.text) in LinkedHashMap
-     * Deletes content in label and body
-     */
-    public static void putText(){
-        text.put(label.toString(), body.toString());
-        label.setLength(0);
-        body.setLength(0);
-    }
-    
-    /**
-     * Puts the current content in label and body (.data) in LinkedHashMap
-     * Deletes content in label and body
-     */
-    public static void putData(){
-        if (!labelD.isEmpty()){
-            data.put(labelD.toString(), bodyD.toString());
-            labelD.setLength(0);
-            bodyD.setLength(0);
-        }
+        CodeContext code = new CodeContext(context.getTable());
+        generatePredefined(code);
+        generateVTables(code);
+        generateFromAST(code, context.getAST());
+        toASM(code, context.getFileName());
     }
     
     /**
      * Generates the virtual tables for all classes
      */
-    private static void generateVTables(){
+    private void generateVTables(CodeContext code){
         
-        String pref;
-        for (ClassStruct c: table.getClasses()){
+        MemberTable members;
+        for (ClassStruct c: code.getTable().getClasses()){
             
             // Virtual Tables labels
-            labelD.append(c.getId()).append("_vtable");
-            bodyD.append(c.getId()).append("_vtable:\n");
-            pref = c.getId() + "_";
-            for (MethodStruct m: c.getMethods()){
+            code.labelD.append(c.getId()).append("_vtable");
+            code.bodyD.append(c.getId()).append("_vtable:\n");
+            members = c.getMembers();
+            for (int slot = 0; slot < members.sizeMethods(); slot++){
                 
-                // Create labels of methods
-                bodyD.append("\t.word ").append(pref);
-                bodyD.append(m.getId()).append("\n");
+                // Create labels of methods, by slot: the label of class
+                // that defines the method
+                code.bodyD.append("\t.word ").append(members.getOwner(slot));
+                code.bodyD.append('_').append(members.getMethod(slot).getId()).append("\n");
             }
-            putData();
+            code.putData();
         }
     }
     
-    private static void generateFromAST(){
+    private void generateFromAST(CodeContext code, AbstractSyntaxTree ast){
         
         String pref;
         // Get class
         for (ClassNode c: ast.getClasses()){
             pref = c.getName();
             
-            // Set param on symbol table (currentClass)
-            table.setCurrentClass(c.getName());
-            
             // Get Method
             for (MethodNode m: c.getMethods()){
                 
-                // Set param on symbol table (currentMethod)
-                table.setCurrentMethod(m.getName());
+                // Current class and method of nodes
+                code.setMethod(c.getName(), m.getName());
                 
                 // Label and body
-                label.append(pref).append("_").append(m.getName());
-                body.append(pref).append("_").append(m.getName()).append(":\n");
+                code.label.append(pref).append("_").append(m.getName());
+                code.body.append(pref).append("_").append(m.getName()).append(":\n");
                 
                 // Save context
-                body.append("""
+                code.body.append("""
                             \t# Save context
                             \tsw $ra, ($sp)
                             \tsw $fp, -4($sp)
@@ -178,20 +126,20 @@ public class CodeGenerator {
                             """);
                 
                 // Reserve space for parameters and local variables
-                MethodStruct tempM = table.getMethod(c.getName(), m.getName());
-                body.append("\taddiu $sp, $sp, -");
-                body.append(8+4*(tempM.getSizeParameters()+tempM.getSizeVariables()));
-                body.append('\n');
+                MethodStruct tempM = code.getTable().getMethod(c.getName(), m.getName());
+                code.body.append("\taddiu $sp, $sp, -");
+                code.body.append(8+4*(tempM.getSizeParameters()+tempM.getSizeVariables()));
+                code.body.append('\n');
                 
                 for (Node n: m.getSentences().getSentencesList()){
-                    n.getCode();
+                    n.getCode(code);
                     // Registers cleaning
-                    CodeGenerator.temp.setLength(0);
+                    code.temp.setLength(0);
                 }
                 
                 // End of program
                 if (m.getName().equals("main") && c.getName().equals("Main")){
-                    body.append("""
+                    code.body.append("""
                                 \t# End
                                 \tli $v0, 10
                                 \tsyscall\n
@@ -216,16 +164,16 @@ public class CodeGenerator {
                             System.out.println("Not");
                         }
                         else{
-                            if (type.strongComparison("Int")){
+                            if (type.strongComparison(Type.INT)){
                                 bodyD.append("\t.word 0\n");
                             }
-                            else if (type.strongComparison("Bool")){
+                            else if (type.strongComparison(Type.BOOL)){
                                 bodyD.append("\t.word 1\n");
                             }
-                            else if (type.strongComparison("Char")){
+                            else if (type.strongComparison(Type.CHAR)){
                                 bodyD.append("\t.word $zero\n");
                             }
-                            else if (type.strongComparison("String")){
+                            else if (type.strongComparison(Type.STRING)){
                                 bodyD.append("\t.asciiz \"\"\n");
                                 bodyD.append("\t.word String_vtable\n");
                             }
@@ -240,7 +188,7 @@ public class CodeGenerator {
                 
                 // End of method
                 else{ 
-                    body.append("""
+                    code.body.append("""
                                 \t# Restore context
                                 \tmove $sp, $fp
                                 \tlw $ra, ($fp)
@@ -248,12 +196,12 @@ public class CodeGenerator {
                                 \tjr $ra\n
                                 """);
                 }
-                putText();
+                code.putText();
             }
         }
     }
     
-    private static void generatePredefined(){
+    private void generatePredefined(CodeContext code){
         
         String init = """
                       \t# Save context
@@ -275,154 +223,154 @@ public class CodeGenerator {
                        """;
         
         // Object_init
-        label.append("Object_init");
-        body.append("Object_init:\n");
+        code.label.append("Object_init");
+        code.body.append("Object_init:\n");
         
         // IO_init
-        label.append("IO_init");
-        body.append("IO_init:\n");
+        code.label.append("IO_init");
+        code.body.append("IO_init:\n");
         
         // IO_out_string
-        label.append("IO_out_string");
-        body.append("IO_out_string:\n");
-        body.append(init).append("\taddiu $sp, $sp, -12\n");
-        body.append("""
+        code.label.append("IO_out_string");
+        code.body.append("IO_out_string:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -12\n");
+        code.body.append("""
                     \tla $a0, 4($sp)
                     \tli $v0, 4
                     \tsyscall
                     """);
-        body.append(blank);
-        body.append(end);
-        putText();
+        code.body.append(blank);
+        code.body.append(end);
+        code.putText();
         
         // IO_out_int
-        label.append("IO_out_int");
-        body.append("IO_out_int:\n");
-        body.append(init).append("\taddiu $sp, $sp, -12\n");
-        body.append("""
+        code.label.append("IO_out_int");
+        code.body.append("IO_out_int:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -12\n");
+        code.body.append("""
                     \tlw $a0, 4($sp)
                     \tli $v0, 1
                     \tsyscall
                     """);
-        body.append(blank);
-        body.append(end);
-        putText();
+        code.body.append(blank);
+        code.body.append(end);
+        code.putText();
         
         // IO_out_bool
-        label.append("IO_out_bool");
-        body.append("IO_out_bool:\n");
-        body.append(init).append("\taddiu $sp, $sp, -12\n");
-        body.append("""
+        code.label.append("IO_out_bool");
+        code.body.append("IO_out_bool:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -12\n");
+        code.body.append("""
                     \tlw $t0, 4($sp)
                     \tbeq $t0, 0, IO_out_bool_true
                     \tj IO_out_bool_false
                     """);
-        body.append(blank);
-        body.append(end);
-        putText();
+        code.body.append(blank);
+        code.body.append(end);
+        code.putText();
         
-        label.append("IO_out_bool_false");
-        body.append("IO_out_bool_false:\n");
-        body.append("""
+        code.label.append("IO_out_bool_false");
+        code.body.append("IO_out_bool_false:\n");
+        code.body.append("""
                     \tla $a0, falsestring
                     \tli $v0, 4
                     \tsyscall
                     """);
-        body.append(end);
-        putText();
-        labelD.append("falsestring");
-        bodyD.append("falsestring:\n");
-        bodyD.append("\t.asciiz \"false\"\n");
-        putData();
+        code.body.append(end);
+        code.putText();
+        code.labelD.append("falsestring");
+        code.bodyD.append("falsestring:\n");
+        code.bodyD.append("\t.asciiz \"false\"\n");
+        code.putData();
         
-        label.append("IO_out_bool_true");
-        body.append("IO_out_bool_true:\n");
-        body.append("""
+        code.label.append("IO_out_bool_true");
+        code.body.append("IO_out_bool_true:\n");
+        code.body.append("""
                     \tla $a0, truestring
                     \tli $v0, 4
                     \tsyscall
                     """);
-        body.append(end);
-        putText();
-        labelD.append("truestring");
-        bodyD.append("truestring:\n");
-        bodyD.append("\t.asciiz \"true\"\n");
-        putData();
+        code.body.append(end);
+        code.putText();
+        code.labelD.append("truestring");
+        code.bodyD.append("truestring:\n");
+        code.bodyD.append("\t.asciiz \"true\"\n");
+        code.putData();
         
         // IO_out_char
-        label.append("IO_out_char");
-        body.append("IO_out_char:\n");
-        body.append(init).append("\taddiu $sp, $sp, -12\n");
-        body.append("""
+        code.label.append("IO_out_char");
+        code.body.append("IO_out_char:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -12\n");
+        code.body.append("""
                     \tla $a0, 4($sp)
                     \tli $v0, 11
                     \tsyscall
                     """);
-        body.append(blank);
-        body.append(end);
-        putText();
+        code.body.append(blank);
+        code.body.append(end);
+        code.putText();
         
         // IO_out_array
-        label.append("IO_out_array");
-        body.append("IO_out_array:\n");
-        body.append(init).append("\taddiu $sp, $sp, -12\n");
-        body.append("""
+        code.label.append("IO_out_array");
+        code.body.append("IO_out_array:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -12\n");
+        code.body.append("""
                     
                     """);
-        body.append(blank);
-        body.append(end);
-        putText();
+        code.body.append(blank);
+        code.body.append(end);
+        code.putText();
         
         // IO_in_string
-        label.append("IO_in_string");
-        body.append("IO_in_string:\n");
-        body.append(init).append("\taddiu $sp, $sp, -8\n");
-        body.append("""
+        code.label.append("IO_in_string");
+        code.body.append("IO_in_string:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -8\n");
+        code.body.append("""
                     \tli $a1, 32
                     \tli $v0, 8
                     \tsyscall
                     """);
-        body.append(end);
-        putText();
+        code.body.append(end);
+        code.putText();
         
         // IO_in_int
-        label.append("IO_in_int");
-        body.append("IO_in_int:\n");
-        body.append(init).append("\taddiu $sp, $sp, -8\n");
-        body.append("""
+        code.label.append("IO_in_int");
+        code.body.append("IO_in_int:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -8\n");
+        code.body.append("""
                     \tli $v0, 5
                     \tsyscall
                     """);
-        body.append(end);
-        putText();
+        code.body.append(end);
+        code.putText();
         
         // IO_in_bool
-        label.append("IO_in_bool");
-        body.append("IO_in_bool:\n");
-        body.append(init).append("\taddiu $sp, $sp, -8\n");
-        body.append("""
+        code.label.append("IO_in_bool");
+        code.body.append("IO_in_bool:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -8\n");
+        code.body.append("""
                     \tli $v0, 5
                     \tsyscall
                     """);
-        body.append(end);
-        putText();
+        code.body.append(end);
+        code.putText();
         
         // IO_in_char
-        label.append("IO_in_char");
-        body.append("IO_in_char:\n");
-        body.append(init).append("\taddiu $sp, $sp, -8\n");
-        body.append("""
+        code.label.append("IO_in_char");
+        code.body.append("IO_in_char:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -8\n");
+        code.body.append("""
                     \tli $v0, 12
                     \tsyscall
                     """);
-        body.append(end);
-        putText();
+        code.body.append(end);
+        code.putText();
         
         // String_length
-        label.append("String_length");
-        body.append("String_length:\n");
-        body.append(init).append("\taddiu $sp, $sp, -8\n");
-        body.append("""
+        code.label.append("String_length");
+        code.body.append("String_length:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -8\n");
+        code.body.append("""
                     \tmove $t0, $a0 # Pointer in string
                     \tli $t1, 0  # Init long 
                                          
@@ -436,44 +384,44 @@ public class CodeGenerator {
                     String_length_end:
                     \tmove $v0, $t1 # To return
                     """);
-        body.append(end);
-        putText();
+        code.body.append(end);
+        code.putText();
         
         // String_concat
-        label.append("String_concat");
-        body.append("String_concat:\n");
-        body.append(init).append("\taddiu $sp, $sp, -12\n");
-        body.append("""
+        code.label.append("String_concat");
+        code.body.append("String_concat:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -12\n");
+        code.body.append("""
                     
                     """);
-        body.append(end);
-        putText();
+        code.body.append(end);
+        code.putText();
         
         // String_substr
-        label.append("String_substr");
-        body.append("String_substr:\n");
-        body.append(init).append("\taddiu $sp, $sp, -16\n");
-        body.append(end);
-        putText();
+        code.label.append("String_substr");
+        code.body.append("String_substr:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -16\n");
+        code.body.append(end);
+        code.putText();
         
         //Array_length
-        label.append("Array_length");
-        body.append("Array_length:\n");
-        body.append(init).append("\taddiu $sp, $sp, -8\n");
-        body.append("""
+        code.label.append("Array_length");
+        code.body.append("Array_length:\n");
+        code.body.append(init).append("\taddiu $sp, $sp, -8\n");
+        code.body.append("""
                     \tlw $v0, 0($t9)
                     """);
-        body.append(end);
-        putText();
+        code.body.append(end);
+        code.putText();
         
         // Error_exit
-        label.append("Error_exit");
-        body.append("Error_exit:\n");
-        body.append("""
+        code.label.append("Error_exit");
+        code.body.append("Error_exit:\n");
+        code.body.append("""
                     \t# Error exit
                     \tli $v0, 10
                     \tsyscall\n
                     """);
-        putText();
+        code.putText();
     }
 }
\ No newline at end of file
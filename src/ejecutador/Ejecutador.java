@@ -2,6 +2,7 @@ package ejecutador;
 
 
 import analizadorlexico.AnalizadorLexico;
+import analizadorlexico.Diagnostics;
 import analizadorlexico.IllegalTokenException;
 import analizadorsemantico.AnalizadorSemantico;
 import analizadorsemantico.SemanticDeclarationException;
@@ -9,9 +10,10 @@ import analizadorsemantico.SemanticSentenceException;
 import analizadorsintactico.AnalizadorSintactico;
 import analizadorsintactico.SyntacticErrorException;
 import codegeneration.CodeGenerator;
+import java.util.List;
 
 /**
- *
+ * 
  * @author emiliano
  */
 public class Ejecutador {
@@ -19,24 +21,29 @@ public class Ejecutador {
     /**
      * @param args the command line arguments
      * Valid input: java -jar etapa1.jar ARCHIVO_FUENTE
+     * The cache of tokens (ARCHIVO.tokens, next to the source) is saved
+     * only with -Dtinyswift.tokenCache=true
      */
     public static void main(String[] args) {
         //System.out.println(String.valueOf((int) '¨'));
         //System.out.println(Arrays.toString(args));
+        // Only the messages of errors are printed
+        Diagnostics.setEnabled(true);
+        AnalizadorSintactico syntactic = null;
         try{
             AnalizadorLexico lexical = new AnalizadorLexico(args);
-            AnalizadorSintactico syntactic = new AnalizadorSintactico(lexical);
+            lexical.setTokenCache(Boolean.getBoolean("tinyswift.tokenCache"));
+            syntactic = new AnalizadorSintactico(lexical, true);
+            syntactic.setParallel(true);
+            syntactic.setRecovery(true);
             AnalizadorSemantico semantic = new AnalizadorSemantico(syntactic);
+            // Code generation: the last pass after type inference
+            semantic.getPasses().add(new CodeGenerator());
             
             if(!semantic.init()){
                 throw new Exception("FINAL INESPERADO");
             }
             System.out.println("CORRECTO: ANALISIS SEMANTICO - SENTENCIAS");
-            
-            CodeGenerator.setAttributes(semantic.getST(), 
-                                        semantic.getAST(),
-                                        syntactic.getNameOfFile());
-            CodeGenerator.generate();
         }
         
         catch (SemanticSentenceException e){
@@ -54,9 +61,7 @@ public class Ejecutador {
         
         catch (SyntacticErrorException e){
             System.err.printf("ERROR: SINTACTICO\n");
-            System.err.printf("| %d | %d | %s |\n", e.getLine(),
-                                                    e.getColumn(),
-                                                    e.getMessage());
+            printErrors(syntactic, e);
             //e.printStackTrace();
         }
         catch (IllegalTokenException e){
@@ -71,6 +76,26 @@ public class Ejecutador {
         }
     }
     
+    /**
+     * Prints all the syntax errors found (recovery mode)
+     * 
+     * @param syntactic the syntactic analyzer (null if it was not created)
+     * @param e the error thrown
+     */
+    private static void printErrors(AnalizadorSintactico syntactic,
+                                    SyntacticErrorException e){
+        
+        List<SyntacticErrorException> errors = List.of(e);
+        if (syntactic != null && !syntactic.getErrors().isEmpty()){
+            errors = syntactic.getErrors();
+        }
+        for (SyntacticErrorException error : errors){
+            System.err.printf("| %d | %d | %s |\n", error.getLine(),
+                                                    error.getColumn(),
+                                                    error.getMessage());
+        }
+    }
+    
     /**
      * Prints tokens
      * @param lexical Lexical Analyzer for input file